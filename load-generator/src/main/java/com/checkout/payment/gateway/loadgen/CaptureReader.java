@@ -0,0 +1,115 @@
+package com.checkout.payment.gateway.loadgen;
+
+import com.checkout.payment.gateway.loadgen.CapturedRequest.Payload;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Reads the capture files written by the gateway's {@code CaptureFileWriter}; see that class for
+ * the layout. A directory is read as one capture, every {@code .pgcap} file in name order. Each
+ * file's offsets count from its own gateway's start, so they are rebased on the header's capture
+ * start before merging; files from a restart or from several instances then share one timeline,
+ * starting at the earliest capture. A record cut short by a gateway that was still writing ends the
+ * file quietly.
+ */
+public final class CaptureReader {
+
+  static final byte[] MAGIC = {'P', 'G', 'C', 'A', 'P', '0', '0', '1'};
+  static final String FILE_SUFFIX = ".pgcap";
+
+  private CaptureReader() {}
+
+  /** Reads a capture file or directory, ordered by arrival. */
+  public static List<CapturedRequest> read(Path path) throws IOException {
+    List<Path> files;
+    if (Files.isDirectory(path)) {
+      try (Stream<Path> listing = Files.list(path)) {
+        files =
+            listing.filter(file -> file.toString().endsWith(FILE_SUFFIX)).sorted().toList();
+      }
+    } else {
+      files = List.of(path);
+    }
+    List<CaptureFile> captures = new ArrayList<>();
+    for (Path file : files) {
+      captures.add(readFile(file));
+    }
+    long earliestStart =
+        captures.stream().mapToLong(CaptureFile::startEpochMillis).min().orElse(0);
+    List<CapturedRequest> requests = new ArrayList<>();
+    for (CaptureFile capture : captures) {
+      long shiftNanos =
+          TimeUnit.MILLISECONDS.toNanos(capture.startEpochMillis() - earliestStart);
+      for (CapturedRequest request : capture.requests()) {
+        requests.add(
+            new CapturedRequest(
+                request.offsetNanos() + shiftNanos,
+                request.latencyMicros(),
+                request.status(),
+                request.payload()));
+      }
+    }
+    requests.sort(Comparator.comparingLong(CapturedRequest::offsetNanos));
+    return requests;
+  }
+
+  private static CaptureFile readFile(Path file) throws IOException {
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+      byte[] magic = new byte[MAGIC.length];
+      in.readFully(magic);
+      if (!Arrays.equals(magic, MAGIC)) {
+        throw new IOException(file + " is not a gateway traffic capture");
+      }
+      long startEpochMillis = in.readLong();
+      List<CapturedRequest> requests = new ArrayList<>();
+      while (true) {
+        try {
+          requests.add(readRecord(in));
+        } catch (EOFException e) {
+          return new CaptureFile(startEpochMillis, requests);
+        }
+      }
+    }
+  }
+
+  private static CapturedRequest readRecord(DataInputStream in) throws IOException {
+    long offsetNanos = in.readLong();
+    int latencyMicros = in.readInt();
+    int status = in.readShort();
+    Payload payload = null;
+    if (in.readBoolean()) {
+      payload =
+          new Payload(
+              readNullableString(in),
+              in.readByte(),
+              readNullableString(in),
+              readNullableInt(in),
+              readNullableInt(in),
+              readNullableString(in),
+              readNullableInt(in),
+              in.readByte());
+    }
+    return new CapturedRequest(offsetNanos, latencyMicros, status, payload);
+  }
+
+  private static String readNullableString(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+
+  private static Integer readNullableInt(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readInt() : null;
+  }
+
+  private record CaptureFile(long startEpochMillis, List<CapturedRequest> requests) {}
+}
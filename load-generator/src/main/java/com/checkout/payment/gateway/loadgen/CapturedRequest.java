@@ -0,0 +1,71 @@
+package com.checkout.payment.gateway.loadgen;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * One {@code POST /payments} from a gateway traffic capture: when it arrived, how long the gateway
+ * took, the status it answered with and the masked payload ({@code null} if the body could not be
+ * read).
+ */
+public record CapturedRequest(long offsetNanos, int latencyMicros, int status, Payload payload) {
+
+  /** Masked payment fields; a negative length or null value means the field was absent. */
+  public record Payload(
+      String cardBin,
+      int cardLength,
+      String cardLastFour,
+      Integer expiryMonth,
+      Integer expiryYear,
+      String currency,
+      Integer amount,
+      int cvvLength) {
+
+    /**
+     * Rebuilds a card number of the original length around the BIN and last four, with random
+     * digits in between. The last digit is kept, so the bank simulator gives the original outcome.
+     */
+    public String cardNumber(SplittableRandom random) {
+      if (cardLength < 0) {
+        return null;
+      }
+      String prefix = cardBin == null ? "" : cardBin;
+      String suffix = cardLastFour == null ? "" : cardLastFour;
+      StringBuilder cardNumber = new StringBuilder(cardLength).append(prefix);
+      while (cardNumber.length() < cardLength - suffix.length()) {
+        cardNumber.append((char) ('0' + random.nextInt(10)));
+      }
+      return cardNumber.append(suffix).substring(0, Math.min(cardLength, cardNumber.length()));
+    }
+
+    public String cvv(SplittableRandom random) {
+      if (cvvLength < 0) {
+        return null;
+      }
+      StringBuilder cvv = new StringBuilder(cvvLength);
+      for (int i = 0; i < cvvLength; i++) {
+        cvv.append((char) ('0' + random.nextInt(10)));
+      }
+      return cvv.toString();
+    }
+
+    /** The request body, omitting absent fields just as the original request did. */
+    public Map<String, Object> body(SplittableRandom random) {
+      Map<String, Object> body = new LinkedHashMap<>();
+      putIfPresent(body, "card_number", cardNumber(random));
+      putIfPresent(body, "expiry_month", expiryMonth);
+      putIfPresent(body, "expiry_year", expiryYear);
+      putIfPresent(body, "currency", currency);
+      putIfPresent(body, "amount", amount);
+      putIfPresent(body, "cvv", cvv(random));
+      return body;
+    }
+
+    private static void putIfPresent(Map<String, Object> body, String name, Object value) {
+      if (value != null) {
+        body.put(name, value);
+      }
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package com.checkout.payment.gateway.loadgen;
+
+/**
+ * Outcomes of the bank simulator, which decides on the last digit of the card number: odd digits
+ * are authorized, even digits declined and {@code 0} fails with a 503.
+ */
+public enum CardOutcome {
+  AUTHORIZED(new char[] {'1', '3', '5', '7', '9'}),
+  DECLINED(new char[] {'2', '4', '6', '8'}),
+  ERROR(new char[] {'0'});
+
+  private final char[] lastDigits;
+
+  CardOutcome(char[] lastDigits) {
+    this.lastDigits = lastDigits;
+  }
+
+  char lastDigit(int choice) {
+    return lastDigits[Math.floorMod(choice, lastDigits.length)];
+  }
+
+  static CardOutcome of(String cardNumber) {
+    char last = cardNumber.charAt(cardNumber.length() - 1);
+    if (last == '0') {
+      return ERROR;
+    }
+    return (last - '0') % 2 == 1 ? AUTHORIZED : DECLINED;
+  }
+}
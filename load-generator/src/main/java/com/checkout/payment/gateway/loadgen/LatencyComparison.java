@@ -0,0 +1,88 @@
+package com.checkout.payment.gateway.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Compares the latency percentiles of two run summaries ({@code <label>-summary.json}, from either
+ * {@link LoadGenerator} or {@link TrafficReplayer}) endpoint by endpoint, prints the differences
+ * and exits with status 1 when the candidate's p99 of any endpoint is worse than the baseline's by
+ * more than the tolerance.
+ *
+ * <pre>
+ * ./gradlew :load-generator:compareLatency \
+ *     --args='--baseline=build/load-reports/main-summary.json \
+ *             --candidate=build/load-reports/candidate-summary.json --tolerance-pct=10'
+ * </pre>
+ */
+public final class LatencyComparison {
+
+  private static final List<String> PERCENTILES = List.of("p50", "p90", "p99", "p99.9", "max");
+
+  private LatencyComparison() {}
+
+  public static void main(String[] args) throws IOException {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("Expected --name=value but got " + arg);
+      }
+      int separator = arg.indexOf('=');
+      options.put(arg.substring(2, separator), arg.substring(separator + 1));
+    }
+    if (!options.containsKey("baseline") || !options.containsKey("candidate")) {
+      throw new IllegalArgumentException("--baseline and --candidate summaries are required");
+    }
+    ObjectMapper objectMapper = new ObjectMapper();
+    JsonNode baseline = objectMapper.readTree(Path.of(options.get("baseline")).toFile());
+    JsonNode candidate = objectMapper.readTree(Path.of(options.get("candidate")).toFile());
+    double tolerance = Double.parseDouble(options.getOrDefault("tolerance-pct", "10")) / 100;
+
+    List<String> regressions = compare(baseline, candidate, tolerance, System.out::println);
+    regressions.forEach(System.err::println);
+    System.exit(regressions.isEmpty() ? 0 : 1);
+  }
+
+  /**
+   * Writes one line per endpoint and percentile to {@code out} and returns a description of every
+   * endpoint whose p99 regressed by more than {@code tolerance} (a fraction).
+   */
+  static List<String> compare(
+      JsonNode baseline, JsonNode candidate, double tolerance, Consumer<String> out) {
+    List<String> regressions = new ArrayList<>();
+    out.accept(
+        "%-16s %-6s %12s %12s %9s"
+            .formatted("endpoint", "pct", "baseline ms", "candidate ms", "change"));
+    Iterator<Map.Entry<String, JsonNode>> endpoints = baseline.path("endpoints").fields();
+    while (endpoints.hasNext()) {
+      Map.Entry<String, JsonNode> endpoint = endpoints.next();
+      JsonNode other = candidate.path("endpoints").path(endpoint.getKey());
+      if (other.isMissingNode()) {
+        out.accept("%-16s missing from candidate".formatted(endpoint.getKey()));
+        continue;
+      }
+      for (String percentile : PERCENTILES) {
+        double before = endpoint.getValue().path("latencyMs").path(percentile).asDouble();
+        double after = other.path("latencyMs").path(percentile).asDouble();
+        double change = before == 0 ? 0 : (after - before) / before;
+        out.accept(
+            "%-16s %-6s %12.2f %12.2f %+8.1f%%"
+                .formatted(endpoint.getKey(), percentile, before, after, change * 100));
+        if (percentile.equals("p99") && change > tolerance) {
+          regressions.add(
+              "%s p99 regressed from %.2f ms to %.2f ms (%+.1f%%, tolerance %.1f%%)"
+                  .formatted(endpoint.getKey(), before, after, change * 100, tolerance * 100));
+        }
+      }
+    }
+    return regressions;
+  }
+}
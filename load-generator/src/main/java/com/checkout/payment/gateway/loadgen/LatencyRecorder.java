@@ -0,0 +1,52 @@
+package com.checkout.payment.gateway.loadgen;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Response-time histogram and outcome counts for one endpoint. Latencies are recorded in
+ * microseconds from the request's <em>intended</em> start, so time spent queued behind a slow
+ * gateway is counted instead of silently omitted.
+ */
+public class LatencyRecorder {
+
+  private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+  private final String name;
+  private final Histogram histogram = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+  private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+  public LatencyRecorder(String name) {
+    this.name = name;
+  }
+
+  public void record(long intendedStartNanos, long completedNanos, String outcome) {
+    long micros = TimeUnit.NANOSECONDS.toMicros(completedNanos - intendedStartNanos);
+    histogram.recordValue(Math.min(Math.max(micros, 0), MAX_TRACKABLE_MICROS));
+    outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+  }
+
+  public void reset() {
+    histogram.reset();
+    outcomes.clear();
+  }
+
+  public String name() {
+    return name;
+  }
+
+  public Histogram histogram() {
+    return histogram;
+  }
+
+  public Map<String, Long> outcomes() {
+    Map<String, Long> counts = new TreeMap<>();
+    outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+    return counts;
+  }
+}
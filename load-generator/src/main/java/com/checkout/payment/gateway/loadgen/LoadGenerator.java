@@ -0,0 +1,193 @@
+package com.checkout.payment.gateway.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator for the gateway's {@code POST /payments} and {@code GET
+ * /payment/{id}} endpoints.
+ *
+ * <p>Arrivals follow a fixed schedule (constant rate) and are sent asynchronously, so a slow
+ * response never delays the next request. Latency is measured from each request's scheduled start
+ * rather than from when it was actually sent, which avoids coordinated omission: if the gateway
+ * stalls, every request that should have been sent during the stall is charged for it. Arrivals
+ * beyond {@code max-in-flight} are not sent but recorded as {@code client-overloaded} with the
+ * request timeout as their latency, so an overloaded client cannot hide a stalled gateway.
+ *
+ * <pre>
+ * ./gradlew :load-generator:run --args='--rate=500 --duration=120 --p99-budget-ms=250'
+ * </pre>
+ */
+public class LoadGenerator {
+
+  static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+  static final String CLIENT_OVERLOADED = "client-overloaded";
+
+  private static final int RECENT_ID_CAPACITY = 4096;
+
+  private final LoadGeneratorConfig config;
+  private final HttpClient httpClient;
+  private final PaymentPayloadFactory payloads;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final LatencyRecorder postPayments = new LatencyRecorder("post-payments");
+  private final LatencyRecorder getPayment = new LatencyRecorder("get-payment");
+  private final AtomicReferenceArray<String> recentIds =
+      new AtomicReferenceArray<>(RECENT_ID_CAPACITY);
+  private final AtomicInteger recentIdCursor = new AtomicInteger();
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  public LoadGenerator(LoadGeneratorConfig config, HttpClient httpClient) {
+    this.config = config;
+    this.httpClient = httpClient;
+    this.payloads = new PaymentPayloadFactory(config.mix());
+  }
+
+  public static void main(String[] args) throws Exception {
+    LoadGeneratorConfig config = LoadGeneratorConfig.parse(args);
+    ExecutorService callbacks = Executors.newFixedThreadPool(4);
+    HttpClient httpClient =
+        HttpClient.newBuilder()
+            .executor(callbacks)
+            .version(config.httpVersion())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    try {
+      List<String> violations = new LoadGenerator(config, httpClient).run();
+      violations.forEach(System.err::println);
+      System.exit(violations.isEmpty() ? 0 : 1);
+    } finally {
+      callbacks.shutdownNow();
+    }
+  }
+
+  /** Runs the test, writes the reports and returns any p99 budget violations. */
+  public List<String> run() throws IOException, InterruptedException {
+    long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.ratePerSecond());
+    long warmupArrivals = (long) (config.warmup().toMillis() * config.ratePerSecond() / 1000);
+    long measuredArrivals = (long) (config.duration().toMillis() * config.ratePerSecond() / 1000);
+    SplittableRandom random = new SplittableRandom();
+
+    long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+    for (long i = 0; i < warmupArrivals + measuredArrivals; i++) {
+      if (i == warmupArrivals) {
+        awaitInFlight(Duration.ofSeconds(5));
+        postPayments.reset();
+        getPayment.reset();
+        // Measured arrivals are scheduled from the end of the drain, not charged for it
+        start = System.nanoTime() - i * intervalNanos;
+      }
+      long intendedStart = start + i * intervalNanos;
+      parkUntil(intendedStart);
+
+      String recentId = random.nextDouble() < config.getRatio() ? randomRecentId(random) : null;
+      if (recentId != null) {
+        send(getPayment, getRequest(recentId), intendedStart);
+      } else {
+        send(postPayments, postRequest(random), intendedStart);
+      }
+    }
+    awaitInFlight(REQUEST_TIMEOUT);
+
+    List<LatencyRecorder> recorders = List.of(postPayments, getPayment);
+    LoadReport report = new LoadReport();
+    report.write(
+        config.reportDir(),
+        config.label(),
+        report.summarise(config.label(), config.ratePerSecond(), config.duration(), recorders),
+        recorders);
+    return config.p99Budget() == null
+        ? List.of()
+        : report.budgetViolations(recorders, config.p99Budget());
+  }
+
+  private void send(LatencyRecorder recorder, HttpRequest request, long intendedStart) {
+    if (inFlight.get() >= config.maxInFlight()) {
+      recorder.record(intendedStart, intendedStart + REQUEST_TIMEOUT.toNanos(), CLIENT_OVERLOADED);
+      return;
+    }
+    inFlight.incrementAndGet();
+    CompletableFuture<HttpResponse<String>> response =
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    response.whenComplete(
+        (result, error) -> {
+          long completed = System.nanoTime();
+          inFlight.decrementAndGet();
+          if (error != null) {
+            recorder.record(intendedStart, completed, "error-" + error.getClass().getSimpleName());
+            return;
+          }
+          recorder.record(intendedStart, completed, String.valueOf(result.statusCode()));
+          if (recorder == postPayments && result.statusCode() == 200) {
+            rememberId(result.body());
+          }
+        });
+  }
+
+  private HttpRequest postRequest(SplittableRandom random) {
+    CardOutcome outcome = payloads.nextOutcome(random);
+    return requestBuilder("/payments")
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(payloads.paymentJson(outcome, random)))
+        .build();
+  }
+
+  private HttpRequest getRequest(String id) {
+    return requestBuilder("/payment/" + id).GET().build();
+  }
+
+  private HttpRequest.Builder requestBuilder(String path) {
+    HttpRequest.Builder builder =
+        HttpRequest.newBuilder(URI.create(config.target() + path))
+            .timeout(REQUEST_TIMEOUT);
+    if (config.apiKey() != null) {
+      builder.header("X-Api-Key", config.apiKey());
+    }
+    return builder;
+  }
+
+  private void rememberId(String body) {
+    try {
+      JsonNode id = objectMapper.readTree(body).get("id");
+      if (id != null) {
+        int slot = Math.floorMod(recentIdCursor.getAndIncrement(), RECENT_ID_CAPACITY);
+        recentIds.set(slot, id.asText());
+      }
+    } catch (IOException e) {
+      // Not a payment body; nothing to remember
+    }
+  }
+
+  private String randomRecentId(SplittableRandom random) {
+    int known = Math.min(recentIdCursor.get(), RECENT_ID_CAPACITY);
+    return known == 0 ? null : recentIds.get(random.nextInt(known));
+  }
+
+  private void awaitInFlight(Duration timeout) throws InterruptedException {
+    long deadline = System.nanoTime() + timeout.toNanos();
+    while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  private static void parkUntil(long deadlineNanos) {
+    long remaining;
+    while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(remaining);
+    }
+  }
+}
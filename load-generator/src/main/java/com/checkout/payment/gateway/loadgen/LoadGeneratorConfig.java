@@ -0,0 +1,87 @@
+package com.checkout.payment.gateway.loadgen;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command-line options, all given as {@code --name=value}:
+ *
+ * <ul>
+ *   <li>{@code target} - gateway base URL (default {@code http://localhost:8090})
+ *   <li>{@code rate} - arrivals per second, independent of response times (default 40, which
+ *       stays within the gateway's standard rate-limit tier; higher rates need an {@code api-key}
+ *       on the premium tier or rate limiting switched off)
+ *   <li>{@code duration} / {@code warmup} - ISO-8601 or seconds (defaults 60s / 10s); warm-up
+ *       traffic is sent but not recorded
+ *   <li>{@code mix} - card outcome weights (default {@code authorized:80,declined:15,error:5})
+ *   <li>{@code get-ratio} - share of arrivals that fetch a recent payment (default 0.5)
+ *   <li>{@code report-dir} / {@code label} - where and under which name reports are written
+ *   <li>{@code p99-budget-ms} - exit with status 1 if any endpoint's p99 exceeds it
+ *   <li>{@code api-key} - sent as {@code X-Api-Key}
+ *   <li>{@code max-in-flight} - requests beyond this are not sent but recorded as client
+ *       overload, timed out from their scheduled start (default 10000)
+ *   <li>{@code http-version} - {@code HTTP_1_1} (default) or {@code HTTP_2}, which uses h2c
+ *       upgrade on {@code http://} targets and ALPN on {@code https://} ones
+ * </ul>
+ */
+public record LoadGeneratorConfig(
+    URI target,
+    double ratePerSecond,
+    Duration duration,
+    Duration warmup,
+    Map<CardOutcome, Integer> mix,
+    double getRatio,
+    Path reportDir,
+    String label,
+    Duration p99Budget,
+    String apiKey,
+    int maxInFlight,
+    HttpClient.Version httpVersion) {
+
+  public static LoadGeneratorConfig parse(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("Expected --name=value but got " + arg);
+      }
+      int separator = arg.indexOf('=');
+      options.put(arg.substring(2, separator), arg.substring(separator + 1));
+    }
+
+    String p99Budget = options.get("p99-budget-ms");
+    return new LoadGeneratorConfig(
+        URI.create(options.getOrDefault("target", "http://localhost:8090")),
+        Double.parseDouble(options.getOrDefault("rate", "40")),
+        duration(options.getOrDefault("duration", "60")),
+        duration(options.getOrDefault("warmup", "10")),
+        mix(options.getOrDefault("mix", "authorized:80,declined:15,error:5")),
+        Double.parseDouble(options.getOrDefault("get-ratio", "0.5")),
+        Path.of(options.getOrDefault("report-dir", "build/load-reports")),
+        options.getOrDefault("label", "gateway"),
+        p99Budget == null ? null : Duration.ofMillis(Long.parseLong(p99Budget)),
+        options.get("api-key"),
+        Integer.parseInt(options.getOrDefault("max-in-flight", "10000")),
+        HttpClient.Version.valueOf(options.getOrDefault("http-version", "HTTP_1_1")));
+  }
+
+  static Duration duration(String value) {
+    return value.startsWith("P")
+        ? Duration.parse(value)
+        : Duration.ofSeconds(Long.parseLong(value));
+  }
+
+  static Map<CardOutcome, Integer> mix(String value) {
+    Map<CardOutcome, Integer> mix = new EnumMap<>(CardOutcome.class);
+    for (String entry : value.split(",")) {
+      String[] parts = entry.split(":");
+      mix.put(
+          CardOutcome.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+    }
+    return mix;
+  }
+}
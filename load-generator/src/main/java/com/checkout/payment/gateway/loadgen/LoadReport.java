@@ -0,0 +1,89 @@
+package com.checkout.payment.gateway.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Writes one {@code <label>-summary.json} per run plus a {@code <label>-<endpoint>.hgrm}
+ * percentile distribution per endpoint (viewable in the HdrHistogram plotter), and checks the p99
+ * budget. Summaries share one shape so runs of different builds can be diffed directly.
+ */
+public class LoadReport {
+
+  private static final double MICROS_PER_MILLI = 1000.0;
+
+  private final ObjectMapper objectMapper =
+      new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+  public Map<String, Object> summarise(
+      String label, double targetRate, Duration measured, List<LatencyRecorder> recorders) {
+    Map<String, Object> summary = new LinkedHashMap<>();
+    summary.put("label", label);
+    summary.put("generatedAt", Instant.now().toString());
+    summary.put("targetRatePerSecond", targetRate);
+    double measuredSeconds = Math.max(1, measured.toMillis()) / 1000.0;
+    summary.put("measuredSeconds", measuredSeconds);
+
+    Map<String, Object> endpoints = new LinkedHashMap<>();
+    for (LatencyRecorder recorder : recorders) {
+      Histogram histogram = recorder.histogram();
+      Map<String, Object> endpoint = new LinkedHashMap<>();
+      endpoint.put("requests", histogram.getTotalCount());
+      endpoint.put("throughputPerSecond", histogram.getTotalCount() / measuredSeconds);
+      endpoint.put("outcomes", recorder.outcomes());
+      Map<String, Double> latencyMs = new LinkedHashMap<>();
+      latencyMs.put("p50", percentileMillis(histogram, 50));
+      latencyMs.put("p90", percentileMillis(histogram, 90));
+      latencyMs.put("p99", percentileMillis(histogram, 99));
+      latencyMs.put("p99.9", percentileMillis(histogram, 99.9));
+      latencyMs.put("max", histogram.getMaxValue() / MICROS_PER_MILLI);
+      endpoint.put("latencyMs", latencyMs);
+      endpoints.put(recorder.name(), endpoint);
+    }
+    summary.put("endpoints", endpoints);
+    return summary;
+  }
+
+  public void write(
+      Path directory, String label, Map<String, Object> summary, List<LatencyRecorder> recorders)
+      throws IOException {
+    Files.createDirectories(directory);
+    objectMapper.writeValue(directory.resolve(label + "-summary.json").toFile(), summary);
+    for (LatencyRecorder recorder : recorders) {
+      Path distribution = directory.resolve(label + "-" + recorder.name() + ".hgrm");
+      try (PrintStream out = new PrintStream(Files.newOutputStream(distribution))) {
+        recorder.histogram().outputPercentileDistribution(out, MICROS_PER_MILLI);
+      }
+    }
+    System.out.println(objectMapper.writeValueAsString(summary));
+  }
+
+  /** Returns a description of every endpoint whose p99 exceeds the budget. */
+  public List<String> budgetViolations(List<LatencyRecorder> recorders, Duration p99Budget) {
+    List<String> violations = new ArrayList<>();
+    for (LatencyRecorder recorder : recorders) {
+      double p99 = percentileMillis(recorder.histogram(), 99);
+      if (recorder.histogram().getTotalCount() > 0 && p99 > p99Budget.toMillis()) {
+        violations.add(
+            "%s p99 %.2f ms exceeds budget %d ms"
+                .formatted(recorder.name(), p99, p99Budget.toMillis()));
+      }
+    }
+    return violations;
+  }
+
+  private static double percentileMillis(Histogram histogram, double percentile) {
+    return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+  }
+}
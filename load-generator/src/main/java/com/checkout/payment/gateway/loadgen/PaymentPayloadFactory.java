@@ -0,0 +1,67 @@
+package com.checkout.payment.gateway.loadgen;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Builds valid {@code POST /payments} bodies whose card numbers steer the bank simulator towards
+ * the requested mix of outcomes. Card numbers are randomised so the gateway's duplicate detection
+ * does not treat generated traffic as double submissions.
+ */
+public class PaymentPayloadFactory {
+
+  // Exercises the gateway's FX conversion, JPY without minor units included. Each of these converts
+  // even the smallest generated amount to at least one minor unit of the settlement currency
+  private static final String[] CURRENCIES = {"GBP", "EUR", "USD", "CHF", "CAD", "JPY"};
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Map<CardOutcome, Integer> mix;
+  private final int totalWeight;
+  private final int expiryYear = YearMonth.now().getYear() + 3;
+
+  public PaymentPayloadFactory(Map<CardOutcome, Integer> mix) {
+    this.mix = Map.copyOf(mix);
+    this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+    if (totalWeight <= 0) {
+      throw new IllegalArgumentException("Card mix must have a positive total weight");
+    }
+  }
+
+  public CardOutcome nextOutcome(SplittableRandom random) {
+    int roll = random.nextInt(totalWeight);
+    for (CardOutcome outcome : CardOutcome.values()) {
+      roll -= mix.getOrDefault(outcome, 0);
+      if (roll < 0) {
+        return outcome;
+      }
+    }
+    throw new IllegalStateException("Unreachable: roll exceeded total weight");
+  }
+
+  public String cardNumber(CardOutcome outcome, SplittableRandom random) {
+    StringBuilder cardNumber = new StringBuilder(16).append('4');
+    for (int i = 0; i < 14; i++) {
+      cardNumber.append((char) ('0' + random.nextInt(10)));
+    }
+    return cardNumber.append(outcome.lastDigit(random.nextInt(10))).toString();
+  }
+
+  public String paymentJson(CardOutcome outcome, SplittableRandom random) {
+    Map<String, Object> body = new LinkedHashMap<>();
+    body.put("card_number", cardNumber(outcome, random));
+    body.put("expiry_month", 1 + random.nextInt(12));
+    body.put("expiry_year", expiryYear);
+    body.put("currency", CURRENCIES[random.nextInt(CURRENCIES.length)]);
+    body.put("amount", 1 + random.nextInt(100_000));
+    body.put("cvv", String.valueOf(100 + random.nextInt(900)));
+    try {
+      return objectMapper.writeValueAsString(body);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Unable to serialise payment payload", e);
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package com.checkout.payment.gateway.loadgen;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command-line options for {@link TrafficReplayer}, all given as {@code --name=value}:
+ *
+ * <ul>
+ *   <li>{@code capture} - capture file, or directory of capture files (required)
+ *   <li>{@code target} - gateway base URL (default {@code http://localhost:8090})
+ *   <li>{@code speed} - replay speed from 1 (as captured) to 10 (default 1)
+ *   <li>{@code report-dir} / {@code label} - where and under which name reports are written
+ *       (defaults {@code build/load-reports} / {@code replay})
+ *   <li>{@code api-key} - sent as {@code X-Api-Key}
+ *   <li>{@code max-in-flight} - requests beyond this are counted as client overload (default
+ *       10000)
+ * </ul>
+ */
+public record ReplayConfig(
+    Path capture,
+    URI target,
+    double speed,
+    Path reportDir,
+    String label,
+    String apiKey,
+    int maxInFlight) {
+
+  public static ReplayConfig parse(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("Expected --name=value but got " + arg);
+      }
+      int separator = arg.indexOf('=');
+      options.put(arg.substring(2, separator), arg.substring(separator + 1));
+    }
+
+    String capture = options.get("capture");
+    if (capture == null) {
+      throw new IllegalArgumentException("--capture=<file or directory> is required");
+    }
+    double speed = Double.parseDouble(options.getOrDefault("speed", "1"));
+    if (speed < 1 || speed > 10) {
+      throw new IllegalArgumentException("--speed must be between 1 and 10 but was " + speed);
+    }
+    return new ReplayConfig(
+        Path.of(capture),
+        URI.create(options.getOrDefault("target", "http://localhost:8090")),
+        speed,
+        Path.of(options.getOrDefault("report-dir", "build/load-reports")),
+        options.getOrDefault("label", "replay"),
+        options.get("api-key"),
+        Integer.parseInt(options.getOrDefault("max-in-flight", "10000")));
+  }
+}
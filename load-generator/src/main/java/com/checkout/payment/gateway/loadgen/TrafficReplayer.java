@@ -0,0 +1,149 @@
+package com.checkout.payment.gateway.loadgen;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a gateway traffic capture against a gateway build, keeping the captured arrival times
+ * (compressed by {@code speed}) and the captured mix of cards, currencies, amounts and invalid
+ * requests. Card numbers are rebuilt around the captured BIN and last four digits, so the bank
+ * simulator from {@code docker-compose.yml} returns the outcomes production saw.
+ *
+ * <p>Like {@link LoadGenerator}, requests are sent open-model and timed from their scheduled start.
+ * The report has two endpoints: {@code captured} with the latencies the gateway recorded when the
+ * traffic was captured, and {@code replayed} with those measured now. Compare builds by replaying
+ * the same capture against each and running {@link LatencyComparison} on the summaries.
+ *
+ * <pre>
+ * ./gradlew :load-generator:replay --args='--capture=captures --speed=5 --label=candidate'
+ * </pre>
+ */
+public class TrafficReplayer {
+
+  private final ReplayConfig config;
+  private final HttpClient httpClient;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final LatencyRecorder captured = new LatencyRecorder("captured");
+  private final LatencyRecorder replayed = new LatencyRecorder("replayed");
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  public TrafficReplayer(ReplayConfig config, HttpClient httpClient) {
+    this.config = config;
+    this.httpClient = httpClient;
+  }
+
+  public static void main(String[] args) throws Exception {
+    ReplayConfig config = ReplayConfig.parse(args);
+    ExecutorService callbacks = Executors.newFixedThreadPool(4);
+    HttpClient httpClient =
+        HttpClient.newBuilder().executor(callbacks).connectTimeout(Duration.ofSeconds(5)).build();
+    try {
+      new TrafficReplayer(config, httpClient).run();
+    } finally {
+      callbacks.shutdownNow();
+    }
+  }
+
+  /** Replays the capture and writes the reports. */
+  public void run() throws IOException, InterruptedException {
+    List<CapturedRequest> requests = CaptureReader.read(config.capture());
+    if (requests.isEmpty()) {
+      throw new IllegalArgumentException("No captured requests in " + config.capture());
+    }
+    SplittableRandom random = new SplittableRandom();
+    long firstOffset = requests.get(0).offsetNanos();
+    long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+    for (CapturedRequest request : requests) {
+      long capturedNanos = TimeUnit.MICROSECONDS.toNanos(request.latencyMicros());
+      captured.record(0, capturedNanos, String.valueOf(request.status()));
+      long intendedStart =
+          start + (long) ((request.offsetNanos() - firstOffset) / config.speed());
+      parkUntil(intendedStart);
+      send(request, random, intendedStart);
+    }
+    awaitInFlight(LoadGenerator.REQUEST_TIMEOUT);
+
+    Duration replayedSpan =
+        Duration.ofNanos(
+            (long)
+                ((requests.get(requests.size() - 1).offsetNanos() - firstOffset) / config.speed()));
+    double rate = requests.size() / Math.max(0.001, replayedSpan.toNanos() / 1e9);
+    List<LatencyRecorder> recorders = List.of(captured, replayed);
+    LoadReport report = new LoadReport();
+    report.write(
+        config.reportDir(),
+        config.label(),
+        report.summarise(config.label(), rate, replayedSpan, recorders),
+        recorders);
+  }
+
+  private void send(CapturedRequest request, SplittableRandom random, long intendedStart)
+      throws JsonProcessingException {
+    if (inFlight.get() >= config.maxInFlight()) {
+      replayed.record(
+          intendedStart,
+          intendedStart + LoadGenerator.REQUEST_TIMEOUT.toNanos(),
+          LoadGenerator.CLIENT_OVERLOADED);
+      return;
+    }
+    inFlight.incrementAndGet();
+    httpClient
+        .sendAsync(postRequest(request, random), HttpResponse.BodyHandlers.discarding())
+        .whenComplete(
+            (result, error) -> {
+              long completed = System.nanoTime();
+              inFlight.decrementAndGet();
+              replayed.record(
+                  intendedStart,
+                  completed,
+                  error != null
+                      ? "error-" + error.getClass().getSimpleName()
+                      : String.valueOf(result.statusCode()));
+            });
+  }
+
+  HttpRequest postRequest(CapturedRequest request, SplittableRandom random)
+      throws JsonProcessingException {
+    // A capture without a payload means the original body was unreadable; send an empty one
+    String body =
+        request.payload() == null
+            ? ""
+            : objectMapper.writeValueAsString(request.payload().body(random));
+    HttpRequest.Builder builder =
+        HttpRequest.newBuilder(URI.create(config.target() + "/payments"))
+            .timeout(LoadGenerator.REQUEST_TIMEOUT)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body));
+    if (config.apiKey() != null) {
+      builder.header("X-Api-Key", config.apiKey());
+    }
+    return builder.build();
+  }
+
+  private void awaitInFlight(Duration timeout) throws InterruptedException {
+    long deadline = System.nanoTime() + timeout.toNanos();
+    while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  private static void parkUntil(long deadlineNanos) {
+    long remaining;
+    while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(remaining);
+    }
+  }
+}
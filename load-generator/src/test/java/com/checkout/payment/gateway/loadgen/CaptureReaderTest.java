@@ -0,0 +1,166 @@
+package com.checkout.payment.gateway.loadgen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.checkout.payment.gateway.loadgen.CapturedRequest.Payload;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("Capture Reader")
+class CaptureReaderTest {
+
+  private final SplittableRandom random = new SplittableRandom(42);
+
+  @TempDir Path tempDir;
+
+  @Test
+  @DisplayName("should read every capture file in a directory in arrival order")
+  void shouldReadDirectoryInArrivalOrder() throws IOException {
+    write("capture-1.pgcap", record(300, null), record(100, payload("424242", 16, "4241")));
+    write("capture-2.pgcap", record(200, null));
+    Files.writeString(tempDir.resolve("notes.txt"), "ignored");
+
+    List<CapturedRequest> requests = CaptureReader.read(tempDir);
+
+    assertThat(requests).extracting(CapturedRequest::offsetNanos).containsExactly(100L, 200L, 300L);
+    Payload payload = requests.get(0).payload();
+    assertThat(payload.cardBin()).isEqualTo("424242");
+    assertThat(payload.currency()).isEqualTo("GBP");
+    assertThat(payload.amount()).isEqualTo(1050);
+    assertThat(requests.get(1).payload()).isNull();
+  }
+
+  @Test
+  @DisplayName("should rebase each file on its capture start before merging")
+  void shouldRebaseOnCaptureStart() throws IOException {
+    long start = 1_700_000_000_000L;
+    write("capture-a.pgcap", start, record(100, null), record(5_000_000_000L, null));
+    write("capture-b.pgcap", start + 2_000, record(100, null));
+
+    assertThat(CaptureReader.read(tempDir))
+        .extracting(CapturedRequest::offsetNanos)
+        .containsExactly(100L, 2_000_000_100L, 5_000_000_000L);
+  }
+
+  @Test
+  @DisplayName("should end a file quietly at a record cut short")
+  void shouldTolerateTruncatedRecord() throws IOException {
+    Path file = write("capture.pgcap", record(100, null), record(200, null));
+    byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+    assertThat(CaptureReader.read(file))
+        .extracting(CapturedRequest::offsetNanos)
+        .containsExactly(100L);
+  }
+
+  @Test
+  @DisplayName("should rebuild card numbers that keep the BIN, last four and outcome")
+  void shouldRebuildCardNumbers() {
+    Payload payload = payload("424242", 16, "4241");
+
+    for (int i = 0; i < 100; i++) {
+      String cardNumber = payload.cardNumber(random);
+      assertThat(cardNumber).hasSize(16).startsWith("424242").endsWith("4241");
+      assertThat(CardOutcome.of(cardNumber)).isEqualTo(CardOutcome.AUTHORIZED);
+    }
+    assertThat(payload.cvv(random)).matches("^[0-9]{3}$");
+  }
+
+  @Test
+  @DisplayName("should leave out fields the captured request did not have")
+  void shouldOmitAbsentFields() {
+    Payload payload = new Payload(null, -1, null, 4, null, "GBP", null, -1);
+
+    assertThat(payload.body(random)).containsOnlyKeys("expiry_month", "currency");
+  }
+
+  @Test
+  @DisplayName("should flag p99 regressions beyond the tolerance")
+  void shouldFlagP99Regressions() throws IOException {
+    ObjectMapper mapper = new ObjectMapper();
+    JsonNode baseline = mapper.readTree(summary(10.0));
+    List<String> lines = new ArrayList<>();
+
+    assertThat(LatencyComparison.compare(baseline, mapper.readTree(summary(10.5)), 0.1, lines::add))
+        .isEmpty();
+    assertThat(LatencyComparison.compare(baseline, mapper.readTree(summary(12.0)), 0.1, lines::add))
+        .singleElement()
+        .asString()
+        .startsWith("replayed p99 regressed");
+    assertThat(lines).anyMatch(line -> line.contains("p99.9"));
+  }
+
+  private Path write(String name, byte[]... records) throws IOException {
+    return write(name, 1_700_000_000_000L, records);
+  }
+
+  private Path write(String name, long startEpochMillis, byte[]... records) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.write(CaptureReader.MAGIC);
+    out.writeLong(startEpochMillis);
+    for (byte[] record : records) {
+      out.write(record);
+    }
+    return Files.write(tempDir.resolve(name), bytes.toByteArray());
+  }
+
+  private static byte[] record(long offsetNanos, Payload payload) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeLong(offsetNanos);
+    out.writeInt(2_500);
+    out.writeShort(200);
+    out.writeBoolean(payload != null);
+    if (payload != null) {
+      writeNullable(out, payload.cardBin());
+      out.writeByte(payload.cardLength());
+      writeNullable(out, payload.cardLastFour());
+      writeNullable(out, payload.expiryMonth());
+      writeNullable(out, payload.expiryYear());
+      writeNullable(out, payload.currency());
+      writeNullable(out, payload.amount());
+      out.writeByte(payload.cvvLength());
+    }
+    return bytes.toByteArray();
+  }
+
+  private static void writeNullable(DataOutputStream out, String value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeUTF(value);
+    }
+  }
+
+  private static void writeNullable(DataOutputStream out, Integer value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeInt(value);
+    }
+  }
+
+  private static Payload payload(String bin, int length, String lastFour) {
+    return new Payload(bin, length, lastFour, 4, 2030, "GBP", 1050, 3);
+  }
+
+  private static String summary(double p99) {
+    return """
+        {"endpoints": {"replayed": {"latencyMs":
+          {"p50": 2.0, "p90": 5.0, "p99": %s, "p99.9": 20.0, "max": 30.0}}}}
+        """
+        .formatted(p99);
+  }
+}
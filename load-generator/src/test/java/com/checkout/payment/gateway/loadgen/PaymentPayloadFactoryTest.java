@@ -0,0 +1,63 @@
+package com.checkout.payment.gateway.loadgen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+@DisplayName("Payment Payload Factory")
+class PaymentPayloadFactoryTest {
+
+  private final SplittableRandom random = new SplittableRandom(42);
+
+  @ParameterizedTest(name = "should generate cards the simulator treats as {0}")
+  @EnumSource(CardOutcome.class)
+  void shouldGenerateCardsForOutcome(CardOutcome outcome) {
+    PaymentPayloadFactory factory = new PaymentPayloadFactory(Map.of(outcome, 1));
+
+    for (int i = 0; i < 100; i++) {
+      String cardNumber = factory.cardNumber(outcome, random);
+      assertThat(cardNumber).matches("^[0-9]{16}$");
+      assertThat(CardOutcome.of(cardNumber)).isEqualTo(outcome);
+    }
+  }
+
+  @Test
+  @DisplayName("should follow the configured outcome mix")
+  void shouldFollowMix() {
+    PaymentPayloadFactory factory =
+        new PaymentPayloadFactory(
+            Map.of(CardOutcome.AUTHORIZED, 80, CardOutcome.DECLINED, 15, CardOutcome.ERROR, 5));
+
+    Map<CardOutcome, Integer> counts = new EnumMap<>(CardOutcome.class);
+    for (int i = 0; i < 100_000; i++) {
+      counts.merge(factory.nextOutcome(random), 1, Integer::sum);
+    }
+
+    assertThat(counts.get(CardOutcome.AUTHORIZED)).isBetween(79_000, 81_000);
+    assertThat(counts.get(CardOutcome.DECLINED)).isBetween(14_000, 16_000);
+    assertThat(counts.get(CardOutcome.ERROR)).isBetween(4_500, 5_500);
+  }
+
+  @Test
+  @DisplayName("should produce a complete payment request body")
+  void shouldProduceValidPaymentBody() throws Exception {
+    PaymentPayloadFactory factory = new PaymentPayloadFactory(Map.of(CardOutcome.AUTHORIZED, 1));
+
+    JsonNode body =
+        new ObjectMapper().readTree(factory.paymentJson(CardOutcome.AUTHORIZED, random));
+
+    assertThat(body.get("card_number").asText()).hasSize(16);
+    assertThat(body.get("expiry_month").asInt()).isBetween(1, 12);
+    assertThat(body.get("currency").asText()).isIn("GBP", "EUR", "USD", "CHF", "CAD", "JPY");
+    assertThat(body.get("amount").asInt()).isPositive();
+    assertThat(body.get("cvv").asText()).matches("^[0-9]{3}$");
+  }
+}
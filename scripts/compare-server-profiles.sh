@@ -0,0 +1,66 @@
+#!/usr/bin/env bash
+#
+# Benchmarks the gateway's real endpoints under each embedded server / protocol profile using the
+# load-generator module, then prints the p99 of every run side by side.
+#
+#   docker-compose up -d
+#   scripts/compare-server-profiles.sh [rate] [duration-seconds]
+#
+# Reports land in build/server-profiles/<server>-<protocol>-summary.json.
+set -euo pipefail
+
+RATE="${1:-500}"
+DURATION="${2:-60}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+REPORTS="$ROOT/build/server-profiles"
+JAR="$ROOT/build/libs/payment-gateway-challenge-java-0.0.1-SNAPSHOT.jar"
+
+# server:spring-profile:load-generator-http-version
+PROFILES=(
+  "tomcat:default:HTTP_1_1"
+  "tomcat:h2c:HTTP_2"
+  "undertow:default:HTTP_1_1"
+  "undertow:h2c:HTTP_2"
+  "jetty:default:HTTP_1_1"
+  "jetty:h2c:HTTP_2"
+)
+
+wait_for_gateway() {
+  for _ in $(seq 1 60); do
+    if curl -sf http://localhost:8091/actuator/health > /dev/null; then
+      return 0
+    fi
+    sleep 1
+  done
+  echo "Gateway did not become healthy" >&2
+  return 1
+}
+
+mkdir -p "$REPORTS"
+for entry in "${PROFILES[@]}"; do
+  IFS=: read -r server profile http_version <<< "$entry"
+  label="$server-$profile"
+  echo "=== $label"
+
+  "$ROOT/gradlew" -q -p "$ROOT" bootJar -PembeddedServer="$server"
+  # Rate limiting is switched off so the profiles are compared on raw request handling
+  java -jar "$JAR" --spring.profiles.active="$profile" --gateway.rate-limit.enabled=false \
+    > "$REPORTS/$label.log" 2>&1 &
+  gateway_pid=$!
+  trap 'kill $gateway_pid 2> /dev/null || true' EXIT
+
+  wait_for_gateway
+  "$ROOT/gradlew" -q -p "$ROOT" :load-generator:run --args="--rate=$RATE --duration=$DURATION \
+    --warmup=20 --http-version=$http_version --label=$label --report-dir=$REPORTS" > /dev/null || true
+
+  kill "$gateway_pid"
+  wait "$gateway_pid" 2> /dev/null || true
+done
+
+printf '\n%-18s %14s %14s\n' "profile" "POST p99 (ms)" "GET p99 (ms)"
+for summary in "$REPORTS"/*-summary.json; do
+  label="$(basename "$summary" -summary.json)"
+  post="$(grep -A40 '"post-payments"' "$summary" | grep '"p99"' | head -1 | tr -dc '0-9.')"
+  get="$(grep -A40 '"get-payment"' "$summary" | grep '"p99"' | head -1 | tr -dc '0-9.')"
+  printf '%-18s %14s %14s\n' "$label" "$post" "$get"
+done
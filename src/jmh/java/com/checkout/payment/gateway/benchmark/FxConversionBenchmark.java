@@ -0,0 +1,69 @@
+package com.checkout.payment.gateway.benchmark;
+
+import com.checkout.payment.gateway.currency.FxRateService;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.core.io.DefaultResourceLoader;
+
+/**
+ * Cost of converting a payment amount into the settlement currency, which happens on every
+ * {@code POST /payments}. The conversion is meant to be allocation-free and lock-free: the gc
+ * profiler's {@code gc.alloc.rate.norm} should read close to 0 B/op, and the contended run should
+ * scale with threads. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FxConversionBenchmark {
+
+  @Param({"GBP", "USD", "JPY", "KWD"})
+  public String currency;
+
+  private FxRateService fxRateService;
+
+  @Setup
+  public void setUp() {
+    fxRateService =
+        new FxRateService(new DefaultResourceLoader(), "classpath:fx-rates.csv", "GBP");
+  }
+
+  @Benchmark
+  public long toSettlement(Amounts amounts) {
+    return fxRateService.toSettlement(currency, amounts.next());
+  }
+
+  @Benchmark
+  @Threads(8)
+  public long toSettlementContended(Amounts amounts) {
+    return fxRateService.toSettlement(currency, amounts.next());
+  }
+
+  /** Varied amounts, so the JIT cannot fold the conversion into a constant. */
+  @State(Scope.Thread)
+  public static class Amounts {
+
+    private final int[] amounts = new int[1024];
+    private int next;
+
+    @Setup
+    public void setUp() {
+      SplittableRandom random = new SplittableRandom(42);
+      for (int i = 0; i < amounts.length; i++) {
+        amounts[i] = 1 + random.nextInt(10_000_000);
+      }
+    }
+
+    int next() {
+      return amounts[next++ & (amounts.length - 1)];
+    }
+  }
+}
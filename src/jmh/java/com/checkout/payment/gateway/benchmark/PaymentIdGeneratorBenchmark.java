@@ -0,0 +1,46 @@
+package com.checkout.payment.gateway.benchmark;
+
+import com.checkout.payment.gateway.id.PaymentIdGenerator;
+import com.checkout.payment.gateway.id.RandomPaymentIdGenerator;
+import com.checkout.payment.gateway.id.TimeOrderedPaymentIdGenerator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Generator throughput under contention. Runs with more threads than most machines have cores so
+ * the shared {@code SecureRandom} behind {@link UUID#randomUUID()} shows up; run with {@code
+ * ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(16)
+public class PaymentIdGeneratorBenchmark {
+
+  @Param({"random", "time-ordered"})
+  public String generator;
+
+  private PaymentIdGenerator idGenerator;
+
+  @Setup
+  public void setUp() {
+    idGenerator =
+        "random".equals(generator)
+            ? new RandomPaymentIdGenerator()
+            : new TimeOrderedPaymentIdGenerator();
+  }
+
+  @Benchmark
+  public UUID nextId() {
+    return idGenerator.nextId();
+  }
+}
@@ -0,0 +1,102 @@
+package com.checkout.payment.gateway.benchmark;
+
+import com.checkout.payment.gateway.enums.PaymentStatus;
+import com.checkout.payment.gateway.model.PaymentResponse;
+import com.checkout.payment.gateway.model.PostPaymentRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Compares the per-request codec cost of the supported wire formats: reading a {@link
+ * PostPaymentRequest} and writing a {@link PaymentResponse}, which is what the gateway does for
+ * every {@code POST /payments}. The round trip also reports the payload sizes as secondary results,
+ * so bytes on the wire can be read next to the timings; run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WireFormatBenchmark {
+
+  @Param({"json", "cbor"})
+  public String format;
+
+  private ObjectMapper mapper;
+  private byte[] requestBytes;
+  private PaymentResponse response;
+
+  @Setup
+  public void setUp() throws IOException {
+    // Mirrors the modules Spring Boot registers on the application's mappers
+    Jackson2ObjectMapperBuilder builder =
+        Jackson2ObjectMapperBuilder.json().modulesToInstall(new ParameterNamesModule());
+    mapper = "cbor".equals(format) ? builder.factory(new CBORFactory()).build() : builder.build();
+
+    PostPaymentRequest request =
+        PostPaymentRequest.builder()
+            .cardNumber("2222405343248877")
+            .expiryMonth(12)
+            .expiryYear(2030)
+            .currency("GBP")
+            .amount(1050)
+            .cvv("123")
+            .build();
+    response =
+        PaymentResponse.builder()
+            .id(UUID.randomUUID())
+            .status(PaymentStatus.AUTHORIZED)
+            .cardNumberLastFour("8877")
+            .expiryMonth(12)
+            .expiryYear(2030)
+            .currency("GBP")
+            .amount(1050)
+            .build();
+
+    requestBytes = mapper.writeValueAsBytes(request);
+  }
+
+  @Benchmark
+  public PostPaymentRequest readRequest() throws IOException {
+    return mapper.readValue(requestBytes, PostPaymentRequest.class);
+  }
+
+  @Benchmark
+  public byte[] writeResponse() throws IOException {
+    return mapper.writeValueAsBytes(response);
+  }
+
+  @Benchmark
+  public byte[] roundTrip(PayloadSizes sizes) throws IOException {
+    mapper.readValue(requestBytes, PostPaymentRequest.class);
+    return mapper.writeValueAsBytes(response);
+  }
+
+  /** Encoded sizes in the benchmark's format, reported by JMH alongside the timing. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class PayloadSizes {
+
+    public long requestBytes;
+    public long responseBytes;
+
+    @Setup(Level.Iteration)
+    public void measure(WireFormatBenchmark benchmark) throws IOException {
+      requestBytes = benchmark.requestBytes.length;
+      responseBytes = benchmark.mapper.writeValueAsBytes(benchmark.response).length;
+    }
+  }
+}
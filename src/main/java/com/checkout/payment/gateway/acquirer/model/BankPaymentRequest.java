@@ -1,6 +1,8 @@
 package com.checkout.payment.gateway.acquirer.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.UUID;
 import lombok.Builder;
 import lombok.Value;
 import lombok.extern.jackson.Jacksonized;
@@ -18,4 +20,7 @@ public class BankPaymentRequest {
   String currency;
   Integer amount;
   String cvv;
+
+  /** The gateway's ID for the payment, for tracing only; not sent to the bank. */
+  @JsonIgnore UUID paymentId;
 }
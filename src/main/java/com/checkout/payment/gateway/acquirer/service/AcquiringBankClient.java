@@ -6,4 +6,14 @@ import com.checkout.payment.gateway.acquirer.model.BankPaymentResponse;
 public interface AcquiringBankClient {
 
   BankPaymentResponse processPayment(BankPaymentRequest request);
+
+  /**
+   * Opens up to {@code connections} connections to the acquirer ahead of traffic so that the first
+   * payments do not pay for connection setup.
+   *
+   * @return how many requests reached the acquirer
+   */
+  default int openConnections(int connections) {
+    return 0;
+  }
 }
@@ -3,12 +3,20 @@ package com.checkout.payment.gateway.acquirer.service;
 import com.checkout.payment.gateway.acquirer.exception.BankServiceException;
 import com.checkout.payment.gateway.acquirer.model.BankPaymentRequest;
 import com.checkout.payment.gateway.acquirer.model.BankPaymentResponse;
+import com.checkout.payment.gateway.jfr.BankCallEvent;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
@@ -28,6 +36,8 @@ public class BankSimulatorClient implements AcquiringBankClient {
 
   @Override
   public BankPaymentResponse processPayment(BankPaymentRequest request) {
+    BankCallEvent event = new BankCallEvent();
+    event.begin();
     try {
       LOG.debug("Sending payment request to bank simulator: {}", request);
 
@@ -35,14 +45,76 @@ public class BankSimulatorClient implements AcquiringBankClient {
           restTemplate.postForEntity(bankUrl + "/payments", request, BankPaymentResponse.class);
 
       LOG.debug("Received response from bank: {}", response.getBody());
+      event.statusCode = response.getStatusCode().value();
+      event.authorized =
+          response.getBody() != null && Boolean.TRUE.equals(response.getBody().getAuthorized());
       return response.getBody();
 
     } catch (HttpServerErrorException e) {
       LOG.error("Bank service not available: {}", e.getMessage());
+      event.statusCode = e.getStatusCode().value();
+      event.error = e.getMessage();
       throw new BankServiceException("Bank service not available", e);
     } catch (RestClientException e) {
       LOG.error("Error connecting to bank: {}", e.getMessage());
+      if (e instanceof HttpStatusCodeException statusCodeException) {
+        event.statusCode = statusCodeException.getStatusCode().value();
+      }
+      event.error = e.getMessage();
       throw new BankServiceException("Error connecting to bank", e);
+    } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        event.paymentId = request.getPaymentId() == null ? null : request.getPaymentId().toString();
+        event.commit();
+      }
+    }
+  }
+
+  /**
+   * Issues {@code connections} concurrent HEAD requests so each one needs its own socket. The
+   * RestTemplate's JDK connection keeps those sockets in its keep-alive cache for the first
+   * payments. That cache holds at most {@code http.maxConnections} (default 5) idle connections per
+   * host, so asking for more only helps when that system property is raised too. Any HTTP response
+   * counts as connected; the simulator does not serve HEAD on its root.
+   */
+  @Override
+  public int openConnections(int connections) {
+    if (connections < 1) {
+      return 0;
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(connections);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      CompletableFuture<?>[] attempts = new CompletableFuture<?>[connections];
+      for (int i = 0; i < connections; i++) {
+        attempts[i] = CompletableFuture.supplyAsync(() -> headBank(start), executor);
+      }
+      start.countDown();
+      CompletableFuture.allOf(attempts).join();
+      int opened = 0;
+      for (CompletableFuture<?> attempt : attempts) {
+        opened += Boolean.TRUE.equals(attempt.join()) ? 1 : 0;
+      }
+      return opened;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private boolean headBank(CountDownLatch start) {
+    try {
+      start.await(5, TimeUnit.SECONDS);
+      restTemplate.execute(bankUrl + "/", HttpMethod.HEAD, null, response -> null);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } catch (HttpStatusCodeException e) {
+      return true;
+    } catch (RestClientException e) {
+      LOG.warn("Could not open a connection to the bank: {}", e.getMessage());
+      return false;
     }
   }
 }
@@ -0,0 +1,29 @@
+package com.checkout.payment.gateway.archive;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Cold tier for aged payments. Every {@code interval}, payments created more than {@code age} ago
+ * are moved from memory into segment files under {@code directory}. A segment holds at most {@code
+ * maxSegmentRows} payments, compressed in blocks of {@code rowsPerBlock}, with a Bloom filter of
+ * {@code bloomBitsPerEntry} bits per payment (10 gives roughly a 1% false-positive rate).
+ */
+@ConfigurationProperties(prefix = "gateway.archive")
+public record ArchiveProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("data/archive") Path directory,
+    @DefaultValue("3d") Duration age,
+    @DefaultValue("1h") Duration interval,
+    @DefaultValue("512") int rowsPerBlock,
+    @DefaultValue("1000000") int maxSegmentRows,
+    @DefaultValue("10") int bloomBitsPerEntry) {
+
+  public ArchiveProperties {
+    if (rowsPerBlock < 1 || maxSegmentRows < 1 || bloomBitsPerEntry < 1) {
+      throw new IllegalStateException("Archive block, segment and Bloom sizes must be positive");
+    }
+  }
+}
@@ -0,0 +1,285 @@
+package com.checkout.payment.gateway.archive;
+
+import com.checkout.payment.gateway.archive.SegmentWriter.BlockIndexEntry;
+import com.checkout.payment.gateway.enums.PaymentStatus;
+import com.checkout.payment.gateway.model.PaymentResponse;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * An open, read-only segment. Only the footer (sparse block index and Bloom filter) is held in
+ * memory; a lookup that passes the Bloom filter costs one positional read and one block inflate.
+ * Reads are positional, so one instance serves any number of threads.
+ */
+final class ArchiveSegment implements Closeable {
+
+  private static final PaymentStatus[] STATUSES = PaymentStatus.values();
+
+  private final Path file;
+  private final FileChannel channel;
+  private final int rowCount;
+  private final BlockIndexEntry[] blocks;
+  private final SegmentBloomFilter bloom;
+  private final boolean hasMerchantColumn;
+
+  private ArchiveSegment(
+      Path file,
+      FileChannel channel,
+      int rowCount,
+      BlockIndexEntry[] blocks,
+      SegmentBloomFilter bloom,
+      boolean hasMerchantColumn) {
+    this.file = file;
+    this.channel = channel;
+    this.rowCount = rowCount;
+    this.blocks = blocks;
+    this.bloom = bloom;
+    this.hasMerchantColumn = hasMerchantColumn;
+  }
+
+  static ArchiveSegment open(Path file) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      long size = channel.size();
+      if (size < SegmentWriter.MAGIC.length + SegmentWriter.TRAILER_LENGTH) {
+        throw new IOException("Segment " + file + " is truncated");
+      }
+      DataInputStream trailer =
+          stream(read(channel, size - SegmentWriter.TRAILER_LENGTH, SegmentWriter.TRAILER_LENGTH));
+      long footerOffset = trailer.readLong();
+      int footerLength = trailer.readInt();
+      byte[] magic = new byte[SegmentWriter.MAGIC.length];
+      trailer.readFully(magic);
+      boolean hasMerchantColumn = Arrays.equals(magic, SegmentWriter.MAGIC);
+      if (!hasMerchantColumn && !Arrays.equals(magic, SegmentWriter.MAGIC_V1)) {
+        throw new IOException("Segment " + file + " has no valid trailer");
+      }
+
+      DataInputStream footer = stream(read(channel, footerOffset, footerLength));
+      int rowCount = footer.readInt();
+      BlockIndexEntry[] blocks = new BlockIndexEntry[footer.readInt()];
+      for (int i = 0; i < blocks.length; i++) {
+        blocks[i] =
+            new BlockIndexEntry(
+                footer.readLong(),
+                footer.readLong(),
+                footer.readLong(),
+                footer.readInt(),
+                footer.readInt(),
+                footer.readInt());
+      }
+      SegmentBloomFilter bloom = SegmentBloomFilter.readFrom(footer);
+      return new ArchiveSegment(file, channel, rowCount, blocks, bloom, hasMerchantColumn);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  Path file() {
+    return file;
+  }
+
+  int rowCount() {
+    return rowCount;
+  }
+
+  boolean mightContain(UUID id) {
+    return bloom.mightContain(id);
+  }
+
+  /** Looks up one payment; the caller is expected to have checked {@link #mightContain}. */
+  Optional<PaymentResponse> find(UUID id) {
+    int block = blockFor(id);
+    if (block < 0) {
+      return Optional.empty();
+    }
+    try {
+      DataInputStream in = stream(inflate(blocks[block]));
+      int rows = blocks[block].rows();
+      long[] msb = readLongs(in, rows);
+      long[] lsb = readLongs(in, rows);
+      int row = rowOf(msb, lsb, id);
+      if (row < 0) {
+        return Optional.empty();
+      }
+      return Optional.of(decode(in, msb, lsb)[row]);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read segment " + file, e);
+    }
+  }
+
+  /** Streams the segment block by block, in ID order, inflating each block only when reached. */
+  Stream<PaymentResponse> stream() {
+    return IntStream.range(0, blocks.length).mapToObj(this::readBlock).flatMap(Arrays::stream);
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private PaymentResponse[] readBlock(int block) {
+    try {
+      DataInputStream in = stream(inflate(blocks[block]));
+      int rows = blocks[block].rows();
+      return decode(in, readLongs(in, rows), readLongs(in, rows));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read segment " + file, e);
+    }
+  }
+
+  /** Index of the last block whose first ID is not after {@code id}, or -1. */
+  private int blockFor(UUID id) {
+    int low = 0;
+    int high = blocks.length - 1;
+    int found = -1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      BlockIndexEntry entry = blocks[mid];
+      if (new UUID(entry.firstMsb(), entry.firstLsb()).compareTo(id) <= 0) {
+        found = mid;
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return found;
+  }
+
+  private static int rowOf(long[] msb, long[] lsb, UUID id) {
+    int low = 0;
+    int high = msb.length - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int comparison = new UUID(msb[mid], lsb[mid]).compareTo(id);
+      if (comparison < 0) {
+        low = mid + 1;
+      } else if (comparison > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  private byte[] inflate(BlockIndexEntry block) throws IOException {
+    byte[] compressed = read(channel, block.offset(), block.compressedLength());
+    byte[] raw = new byte[block.uncompressedLength()];
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(compressed);
+      int inflated = 0;
+      while (inflated < raw.length && !inflater.finished()) {
+        int n = inflater.inflate(raw, inflated, raw.length - inflated);
+        if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        inflated += n;
+      }
+      if (inflated != raw.length) {
+        throw new IOException("Block at " + block.offset() + " in " + file + " is corrupt");
+      }
+      return raw;
+    } catch (DataFormatException e) {
+      throw new IOException("Block at " + block.offset() + " in " + file + " is corrupt", e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  /** Decodes the columns that follow the two ID columns. */
+  private PaymentResponse[] decode(DataInputStream in, long[] msb, long[] lsb)
+      throws IOException {
+    int rows = msb.length;
+    PaymentResponse.PaymentResponseBuilder[] builders =
+        new PaymentResponse.PaymentResponseBuilder[rows];
+    for (int i = 0; i < rows; i++) {
+      builders[i] = PaymentResponse.builder().id(new UUID(msb[i], lsb[i]));
+    }
+    for (int i = 0; i < rows; i++) {
+      byte status = in.readByte();
+      builders[i].status(status < 0 ? null : STATUSES[status]);
+    }
+    for (int i = 0; i < rows; i++) {
+      builders[i].cardNumberLastFour(readNullable(in));
+    }
+    for (int i = 0; i < rows; i++) {
+      builders[i].expiryMonth(in.readInt());
+    }
+    for (int i = 0; i < rows; i++) {
+      builders[i].expiryYear(in.readInt());
+    }
+    for (int i = 0; i < rows; i++) {
+      builders[i].currency(readNullable(in));
+    }
+    for (int i = 0; i < rows; i++) {
+      builders[i].amount(in.readInt());
+    }
+    for (int i = 0; i < rows; i++) {
+      builders[i].cardScheme(readNullable(in));
+    }
+    for (int i = 0; i < rows; i++) {
+      builders[i].issuingCountry(readNullable(in));
+    }
+    for (int i = 0; i < rows; i++) {
+      builders[i].cardType(readNullable(in));
+    }
+    if (hasMerchantColumn) {
+      for (int i = 0; i < rows; i++) {
+        builders[i].merchantId(readNullable(in));
+      }
+    }
+    PaymentResponse[] payments = new PaymentResponse[rows];
+    for (int i = 0; i < rows; i++) {
+      boolean present = in.readBoolean();
+      long seconds = in.readLong();
+      int nanos = in.readInt();
+      payments[i] =
+          builders[i].createdAt(present ? Instant.ofEpochSecond(seconds, nanos) : null).build();
+    }
+    return payments;
+  }
+
+  private static long[] readLongs(DataInputStream in, int count) throws IOException {
+    long[] values = new long[count];
+    for (int i = 0; i < count; i++) {
+      values[i] = in.readLong();
+    }
+    return values;
+  }
+
+  private static String readNullable(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+
+  private static byte[] read(FileChannel channel, long position, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new IOException("Unexpected end of segment");
+      }
+    }
+    return buffer.array();
+  }
+
+  private static DataInputStream stream(byte[] bytes) {
+    return new DataInputStream(new ByteArrayInputStream(bytes));
+  }
+}
@@ -0,0 +1,213 @@
+package com.checkout.payment.gateway.archive;
+
+import com.checkout.payment.gateway.model.PaymentResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * The cold tier: immutable, block-compressed segment files on local disk. Segments are only ever
+ * added, never modified, so lookups need no locking; each one checks every segment's in-memory
+ * Bloom filter, newest first, and reads from disk only for segments that may hold the ID.
+ */
+@Component
+public class PaymentArchive {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PaymentArchive.class);
+
+  static final String ARCHIVED_METRIC = "gateway.archive.archived";
+  static final String LOOKUP_METRIC = "gateway.archive.lookup";
+  static final String SEGMENTS_METRIC = "gateway.archive.segments";
+  static final String ROWS_METRIC = "gateway.archive.rows";
+
+  private final ArchiveProperties properties;
+  private final List<ArchiveSegment> segments = new CopyOnWriteArrayList<>();
+  private final AtomicInteger sequence = new AtomicInteger();
+  private final Counter archivedCounter;
+  private final Timer hitTimer;
+  private final Timer missTimer;
+
+  public PaymentArchive(ArchiveProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.archivedCounter =
+        Counter.builder(ARCHIVED_METRIC)
+            .description("Payments moved from memory to the archive")
+            .register(meterRegistry);
+    this.hitTimer = lookupTimer(meterRegistry, "hit");
+    this.missTimer = lookupTimer(meterRegistry, "miss");
+    Gauge.builder(SEGMENTS_METRIC, segments, List::size)
+        .description("Archive segment files open")
+        .register(meterRegistry);
+    Gauge.builder(ROWS_METRIC, this, PaymentArchive::size)
+        .description("Payments held in the archive")
+        .register(meterRegistry);
+    if (properties.enabled()) {
+      openExistingSegments();
+    }
+  }
+
+  /** An archive that holds nothing and never writes, for repositories built outside Spring. */
+  public static PaymentArchive disabled() {
+    return new PaymentArchive(
+        new ArchiveProperties(
+            false, Path.of("data/archive"), Duration.ofDays(3), Duration.ofHours(1), 1, 1, 1),
+        new SimpleMeterRegistry());
+  }
+
+  public boolean isEnabled() {
+    return properties.enabled();
+  }
+
+  public Optional<PaymentResponse> find(UUID id) {
+    if (segments.isEmpty()) {
+      return Optional.empty();
+    }
+    long started = System.nanoTime();
+    for (ArchiveSegment segment : segments) {
+      if (segment.mightContain(id)) {
+        Optional<PaymentResponse> payment = segment.find(id);
+        if (payment.isPresent()) {
+          hitTimer.record(Duration.ofNanos(System.nanoTime() - started));
+          return payment;
+        }
+      }
+    }
+    missTimer.record(Duration.ofNanos(System.nanoTime() - started));
+    return Optional.empty();
+  }
+
+  /** Streams every archived payment, one block in memory at a time. */
+  public Stream<PaymentResponse> stream() {
+    return segments.stream().flatMap(ArchiveSegment::stream);
+  }
+
+  public long size() {
+    long size = 0;
+    for (ArchiveSegment segment : segments) {
+      size += segment.rowCount();
+    }
+    return size;
+  }
+
+  /**
+   * Writes the payments to new segments and makes them visible to lookups before returning, so the
+   * caller can then drop them from memory without a window in which they cannot be found.
+   *
+   * @throws UncheckedIOException if a segment cannot be written; nothing is made visible then
+   */
+  public synchronized void archive(List<PaymentResponse> payments) {
+    if (!properties.enabled() || payments.isEmpty()) {
+      return;
+    }
+    List<PaymentResponse> sorted = new ArrayList<>(payments);
+    sorted.sort(Comparator.comparing(PaymentResponse::getId));
+    List<Path> written = new ArrayList<>();
+    List<ArchiveSegment> opened = new ArrayList<>();
+    try {
+      Files.createDirectories(properties.directory());
+      for (int from = 0; from < sorted.size(); from += properties.maxSegmentRows()) {
+        List<PaymentResponse> chunk =
+            sorted.subList(from, Math.min(sorted.size(), from + properties.maxSegmentRows()));
+        written.add(
+            SegmentWriter.write(
+                properties.directory(),
+                "segment-%d-%04d"
+                    .formatted(System.currentTimeMillis(), sequence.incrementAndGet() % 10_000),
+                chunk,
+                properties.rowsPerBlock(),
+                properties.bloomBitsPerEntry()));
+      }
+      for (Path file : written) {
+        opened.add(0, ArchiveSegment.open(file));
+      }
+    } catch (IOException e) {
+      discard(written, opened);
+      throw new UncheckedIOException("Could not write archive segment", e);
+    }
+    segments.addAll(0, opened);
+    archivedCounter.increment(sorted.size());
+    LOG.info("Archived {} payments to {} segments", sorted.size(), opened.size());
+  }
+
+  @PreDestroy
+  public void close() {
+    for (ArchiveSegment segment : segments) {
+      try {
+        segment.close();
+      } catch (IOException e) {
+        LOG.warn("Could not close archive segment {}", segment.file(), e);
+      }
+    }
+    segments.clear();
+  }
+
+  private static void discard(List<Path> written, List<ArchiveSegment> opened) {
+    for (ArchiveSegment segment : opened) {
+      try {
+        segment.close();
+      } catch (IOException e) {
+        LOG.warn("Could not close archive segment {}", segment.file(), e);
+      }
+    }
+    for (Path file : written) {
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException e) {
+        LOG.warn("Could not delete incomplete archive segment {}", file, e);
+      }
+    }
+  }
+
+  private void openExistingSegments() {
+    Path directory = properties.directory();
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      List<Path> existing = new ArrayList<>();
+      for (Path file : files.toList()) {
+        String name = file.getFileName().toString();
+        if (name.endsWith(SegmentWriter.SUFFIX + SegmentWriter.TEMP_SUFFIX)) {
+          // Left behind by a crash mid-write, before its payments were dropped from memory
+          Files.deleteIfExists(file);
+        } else if (name.endsWith(SegmentWriter.SUFFIX)) {
+          existing.add(file);
+        }
+      }
+      // Names start with the creation time, so reverse order is newest first
+      existing.sort(Comparator.reverseOrder());
+      for (Path file : existing) {
+        segments.add(ArchiveSegment.open(file));
+      }
+      LOG.info("Opened {} archive segments holding {} payments", segments.size(), size());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not open archive in " + directory, e);
+    }
+  }
+
+  private static Timer lookupTimer(MeterRegistry meterRegistry, String result) {
+    return Timer.builder(LOOKUP_METRIC)
+        .description("Archive lookups for payments no longer held in memory")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,51 @@
+package com.checkout.payment.gateway.archive;
+
+import com.checkout.payment.gateway.repository.PaymentsRepository;
+import java.time.Clock;
+import java.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/** Periodically moves payments older than {@code gateway.archive.age} to the archive. */
+@Component
+public class PaymentTiering {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PaymentTiering.class);
+
+  private final ArchiveProperties properties;
+  private final PaymentsRepository paymentsRepository;
+  private final Clock clock;
+
+  @Autowired
+  public PaymentTiering(ArchiveProperties properties, PaymentsRepository paymentsRepository) {
+    this(properties, paymentsRepository, Clock.systemUTC());
+  }
+
+  PaymentTiering(ArchiveProperties properties, PaymentsRepository paymentsRepository, Clock clock) {
+    this.properties = properties;
+    this.paymentsRepository = paymentsRepository;
+    this.clock = clock;
+  }
+
+  @Scheduled(
+      initialDelayString = "${gateway.archive.interval:PT1H}",
+      fixedDelayString = "${gateway.archive.interval:PT1H}")
+  public void archiveAgedPayments() {
+    if (!properties.enabled()) {
+      return;
+    }
+    try {
+      Instant cutoff = Instant.now(clock).minus(properties.age());
+      int archived = paymentsRepository.archiveOlderThan(cutoff);
+      if (archived > 0) {
+        LOG.info("Moved {} payments older than {} to the archive", archived, properties.age());
+      }
+    } catch (RuntimeException e) {
+      // The payments stay in memory and are retried next interval
+      LOG.error("Could not archive aged payments", e);
+    }
+  }
+}
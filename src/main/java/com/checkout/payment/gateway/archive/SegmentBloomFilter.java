@@ -0,0 +1,76 @@
+package com.checkout.payment.gateway.archive;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.UUID;
+
+/** Bloom filter over payment IDs, stored in a segment's footer and held in memory once opened. */
+final class SegmentBloomFilter {
+
+  private final long[] bits;
+  private final int hashFunctions;
+  private final long bitCount;
+
+  private SegmentBloomFilter(long[] bits, int hashFunctions) {
+    this.bits = bits;
+    this.hashFunctions = hashFunctions;
+    this.bitCount = (long) bits.length * Long.SIZE;
+  }
+
+  static SegmentBloomFilter create(int entries, int bitsPerEntry) {
+    long wanted = Math.max(Long.SIZE, (long) entries * bitsPerEntry);
+    int words = (int) Math.min(Integer.MAX_VALUE - 8, (wanted + Long.SIZE - 1) / Long.SIZE);
+    // Optimal k = (m / n) ln 2
+    int hashFunctions = Math.max(1, (int) Math.round(bitsPerEntry * Math.log(2)));
+    return new SegmentBloomFilter(new long[words], hashFunctions);
+  }
+
+  void add(UUID id) {
+    long h1 = mix(id.getMostSignificantBits() ^ Long.rotateLeft(id.getLeastSignificantBits(), 32));
+    long h2 = mix(id.getLeastSignificantBits() + 0x9E3779B97F4A7C15L) | 1;
+    for (int i = 0; i < hashFunctions; i++) {
+      long bit = Math.floorMod(h1 + i * h2, bitCount);
+      bits[(int) (bit >>> 6)] |= 1L << bit;
+    }
+  }
+
+  boolean mightContain(UUID id) {
+    long h1 = mix(id.getMostSignificantBits() ^ Long.rotateLeft(id.getLeastSignificantBits(), 32));
+    long h2 = mix(id.getLeastSignificantBits() + 0x9E3779B97F4A7C15L) | 1;
+    for (int i = 0; i < hashFunctions; i++) {
+      long bit = Math.floorMod(h1 + i * h2, bitCount);
+      if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  void writeTo(DataOutput out) throws IOException {
+    out.writeInt(hashFunctions);
+    out.writeInt(bits.length);
+    for (long word : bits) {
+      out.writeLong(word);
+    }
+  }
+
+  static SegmentBloomFilter readFrom(DataInput in) throws IOException {
+    int hashFunctions = in.readInt();
+    long[] bits = new long[in.readInt()];
+    for (int i = 0; i < bits.length; i++) {
+      bits[i] = in.readLong();
+    }
+    return new SegmentBloomFilter(bits, hashFunctions);
+  }
+
+  /** MurmurHash3 fmix64 finaliser. */
+  private static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    h *= 0xC4CEB9FE1A85EC53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
@@ -0,0 +1,210 @@
+package com.checkout.payment.gateway.archive;
+
+import com.checkout.payment.gateway.model.PaymentResponse;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Writes one immutable segment file. Layout:
+ *
+ * <pre>
+ * header   magic "PGSEG002"
+ * blocks   deflate-compressed blocks of up to rowsPerBlock payments, sorted by ID and stored
+ *          column by column (all ID halves, then statuses, then last fours, ...)
+ * footer   row and block counts, then per block its first ID, offset, lengths and row count
+ *          (the sparse index), then the Bloom filter
+ * trailer  footer offset (8 bytes), footer length (4 bytes), magic again
+ * </pre>
+ *
+ * <p>Version 001 segments are the same without the merchant ID column and are still read.
+ *
+ * <p>The file is written under a {@code .tmp} name, forced to disk and then atomically renamed, so
+ * a crash never leaves a half-written segment that looks complete.
+ */
+final class SegmentWriter {
+
+  static final byte[] MAGIC = {'P', 'G', 'S', 'E', 'G', '0', '0', '2'};
+  static final byte[] MAGIC_V1 = {'P', 'G', 'S', 'E', 'G', '0', '0', '1'};
+  static final int TRAILER_LENGTH = Long.BYTES + Integer.BYTES + MAGIC.length;
+  static final String SUFFIX = ".pgseg";
+  static final String TEMP_SUFFIX = ".tmp";
+
+  private SegmentWriter() {}
+
+  /**
+   * Writes {@code payments}, which must already be sorted by ID, to a new segment in {@code
+   * directory} and returns its path.
+   */
+  static Path write(
+      Path directory, String name, List<PaymentResponse> payments, int rowsPerBlock, int bloomBits)
+      throws IOException {
+    Path temp = directory.resolve(name + SUFFIX + TEMP_SUFFIX);
+    Path target = directory.resolve(name + SUFFIX);
+    SegmentBloomFilter bloom = SegmentBloomFilter.create(payments.size(), bloomBits);
+    List<BlockIndexEntry> index = new ArrayList<>();
+
+    try (CountingOutputStream file =
+        new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+      file.write(MAGIC);
+      Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+      try {
+        for (int from = 0; from < payments.size(); from += rowsPerBlock) {
+          List<PaymentResponse> block =
+              payments.subList(from, Math.min(payments.size(), from + rowsPerBlock));
+          block.forEach(payment -> bloom.add(payment.getId()));
+          byte[] raw = encodeBlock(block);
+          byte[] compressed = deflate(deflater, raw);
+          index.add(
+              new BlockIndexEntry(
+                  block.get(0).getId().getMostSignificantBits(),
+                  block.get(0).getId().getLeastSignificantBits(),
+                  file.count,
+                  compressed.length,
+                  raw.length,
+                  block.size()));
+          file.write(compressed);
+        }
+      } finally {
+        deflater.end();
+      }
+
+      long footerOffset = file.count;
+      DataOutputStream footer = new DataOutputStream(file);
+      footer.writeInt(payments.size());
+      footer.writeInt(index.size());
+      for (BlockIndexEntry entry : index) {
+        entry.writeTo(footer);
+      }
+      bloom.writeTo(footer);
+      int footerLength = (int) (file.count - footerOffset);
+      footer.writeLong(footerOffset);
+      footer.writeInt(footerLength);
+      footer.write(MAGIC);
+      footer.flush();
+    }
+    try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+      channel.force(true);
+    }
+    return Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  static byte[] encodeBlock(List<PaymentResponse> block) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(block.size() * 64);
+    DataOutputStream out = new DataOutputStream(bytes);
+    for (PaymentResponse payment : block) {
+      out.writeLong(payment.getId().getMostSignificantBits());
+    }
+    for (PaymentResponse payment : block) {
+      out.writeLong(payment.getId().getLeastSignificantBits());
+    }
+    for (PaymentResponse payment : block) {
+      out.writeByte(payment.getStatus() == null ? -1 : payment.getStatus().ordinal());
+    }
+    for (PaymentResponse payment : block) {
+      writeNullable(out, payment.getCardNumberLastFour());
+    }
+    for (PaymentResponse payment : block) {
+      out.writeInt(payment.getExpiryMonth());
+    }
+    for (PaymentResponse payment : block) {
+      out.writeInt(payment.getExpiryYear());
+    }
+    for (PaymentResponse payment : block) {
+      writeNullable(out, payment.getCurrency());
+    }
+    for (PaymentResponse payment : block) {
+      out.writeInt(payment.getAmount());
+    }
+    for (PaymentResponse payment : block) {
+      writeNullable(out, payment.getCardScheme());
+    }
+    for (PaymentResponse payment : block) {
+      writeNullable(out, payment.getIssuingCountry());
+    }
+    for (PaymentResponse payment : block) {
+      writeNullable(out, payment.getCardType());
+    }
+    for (PaymentResponse payment : block) {
+      writeNullable(out, payment.getMerchantId());
+    }
+    for (PaymentResponse payment : block) {
+      Instant createdAt = payment.getCreatedAt();
+      out.writeBoolean(createdAt != null);
+      out.writeLong(createdAt == null ? 0 : createdAt.getEpochSecond());
+      out.writeInt(createdAt == null ? 0 : createdAt.getNano());
+    }
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  private static void writeNullable(DataOutputStream out, String value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeUTF(value);
+    }
+  }
+
+  private static byte[] deflate(Deflater deflater, byte[] raw) {
+    deflater.reset();
+    deflater.setInput(raw);
+    deflater.finish();
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 4 + 64);
+    byte[] buffer = new byte[8192];
+    while (!deflater.finished()) {
+      compressed.write(buffer, 0, deflater.deflate(buffer));
+    }
+    return compressed.toByteArray();
+  }
+
+  record BlockIndexEntry(
+      long firstMsb,
+      long firstLsb,
+      long offset,
+      int compressedLength,
+      int uncompressedLength,
+      int rows) {
+
+    void writeTo(DataOutputStream out) throws IOException {
+      out.writeLong(firstMsb);
+      out.writeLong(firstLsb);
+      out.writeLong(offset);
+      out.writeInt(compressedLength);
+      out.writeInt(uncompressedLength);
+      out.writeInt(rows);
+    }
+  }
+
+  private static final class CountingOutputStream extends FilterOutputStream {
+
+    private long count;
+
+    CountingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      count += len;
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package com.checkout.payment.gateway.bin;
+
+/** What the BIN table knows about a card. Fields are {@code null} when the table has no data. */
+public record BinInfo(String scheme, String issuingCountry, String cardType) {
+
+  public static final BinInfo UNKNOWN = new BinInfo(null, null, null);
+}
@@ -0,0 +1,187 @@
+package com.checkout.payment.gateway.bin;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable index of BIN ranges keyed on the first eight digits of a card number. Ranges are
+ * flattened at load time into sorted, non-overlapping primitive arrays, so a lookup is a binary
+ * search with no allocation. Where ranges nest, the narrowest one wins.
+ *
+ * <p>The source format is CSV with a header row: {@code
+ * range_start,range_end,scheme,issuing_country,card_type}. Range bounds are 1-8 digit prefixes,
+ * e.g. {@code 400000,499999,VISA,,} or {@code 42424242,42424242,VISA,US,CREDIT}.
+ */
+public final class BinTable {
+
+  static final int PREFIX_DIGITS = 8;
+
+  public static final BinTable EMPTY = new BinTable(new int[0], new int[0], new BinInfo[0]);
+
+  private final int[] starts;
+  private final int[] ends;
+  private final BinInfo[] infos;
+
+  private BinTable(int[] starts, int[] ends, BinInfo[] infos) {
+    this.starts = starts;
+    this.ends = ends;
+    this.infos = infos;
+  }
+
+  public BinInfo lookup(CharSequence cardNumber) {
+    int prefix = prefixOf(cardNumber);
+    if (prefix < 0) {
+      return BinInfo.UNKNOWN;
+    }
+
+    int low = 0;
+    int high = starts.length - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (starts[mid] <= prefix) {
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return high >= 0 && prefix <= ends[high] ? infos[high] : BinInfo.UNKNOWN;
+  }
+
+  public int size() {
+    return starts.length;
+  }
+
+  public static BinTable load(Reader source) throws IOException {
+    List<Range> ranges = new ArrayList<>();
+    BufferedReader reader = new BufferedReader(source);
+    reader.readLine(); // header
+    String line;
+    int lineNumber = 1;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      if (line.isBlank() || line.startsWith("#")) {
+        continue;
+      }
+      ranges.add(Range.parse(line, lineNumber));
+    }
+    return of(ranges);
+  }
+
+  static BinTable of(List<Range> ranges) {
+    NavigableMap<Integer, Range> flattened = new TreeMap<>();
+    ranges.stream()
+        .sorted(Comparator.comparingLong(Range::width).reversed())
+        .forEach(range -> paint(flattened, range));
+
+    int size = flattened.size();
+    int[] starts = new int[size];
+    int[] ends = new int[size];
+    BinInfo[] infos = new BinInfo[size];
+    int i = 0;
+    for (Range range : flattened.values()) {
+      starts[i] = range.start();
+      ends[i] = range.end();
+      infos[i] = range.info();
+      i++;
+    }
+    return new BinTable(starts, ends, infos);
+  }
+
+  /** Lays {@code range} over the existing segments, trimming whatever it covers. */
+  private static void paint(NavigableMap<Integer, Range> segments, Range range) {
+    Map.Entry<Integer, Range> before = segments.lowerEntry(range.start());
+    if (before != null && before.getValue().end() >= range.start()) {
+      Range covering = before.getValue();
+      segments.put(covering.start(), covering.withEnd(range.start() - 1));
+      if (covering.end() > range.end()) {
+        segments.put(range.end() + 1, covering.withStart(range.end() + 1));
+      }
+    }
+
+    NavigableMap<Integer, Range> overlapped =
+        segments.subMap(range.start(), true, range.end(), true);
+    if (!overlapped.isEmpty()) {
+      Range last = overlapped.lastEntry().getValue();
+      overlapped.clear();
+      if (last.end() > range.end()) {
+        segments.put(range.end() + 1, last.withStart(range.end() + 1));
+      }
+    }
+    segments.put(range.start(), range);
+  }
+
+  /** First eight digits as an int, or -1 if the card number is too short or not numeric. */
+  private static int prefixOf(CharSequence cardNumber) {
+    if (cardNumber == null || cardNumber.length() < PREFIX_DIGITS) {
+      return -1;
+    }
+    int prefix = 0;
+    for (int i = 0; i < PREFIX_DIGITS; i++) {
+      int digit = cardNumber.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+      prefix = prefix * 10 + digit;
+    }
+    return prefix;
+  }
+
+  record Range(int start, int end, BinInfo info) {
+
+    long width() {
+      return (long) end - start;
+    }
+
+    Range withStart(int newStart) {
+      return new Range(newStart, end, info);
+    }
+
+    Range withEnd(int newEnd) {
+      return new Range(start, newEnd, info);
+    }
+
+    static Range parse(String line, int lineNumber) {
+      String[] columns = line.split(",", -1);
+      if (columns.length != 5) {
+        throw new IllegalArgumentException(
+            "BIN table line " + lineNumber + " must have 5 columns: " + line);
+      }
+      int start = normalise(columns[0].trim(), '0', lineNumber);
+      int end = normalise(columns[1].trim(), '9', lineNumber);
+      if (end < start) {
+        throw new IllegalArgumentException(
+            "BIN table line " + lineNumber + " has range_end before range_start");
+      }
+      return new Range(
+          start,
+          end,
+          new BinInfo(emptyToNull(columns[2]), emptyToNull(columns[3]), emptyToNull(columns[4])));
+    }
+
+    private static int normalise(String prefix, char padding, int lineNumber) {
+      if (prefix.isEmpty()
+          || prefix.length() > PREFIX_DIGITS
+          || !prefix.chars().allMatch(Character::isDigit)) {
+        throw new IllegalArgumentException(
+            "BIN table line " + lineNumber + " has an invalid prefix: " + prefix);
+      }
+      StringBuilder padded = new StringBuilder(prefix);
+      while (padded.length() < PREFIX_DIGITS) {
+        padded.append(padding);
+      }
+      return Integer.parseInt(padded.toString());
+    }
+
+    private static String emptyToNull(String value) {
+      String trimmed = value.trim();
+      return trimmed.isEmpty() ? null : trimmed.intern();
+    }
+  }
+}
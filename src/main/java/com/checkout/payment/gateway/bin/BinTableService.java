@@ -0,0 +1,66 @@
+package com.checkout.payment.gateway.bin;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves lookups from the current {@link BinTable} and reloads it when the source file changes.
+ * A reload builds a complete new table off to the side and publishes it with a single volatile
+ * write, so lookups never wait and never see a partially loaded table.
+ */
+@Service
+public class BinTableService {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BinTableService.class);
+
+  private final Resource tableResource;
+  private volatile BinTable table = BinTable.EMPTY;
+  private long loadedLastModified = -1L;
+
+  public BinTableService(
+      ResourceLoader resourceLoader, @Value("${gateway.bin.table-location}") String location) {
+    this.tableResource = resourceLoader.getResource(location);
+    reloadIfModified();
+  }
+
+  public BinInfo lookup(CharSequence cardNumber) {
+    return table.lookup(cardNumber);
+  }
+
+  @Scheduled(
+      initialDelayString = "${gateway.bin.refresh-interval}",
+      fixedDelayString = "${gateway.bin.refresh-interval}")
+  public synchronized void reloadIfModified() {
+    if (!tableResource.exists()) {
+      LOG.warn("BIN table {} not found, card details will not be enriched", tableResource);
+      return;
+    }
+
+    try {
+      long lastModified = tableResource.lastModified();
+      if (lastModified == loadedLastModified) {
+        return;
+      }
+
+      BinTable loaded;
+      try (Reader reader =
+          new InputStreamReader(tableResource.getInputStream(), StandardCharsets.UTF_8)) {
+        loaded = BinTable.load(reader);
+      }
+      table = loaded;
+      loadedLastModified = lastModified;
+      LOG.info("Loaded BIN table from {} with {} ranges", tableResource, loaded.size());
+    } catch (IOException | IllegalArgumentException e) {
+      LOG.error("Failed to load BIN table from {}, keeping the current table", tableResource, e);
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package com.checkout.payment.gateway.capture;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes one capture file. The load generator's {@code CaptureReader} reads the same layout, all
+ * big-endian as written by {@link DataOutputStream}:
+ *
+ * <pre>
+ * header   magic "PGCAP001", capture start as epoch millis (long)
+ * record   arrival offset from capture start in nanos (long), gateway latency in micros (int),
+ *          HTTP status (short), payload present (boolean), and if present:
+ *          card BIN (nullable UTF), card length (byte), card last four (nullable UTF),
+ *          expiry month (nullable int), expiry year (nullable int), currency (nullable UTF),
+ *          amount (nullable int), CVV length (byte)
+ * </pre>
+ *
+ * <p>Nullable values are preceded by a boolean presence flag. A record is about 40 bytes.
+ */
+final class CaptureFileWriter implements Closeable {
+
+  static final byte[] MAGIC = {'P', 'G', 'C', 'A', 'P', '0', '0', '1'};
+
+  private final DataOutputStream out;
+  private long bytes;
+
+  CaptureFileWriter(Path file, long captureStartEpochMillis) throws IOException {
+    this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+    out.write(MAGIC);
+    out.writeLong(captureStartEpochMillis);
+  }
+
+  void write(CaptureRecord record) throws IOException {
+    int before = out.size();
+    out.writeLong(record.offsetNanos());
+    out.writeInt(record.latencyMicros());
+    out.writeShort(record.status());
+    CapturedPayment payment = record.payment();
+    out.writeBoolean(payment != null);
+    if (payment != null) {
+      writeNullable(payment.cardBin());
+      out.writeByte(Math.min(payment.cardLength(), Byte.MAX_VALUE));
+      writeNullable(payment.cardLastFour());
+      writeNullable(payment.expiryMonth());
+      writeNullable(payment.expiryYear());
+      writeNullable(payment.currency());
+      writeNullable(payment.amount());
+      out.writeByte(Math.min(payment.cvvLength(), Byte.MAX_VALUE));
+    }
+    bytes += out.size() - before;
+  }
+
+  /** Bytes written so far, header excluded. */
+  long bytes() {
+    return bytes;
+  }
+
+  void flush() throws IOException {
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+
+  private void writeNullable(String value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeUTF(value);
+    }
+  }
+
+  private void writeNullable(Integer value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeInt(value);
+    }
+  }
+
+  /** One captured request; {@code payment} is null when the body could not be read. */
+  record CaptureRecord(long offsetNanos, int latencyMicros, int status, CapturedPayment payment) {}
+}
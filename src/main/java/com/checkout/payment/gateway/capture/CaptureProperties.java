@@ -0,0 +1,26 @@
+package com.checkout.payment.gateway.capture;
+
+import java.nio.file.Path;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Traffic capture for replay. When enabled, every {@code POST /payments} is recorded, masked, into
+ * capture files under {@code directory}, each rolled over after {@code maxFileBytes}. Records are
+ * handed to a writer thread through a queue of {@code queueCapacity}; when it is full they are
+ * dropped rather than slowing requests down.
+ */
+@ConfigurationProperties(prefix = "gateway.capture")
+public record CaptureProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("captures") Path directory,
+    @DefaultValue("65536") int queueCapacity,
+    @DefaultValue("268435456") long maxFileBytes) {
+
+  public CaptureProperties {
+    if (queueCapacity < 1 || maxFileBytes < 1 || maxFileBytes > Integer.MAX_VALUE) {
+      throw new IllegalStateException(
+          "Capture queue capacity must be positive and file size between 1 byte and 2 GiB");
+    }
+  }
+}
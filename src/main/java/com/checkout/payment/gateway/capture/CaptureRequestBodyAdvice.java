@@ -0,0 +1,51 @@
+package com.checkout.payment.gateway.capture;
+
+import com.checkout.payment.gateway.controller.PaymentGatewayController;
+import com.checkout.payment.gateway.model.PostPaymentRequest;
+import java.lang.reflect.Type;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+/**
+ * Masks each {@link PostPaymentRequest} as soon as it is read, before validation, and leaves it for
+ * {@link PaymentCaptureFilter}. Only the masked copy outlives the request.
+ */
+@ControllerAdvice(assignableTypes = PaymentGatewayController.class)
+public class CaptureRequestBodyAdvice extends RequestBodyAdviceAdapter {
+
+  private final PaymentCaptureRecorder recorder;
+
+  public CaptureRequestBodyAdvice(PaymentCaptureRecorder recorder) {
+    this.recorder = recorder;
+  }
+
+  @Override
+  public boolean supports(
+      MethodParameter methodParameter,
+      Type targetType,
+      Class<? extends HttpMessageConverter<?>> converterType) {
+    return recorder.isEnabled() && targetType == PostPaymentRequest.class;
+  }
+
+  @Override
+  public Object afterBodyRead(
+      Object body,
+      HttpInputMessage inputMessage,
+      MethodParameter parameter,
+      Type targetType,
+      Class<? extends HttpMessageConverter<?>> converterType) {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes != null && body instanceof PostPaymentRequest request) {
+      attributes.setAttribute(
+          PaymentCaptureFilter.CAPTURED_PAYMENT_ATTRIBUTE,
+          CapturedPayment.of(request),
+          RequestAttributes.SCOPE_REQUEST);
+    }
+    return body;
+  }
+}
@@ -0,0 +1,46 @@
+package com.checkout.payment.gateway.capture;
+
+import com.checkout.payment.gateway.model.PostPaymentRequest;
+
+/**
+ * A payment request with its card data reduced to what replay needs: the BIN and last four digits
+ * of the card number (enough for scheme lookup and the bank's outcome) and the lengths of the card
+ * number and CVV. The rest of the card number and the CVV itself are never kept. Requests are
+ * captured before validation, so an over-long currency is cut short; it stays invalid, and replay
+ * still gets the original rejection.
+ */
+public record CapturedPayment(
+    String cardBin,
+    int cardLength,
+    String cardLastFour,
+    Integer expiryMonth,
+    Integer expiryYear,
+    String currency,
+    Integer amount,
+    int cvvLength) {
+
+  private static final int BIN_LENGTH = 6;
+  // Shorter numbers would reveal most of their digits through the BIN and last four alone
+  private static final int MIN_MASKABLE_LENGTH = 13;
+  // Keeps every record well under the 64 KB limit of DataOutputStream.writeUTF
+  private static final int MAX_CURRENCY_LENGTH = 8;
+
+  public static CapturedPayment of(PostPaymentRequest request) {
+    String cardNumber = request.getCardNumber();
+    int cardLength = cardNumber == null ? -1 : cardNumber.length();
+    boolean maskable = cardLength >= MIN_MASKABLE_LENGTH;
+    return new CapturedPayment(
+        maskable ? cardNumber.substring(0, BIN_LENGTH) : null,
+        cardLength,
+        maskable ? cardNumber.substring(cardLength - 4) : null,
+        request.getExpiryMonth(),
+        request.getExpiryYear(),
+        truncate(request.getCurrency(), MAX_CURRENCY_LENGTH),
+        request.getAmount(),
+        request.getCvv() == null ? -1 : request.getCvv().length());
+  }
+
+  private static String truncate(String value, int maxLength) {
+    return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+  }
+}
@@ -0,0 +1,89 @@
+package com.checkout.payment.gateway.capture;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Captures the timing and outcome of {@code POST /payments} for replay. The masked payload is left
+ * in a request attribute by {@link CaptureRequestBodyAdvice} once the body has been read, so
+ * requests rejected by validation are captured too; bodies that could not be parsed are captured
+ * without a payload. When capture is disabled the filter is skipped entirely.
+ */
+@Component
+public class PaymentCaptureFilter extends OncePerRequestFilter {
+
+  static final String CAPTURED_PAYMENT_ATTRIBUTE =
+      PaymentCaptureFilter.class.getName() + ".payment";
+
+  private final PaymentCaptureRecorder recorder;
+
+  public PaymentCaptureFilter(PaymentCaptureRecorder recorder) {
+    this.recorder = recorder;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !recorder.isEnabled()
+        || !"POST".equals(request.getMethod())
+        || !"/payments".equals(request.getRequestURI());
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    long arrival = System.nanoTime();
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      if (request.isAsyncStarted()) {
+        // Lane-executed handlers finish after this thread returns
+        request.getAsyncContext().addListener(new CompletionListener(arrival, request, response));
+      } else {
+        record(arrival, request, response);
+      }
+    }
+  }
+
+  private void record(long arrival, HttpServletRequest request, HttpServletResponse response) {
+    recorder.record(
+        arrival,
+        System.nanoTime(),
+        response.getStatus(),
+        (CapturedPayment) request.getAttribute(CAPTURED_PAYMENT_ATTRIBUTE));
+  }
+
+  private final class CompletionListener implements AsyncListener {
+
+    private final long arrival;
+    private final HttpServletRequest request;
+    private final HttpServletResponse response;
+
+    CompletionListener(long arrival, HttpServletRequest request, HttpServletResponse response) {
+      this.arrival = arrival;
+      this.request = request;
+      this.response = response;
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+      record(arrival, request, response);
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {}
+
+    @Override
+    public void onError(AsyncEvent event) {}
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {}
+  }
+}
@@ -0,0 +1,161 @@
+package com.checkout.payment.gateway.capture;
+
+import com.checkout.payment.gateway.capture.CaptureFileWriter.CaptureRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Appends captured payment requests to rolling capture files on a background thread. Request
+ * threads only offer to a bounded queue; if the writer falls behind, records are dropped and
+ * counted rather than slowing payments down.
+ */
+@Component
+public class PaymentCaptureRecorder {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PaymentCaptureRecorder.class);
+
+  static final String RECORDED_METRIC = "gateway.capture.recorded";
+  static final String DROPPED_METRIC = "gateway.capture.dropped";
+  static final String FILE_SUFFIX = ".pgcap";
+
+  private static final DateTimeFormatter FILE_TIMESTAMP =
+      DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS'Z'").withZone(ZoneOffset.UTC);
+
+  private final CaptureProperties properties;
+  private final BlockingQueue<CaptureRecord> queue;
+  private final Counter recordedCounter;
+  private final Counter droppedCounter;
+  // Arrival offsets are relative to this, so they stay monotonic across rolled files
+  private final long startNanos = System.nanoTime();
+  private final long startEpochMillis = System.currentTimeMillis();
+
+  private volatile boolean running;
+  private Thread writerThread;
+
+  public PaymentCaptureRecorder(CaptureProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+    this.recordedCounter =
+        Counter.builder(RECORDED_METRIC)
+            .description("Payment requests written to the traffic capture")
+            .register(meterRegistry);
+    this.droppedCounter =
+        Counter.builder(DROPPED_METRIC)
+            .description("Payment requests not captured because the writer fell behind")
+            .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public synchronized void start() {
+    if (!properties.enabled() || running) {
+      return;
+    }
+    running = true;
+    writerThread = new Thread(this::writeLoop, "payment-capture-writer");
+    writerThread.setDaemon(true);
+    writerThread.start();
+    LOG.info("Capturing payment traffic to {}", properties.directory().toAbsolutePath());
+  }
+
+  /** Stops accepting records and waits briefly for the writer to flush what is queued. */
+  @PreDestroy
+  public synchronized void stop() throws InterruptedException {
+    running = false;
+    if (writerThread != null) {
+      writerThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+  }
+
+  public boolean isEnabled() {
+    return properties.enabled();
+  }
+
+  /** Queues one request for the capture. Never blocks. */
+  public void record(
+      long arrivalNanos, long completedNanos, int status, CapturedPayment payment) {
+    if (!running) {
+      return;
+    }
+    long latencyMicros = TimeUnit.NANOSECONDS.toMicros(completedNanos - arrivalNanos);
+    CaptureRecord record =
+        new CaptureRecord(
+            arrivalNanos - startNanos,
+            (int) Math.min(latencyMicros, Integer.MAX_VALUE),
+            status,
+            payment);
+    if (!queue.offer(record)) {
+      droppedCounter.increment();
+    }
+  }
+
+  private void writeLoop() {
+    List<CaptureRecord> drained = new ArrayList<>();
+    CaptureFileWriter writer = null;
+    try {
+      while (running || !queue.isEmpty()) {
+        CaptureRecord first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          if (writer != null) {
+            writer.flush();
+          }
+          continue;
+        }
+        drained.add(first);
+        queue.drainTo(drained, 1023);
+        for (CaptureRecord record : drained) {
+          if (writer == null || writer.bytes() >= properties.maxFileBytes()) {
+            writer = roll(writer);
+          }
+          writer.write(record);
+        }
+        recordedCounter.increment(drained.size());
+        drained.clear();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IOException e) {
+      LOG.error("Traffic capture stopped: could not write capture file", e);
+      running = false;
+    } finally {
+      closeQuietly(writer);
+    }
+  }
+
+  private CaptureFileWriter roll(CaptureFileWriter current) throws IOException {
+    closeQuietly(current);
+    Files.createDirectories(properties.directory());
+    Path file =
+        properties
+            .directory()
+            .resolve("capture-" + FILE_TIMESTAMP.format(Instant.now()) + FILE_SUFFIX);
+    LOG.info("Writing traffic capture to {}", file);
+    return new CaptureFileWriter(file, startEpochMillis);
+  }
+
+  private static void closeQuietly(CaptureFileWriter writer) {
+    if (writer == null) {
+      return;
+    }
+    try {
+      writer.close();
+    } catch (IOException e) {
+      LOG.warn("Could not close capture file", e);
+    }
+  }
+}
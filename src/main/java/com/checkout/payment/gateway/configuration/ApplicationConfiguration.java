@@ -1,12 +1,18 @@
 package com.checkout.payment.gateway.configuration;
 
+import com.checkout.payment.gateway.currency.CurrencyRegistry;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import java.time.Duration;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
+@EnableScheduling
 public class ApplicationConfiguration {
 
   @Bean
@@ -16,4 +22,22 @@ public class ApplicationConfiguration {
         .setReadTimeout(Duration.ofMillis(10000))
         .build();
   }
+
+  /** The currencies the gateway accepts, shared by everything that keeps per-currency state. */
+  @Bean
+  public CurrencyRegistry currencyRegistry() {
+    return CurrencyRegistry.standard();
+  }
+
+  /**
+   * Compact binary alternative to JSON for high-volume merchants, negotiated through the {@code
+   * application/cbor} Content-Type and Accept headers. Built from the Boot-configured builder so it
+   * shares the JSON mapper's modules and settings; JSON remains the default representation.
+   */
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(
+        builder.factory(new CBORFactory()).build());
+  }
 }
@@ -0,0 +1,36 @@
+package com.checkout.payment.gateway.configuration;
+
+import com.checkout.payment.gateway.jfr.RecordingValidator;
+import com.checkout.payment.gateway.ratelimit.RateLimitInterceptor;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfiguration implements WebMvcConfigurer {
+
+  private final RateLimitInterceptor rateLimitInterceptor;
+  private final Validator validator;
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry
+        .addInterceptor(rateLimitInterceptor)
+        .addPathPatterns(
+            "/payments",
+            "/payments/export",
+            "/payments/stream",
+            "/payment/**",
+            "/webhooks",
+            "/webhooks/**");
+  }
+
+  @Override
+  public org.springframework.validation.Validator getValidator() {
+    return new RecordingValidator(new SpringValidatorAdapter(validator));
+  }
+}
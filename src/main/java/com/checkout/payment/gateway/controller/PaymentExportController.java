@@ -0,0 +1,76 @@
+package com.checkout.payment.gateway.controller;
+
+import com.checkout.payment.gateway.enums.PaymentStatus;
+import com.checkout.payment.gateway.export.ExportFilter;
+import com.checkout.payment.gateway.export.ExportFormat;
+import com.checkout.payment.gateway.export.ExportProperties;
+import com.checkout.payment.gateway.export.PaymentExportService;
+import com.checkout.payment.gateway.merchant.MerchantResolver;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import java.nio.channels.Channels;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Set;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+@RestController
+@Tag(name = "Reconciliation", description = "Bulk export of stored payments")
+public class PaymentExportController {
+
+  private final PaymentExportService paymentExportService;
+  private final long timeoutMillis;
+
+  public PaymentExportController(
+      PaymentExportService paymentExportService, ExportProperties properties) {
+    this.paymentExportService = paymentExportService;
+    this.timeoutMillis = properties.timeout().toMillis();
+  }
+
+  @GetMapping("/payments/export")
+  @Operation(
+      summary = "Export the merchant's stored payments",
+      description =
+          "Streams the calling merchant's payments created in [from, to) with the given statuses "
+              + "as CSV or NDJSON, optionally gzip-compressed. The export runs off the request "
+              + "thread and does not block payment processing.")
+  @ApiResponse(responseCode = "200", description = "Export streamed")
+  @ApiResponse(responseCode = "401", description = "No recognised API key")
+  public WebAsyncTask<Void> exportPayments(
+      @RequestParam(defaultValue = "CSV") ExportFormat format,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          Instant from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          Instant to,
+      @RequestParam(required = false) Set<PaymentStatus> status,
+      @RequestParam(defaultValue = "false") boolean gzip,
+      @RequestAttribute(MerchantResolver.MERCHANT_ID_ATTRIBUTE) String merchantId,
+      HttpServletResponse response) {
+    MerchantResolver.requireIdentified(merchantId);
+    ExportFilter filter = new ExportFilter(merchantId, from, to, status);
+    String filename =
+        "payments-" + LocalDate.now() + "." + format.getFileExtension() + (gzip ? ".gz" : "");
+
+    response.setContentType(gzip ? "application/gzip" : format.getContentType());
+    response.setHeader(
+        HttpHeaders.CONTENT_DISPOSITION,
+        ContentDisposition.attachment().filename(filename).build().toString());
+    // Only exports get the long timeout; lane-backed payment requests keep the default
+    return new WebAsyncTask<>(
+        timeoutMillis,
+        () -> {
+          paymentExportService.export(
+              filter, format, gzip, Channels.newChannel(response.getOutputStream()));
+          return null;
+        });
+  }
+}
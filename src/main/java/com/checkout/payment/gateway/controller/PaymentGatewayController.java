@@ -1,5 +1,9 @@
 package com.checkout.payment.gateway.controller;
 
+import com.checkout.payment.gateway.jfr.PaymentFlightRecorder;
+import com.checkout.payment.gateway.jfr.PaymentRequestEvent;
+import com.checkout.payment.gateway.lane.RequestLanes;
+import com.checkout.payment.gateway.merchant.MerchantResolver;
 import com.checkout.payment.gateway.model.ErrorResponse;
 import com.checkout.payment.gateway.model.PaymentResponse;
 import com.checkout.payment.gateway.model.PostPaymentRequest;
@@ -12,11 +16,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -25,28 +31,60 @@ import org.springframework.web.bind.annotation.RestController;
 public class PaymentGatewayController {
 
   private final PaymentGatewayService paymentGatewayService;
+  private final RequestLanes requestLanes;
+  private final PaymentFlightRecorder flightRecorder;
 
-  public PaymentGatewayController(PaymentGatewayService paymentGatewayService) {
+  public PaymentGatewayController(
+      PaymentGatewayService paymentGatewayService,
+      RequestLanes requestLanes,
+      PaymentFlightRecorder flightRecorder) {
     this.paymentGatewayService = paymentGatewayService;
+    this.requestLanes = requestLanes;
+    this.flightRecorder = flightRecorder;
   }
 
   @PostMapping("/payments")
   @Operation(
       summary = "Process a card payment",
       description =
-          "Process a card payment request by validating card details and communicating with an acquiring bank")
+          "Process a card payment request by validating card details and communicating with an acquiring bank. Accepts and produces JSON (default) or CBOR.")
   @ApiResponses(
       value = {
         @ApiResponse(
             responseCode = "200",
             description = "Payment processed successfully (Authorized or Declined)",
+            content = {
+              @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = PaymentResponse.class)),
+              @Content(
+                  mediaType = "application/cbor",
+                  schema = @Schema(implementation = PaymentResponse.class))
+            }),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid payment request",
             content =
                 @Content(
                     mediaType = "application/json",
-                    schema = @Schema(implementation = PaymentResponse.class))),
+                    schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(
-            responseCode = "400",
-            description = "Invalid payment request",
+            responseCode = "409",
+            description = "Suspected duplicate payment (when duplicate rejection is enabled)",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "422",
+            description = "Amount cannot be converted to the settlement currency",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Too many payments already in flight",
             content =
                 @Content(
                     mediaType = "application/json",
@@ -59,10 +97,21 @@ public class PaymentGatewayController {
                     mediaType = "application/json",
                     schema = @Schema(implementation = ErrorResponse.class)))
       })
-  public ResponseEntity<PaymentResponse> processPayment(
-      @Valid @RequestBody PostPaymentRequest request) {
-    PaymentResponse response = paymentGatewayService.processPayment(request);
-    return new ResponseEntity<>(response, HttpStatus.OK);
+  public CompletableFuture<ResponseEntity<PaymentResponse>> processPayment(
+      @Valid @RequestBody PostPaymentRequest request,
+      @RequestAttribute(MerchantResolver.MERCHANT_ID_ATTRIBUTE) String merchantId) {
+    PaymentRequestEvent event = flightRecorder.requestStarted("process", merchantId);
+    long started = System.nanoTime();
+    return requestLanes
+        .write()
+        .submit(
+            () ->
+                new ResponseEntity<>(
+                    paymentGatewayService.processPayment(request, merchantId), HttpStatus.OK))
+        .whenComplete(
+            (response, error) ->
+                flightRecorder.requestCompleted(
+                    event, started, response == null ? null : response.getBody(), error));
   }
 
   @GetMapping("/payment/{id}")
@@ -74,10 +123,14 @@ public class PaymentGatewayController {
         @ApiResponse(
             responseCode = "200",
             description = "Payment found",
-            content =
-                @Content(
-                    mediaType = "application/json",
-                    schema = @Schema(implementation = PaymentResponse.class))),
+            content = {
+              @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = PaymentResponse.class)),
+              @Content(
+                  mediaType = "application/cbor",
+                  schema = @Schema(implementation = PaymentResponse.class))
+            }),
         @ApiResponse(
             responseCode = "404",
             description = "Payment not found",
@@ -86,7 +139,18 @@ public class PaymentGatewayController {
                     mediaType = "application/json",
                     schema = @Schema(implementation = ErrorResponse.class)))
       })
-  public ResponseEntity<PaymentResponse> getPostPaymentEventById(@PathVariable UUID id) {
-    return new ResponseEntity<>(paymentGatewayService.getPaymentById(id), HttpStatus.OK);
+  public CompletableFuture<ResponseEntity<PaymentResponse>> getPostPaymentEventById(
+      @PathVariable UUID id,
+      @RequestAttribute(MerchantResolver.MERCHANT_ID_ATTRIBUTE) String merchantId) {
+    PaymentRequestEvent event = flightRecorder.requestStarted("lookup", merchantId);
+    long started = System.nanoTime();
+    return requestLanes
+        .read()
+        .submit(
+            () -> new ResponseEntity<>(paymentGatewayService.getPaymentById(id), HttpStatus.OK))
+        .whenComplete(
+            (response, error) ->
+                flightRecorder.requestCompleted(
+                    event, started, response == null ? null : response.getBody(), error));
   }
 }
@@ -0,0 +1,66 @@
+package com.checkout.payment.gateway.controller;
+
+import com.checkout.payment.gateway.enums.PaymentStatus;
+import com.checkout.payment.gateway.merchant.MerchantResolver;
+import com.checkout.payment.gateway.stream.PaymentStreamBroadcaster;
+import com.checkout.payment.gateway.stream.StreamFilter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.Set;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@Tag(name = "Payment Stream", description = "Live feed of stored payments")
+public class PaymentStreamController {
+
+  static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+  private final PaymentStreamBroadcaster paymentStreamBroadcaster;
+
+  public PaymentStreamController(PaymentStreamBroadcaster paymentStreamBroadcaster) {
+    this.paymentStreamBroadcaster = paymentStreamBroadcaster;
+  }
+
+  @GetMapping(value = "/payments/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  @Operation(
+      summary = "Stream the merchant's stored payments as server-sent events",
+      description =
+          "Sends each of the calling merchant's payments with the given statuses and currencies as "
+              + "a 'payment' event whose id is the payment ID. Reconnect with Last-Event-ID (or "
+              + "lastEventId) to receive what was missed; a 'gap' event means some of it is no "
+              + "longer available.")
+  @ApiResponse(responseCode = "200", description = "Event stream opened")
+  @ApiResponse(responseCode = "401", description = "No recognised API key")
+  @ApiResponse(
+      responseCode = "503",
+      description = "Too many subscribers overall or for the merchant, or streaming disabled")
+  public ResponseEntity<SseEmitter> streamPayments(
+      @RequestParam(required = false) Set<PaymentStatus> status,
+      @RequestParam(required = false) Set<String> currency,
+      @RequestParam(required = false) String lastEventId,
+      @RequestHeader(name = LAST_EVENT_ID_HEADER, required = false) String lastEventIdHeader,
+      @RequestAttribute(MerchantResolver.MERCHANT_ID_ATTRIBUTE) String merchantId) {
+    MerchantResolver.requireIdentified(merchantId);
+    StreamFilter filter = new StreamFilter(merchantId, status, currency);
+    String resumeFrom = lastEventIdHeader != null ? lastEventIdHeader : lastEventId;
+    // A plain status rather than an ErrorResponse: event-stream clients do not accept JSON
+    return paymentStreamBroadcaster
+        .subscribe(filter, resumeFrom)
+        .map(ResponseEntity::ok)
+        .orElseGet(
+            () ->
+                ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build());
+  }
+}
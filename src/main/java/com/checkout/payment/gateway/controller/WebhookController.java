@@ -0,0 +1,87 @@
+package com.checkout.payment.gateway.controller;
+
+import com.checkout.payment.gateway.exception.EventProcessingException;
+import com.checkout.payment.gateway.merchant.MerchantResolver;
+import com.checkout.payment.gateway.model.WebhookDeadLetter;
+import com.checkout.payment.gateway.model.WebhookRegistrationRequest;
+import com.checkout.payment.gateway.model.WebhookRegistrationResponse;
+import com.checkout.payment.gateway.webhook.WebhookDeadLetterStore;
+import com.checkout.payment.gateway.webhook.WebhookRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.net.URI;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Tag(name = "Webhooks", description = "Payment outcome notifications pushed to merchants")
+public class WebhookController {
+
+  private final WebhookRegistry webhookRegistry;
+  private final WebhookDeadLetterStore deadLetterStore;
+
+  public WebhookController(
+      WebhookRegistry webhookRegistry, WebhookDeadLetterStore deadLetterStore) {
+    this.webhookRegistry = webhookRegistry;
+    this.deadLetterStore = deadLetterStore;
+  }
+
+  @PutMapping("/webhooks")
+  @Operation(
+      summary = "Register the merchant's webhook",
+      description =
+          "Payment outcomes for the calling merchant are POSTed to this URL in batches. Replaces "
+              + "any existing registration.")
+  @ApiResponse(responseCode = "200", description = "Webhook registered")
+  @ApiResponse(responseCode = "400", description = "Invalid URL")
+  @ApiResponse(responseCode = "401", description = "No recognised API key")
+  public ResponseEntity<WebhookRegistrationResponse> registerWebhook(
+      @Valid @RequestBody WebhookRegistrationRequest request,
+      @RequestAttribute(MerchantResolver.MERCHANT_ID_ATTRIBUTE) String merchantId) {
+    MerchantResolver.requireIdentified(merchantId);
+    webhookRegistry.register(merchantId, URI.create(request.url()));
+    return new ResponseEntity<>(
+        new WebhookRegistrationResponse(merchantId, request.url()), HttpStatus.OK);
+  }
+
+  @GetMapping("/webhooks")
+  @Operation(summary = "Get the merchant's webhook registration")
+  public ResponseEntity<WebhookRegistrationResponse> getWebhook(
+      @RequestAttribute(MerchantResolver.MERCHANT_ID_ATTRIBUTE) String merchantId) {
+    MerchantResolver.requireIdentified(merchantId);
+    URI endpoint =
+        webhookRegistry
+            .endpointFor(merchantId)
+            .orElseThrow(() -> new EventProcessingException("No webhook registered"));
+    return new ResponseEntity<>(
+        new WebhookRegistrationResponse(merchantId, endpoint.toString()), HttpStatus.OK);
+  }
+
+  @DeleteMapping("/webhooks")
+  @Operation(summary = "Stop sending payment outcomes to the merchant's webhook")
+  public ResponseEntity<Void> deleteWebhook(
+      @RequestAttribute(MerchantResolver.MERCHANT_ID_ATTRIBUTE) String merchantId) {
+    MerchantResolver.requireIdentified(merchantId);
+    webhookRegistry.unregister(merchantId);
+    return ResponseEntity.noContent().build();
+  }
+
+  @GetMapping("/webhooks/dead-letters")
+  @Operation(
+      summary = "Notifications that could not be delivered",
+      description = "Oldest first; the store keeps the most recent entries across all merchants")
+  public ResponseEntity<List<WebhookDeadLetter>> getDeadLetters(
+      @RequestAttribute(MerchantResolver.MERCHANT_ID_ATTRIBUTE) String merchantId) {
+    MerchantResolver.requireIdentified(merchantId);
+    return new ResponseEntity<>(deadLetterStore.forMerchant(merchantId), HttpStatus.OK);
+  }
+}
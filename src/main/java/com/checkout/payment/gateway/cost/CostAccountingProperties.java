@@ -0,0 +1,20 @@
+package com.checkout.payment.gateway.cost;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Per-request allocation and CPU accounting for the payment endpoints. When enabled, every request
+ * is measured and fed to the cost metrics; {@code headerSampleRate} of them (0 to 1) also report
+ * their cost in a response header.
+ */
+@ConfigurationProperties(prefix = "gateway.cost")
+public record CostAccountingProperties(
+    @DefaultValue("true") boolean enabled, @DefaultValue("0") double headerSampleRate) {
+
+  public CostAccountingProperties {
+    if (headerSampleRate < 0 || headerSampleRate > 1) {
+      throw new IllegalStateException("Cost header sample rate must be between 0 and 1");
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package com.checkout.payment.gateway.cost;
+
+import com.checkout.payment.gateway.enums.PaymentStatus;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Heap allocation and CPU time charged to one request, summed over every thread that works on it:
+ * the servlet thread for each dispatch and the lane thread that runs the handler's task.
+ *
+ * <p>Work is charged in segments, each the difference between the thread's counters when it
+ * starts and ends. A thread runs at most one segment at a time; the open segment is kept in a
+ * thread-local that is reused, so accounting itself allocates nothing per request.
+ */
+public final class RequestCost {
+
+  private static final ThreadLocal<Segment> SEGMENT = ThreadLocal.withInitial(Segment::new);
+
+  private final String endpoint;
+  private final AtomicLong allocatedBytes = new AtomicLong();
+  private final AtomicLong cpuNanos = new AtomicLong();
+  private volatile PaymentStatus paymentStatus;
+
+  public RequestCost(String endpoint) {
+    this.endpoint = endpoint;
+  }
+
+  /** The request the current thread is working on, or null outside any accounted request. */
+  public static RequestCost current() {
+    return SEGMENT.get().cost;
+  }
+
+  /** Runs {@code work} on the current thread and charges its cost to this request. */
+  public <T> T charge(Supplier<T> work) {
+    if (!open()) {
+      return work.get();
+    }
+    try {
+      return work.get();
+    } finally {
+      close();
+    }
+  }
+
+  /**
+   * Starts charging the current thread's work to this request. Returns false, and charges
+   * nothing, if the thread is already charging a request.
+   */
+  boolean open() {
+    Segment segment = SEGMENT.get();
+    if (segment.cost != null) {
+      return false;
+    }
+    segment.cost = this;
+    segment.startAllocatedBytes = ThreadCosts.allocatedBytes();
+    segment.startCpuNanos = ThreadCosts.cpuNanos();
+    return true;
+  }
+
+  /** Ends the current thread's segment, opened by {@link #open}. */
+  void close() {
+    Segment segment = SEGMENT.get();
+    allocatedBytes.addAndGet(ThreadCosts.allocatedBytes() - segment.startAllocatedBytes);
+    cpuNanos.addAndGet(ThreadCosts.cpuNanos() - segment.startCpuNanos);
+    segment.cost = null;
+  }
+
+  public String endpoint() {
+    return endpoint;
+  }
+
+  /** Bytes allocated so far, including the current thread's open segment. */
+  public long allocatedBytes() {
+    Segment segment = SEGMENT.get();
+    long open =
+        segment.cost == this ? ThreadCosts.allocatedBytes() - segment.startAllocatedBytes : 0;
+    return allocatedBytes.get() + open;
+  }
+
+  /** CPU time so far, including the current thread's open segment. */
+  public long cpuNanos() {
+    Segment segment = SEGMENT.get();
+    long open = segment.cost == this ? ThreadCosts.cpuNanos() - segment.startCpuNanos : 0;
+    return cpuNanos.get() + open;
+  }
+
+  public PaymentStatus paymentStatus() {
+    return paymentStatus;
+  }
+
+  /** The status of the payment the request returned, if it returned one. */
+  public void paymentStatus(PaymentStatus paymentStatus) {
+    this.paymentStatus = paymentStatus;
+  }
+
+  private static final class Segment {
+    RequestCost cost;
+    long startAllocatedBytes;
+    long startCpuNanos;
+  }
+}
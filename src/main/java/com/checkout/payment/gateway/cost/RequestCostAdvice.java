@@ -0,0 +1,71 @@
+package com.checkout.payment.gateway.cost;
+
+import com.checkout.payment.gateway.model.PaymentResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Notes the payment outcome for {@link RequestCostFilter}'s metrics and, for a sample of requests,
+ * reports the cost so far in the {@value #COST_HEADER} header, e.g. {@code alloc-bytes=18432,
+ * cpu-ns=412000}. The header has to be set before the body is written, so it leaves out the cost
+ * of serialising the response itself.
+ */
+@ControllerAdvice
+public class RequestCostAdvice implements ResponseBodyAdvice<Object> {
+
+  public static final String COST_HEADER = "X-Request-Cost";
+
+  private final CostAccountingProperties properties;
+
+  public RequestCostAdvice(CostAccountingProperties properties) {
+    this.properties = properties;
+  }
+
+  @Override
+  public boolean supports(
+      MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return properties.enabled();
+  }
+
+  @Override
+  public Object beforeBodyWrite(
+      Object body,
+      MethodParameter returnType,
+      MediaType selectedContentType,
+      Class<? extends HttpMessageConverter<?>> selectedConverterType,
+      ServerHttpRequest request,
+      ServerHttpResponse response) {
+    if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+      return body;
+    }
+    RequestCost cost =
+        (RequestCost)
+            servletRequest.getServletRequest().getAttribute(RequestCostFilter.COST_ATTRIBUTE);
+    if (cost == null) {
+      return body;
+    }
+    if (body instanceof PaymentResponse payment) {
+      cost.paymentStatus(payment.getStatus());
+    }
+    if (sampled()) {
+      response
+          .getHeaders()
+          .set(
+              COST_HEADER,
+              "alloc-bytes=" + cost.allocatedBytes() + ", cpu-ns=" + cost.cpuNanos());
+    }
+    return body;
+  }
+
+  private boolean sampled() {
+    double rate = properties.headerSampleRate();
+    return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+  }
+}
@@ -0,0 +1,150 @@
+package com.checkout.payment.gateway.cost;
+
+import com.checkout.payment.gateway.enums.PaymentStatus;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Charges each payment request's servlet-thread work to a {@link RequestCost}, once for the
+ * initial dispatch and again for the async dispatch that writes a lane's result. When the request
+ * is done its total is published as {@code gateway.request.allocation} (bytes) and {@code
+ * gateway.request.cpu}, tagged with the endpoint and outcome.
+ *
+ * <p>The outcome is the payment's status ({@code authorized}, {@code declined}) for processed
+ * payments, and otherwise {@code success}, {@code client_error} or {@code server_error} from the
+ * response status.
+ */
+@Component
+public class RequestCostFilter extends OncePerRequestFilter {
+
+  static final String COST_ATTRIBUTE = RequestCostFilter.class.getName() + ".cost";
+  static final String ALLOCATION_METRIC = "gateway.request.allocation";
+  static final String CPU_METRIC = "gateway.request.cpu";
+
+  static final String PROCESS_ENDPOINT = "process";
+  static final String LOOKUP_ENDPOINT = "lookup";
+
+  private static final Map<PaymentStatus, String> PAYMENT_OUTCOMES =
+      new EnumMap<>(PaymentStatus.class);
+
+  static {
+    for (PaymentStatus status : PaymentStatus.values()) {
+      PAYMENT_OUTCOMES.put(status, status.getName().toLowerCase(Locale.ROOT));
+    }
+  }
+
+  private final CostAccountingProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, Map<String, Meters>> meters = new ConcurrentHashMap<>();
+
+  public RequestCostFilter(CostAccountingProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !properties.enabled() || endpointOf(request) == null;
+  }
+
+  @Override
+  protected boolean shouldNotFilterAsyncDispatch() {
+    return false;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    RequestCost cost = (RequestCost) request.getAttribute(COST_ATTRIBUTE);
+    if (cost == null) {
+      cost = new RequestCost(endpointOf(request));
+      request.setAttribute(COST_ATTRIBUTE, cost);
+    }
+    boolean opened = cost.open();
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      if (opened) {
+        cost.close();
+      }
+      // A lane-executed handler comes back through here on the async dispatch
+      if (!request.isAsyncStarted()) {
+        record(cost, response.getStatus());
+      }
+    }
+  }
+
+  private void record(RequestCost cost, int status) {
+    Meters requestMeters = meters(cost.endpoint(), outcomeOf(cost, status));
+    requestMeters.allocation().record(cost.allocatedBytes());
+    requestMeters.cpu().record(cost.cpuNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  private Meters meters(String endpoint, String outcome) {
+    Map<String, Meters> byOutcome = meters.get(endpoint);
+    if (byOutcome == null) {
+      byOutcome = meters.computeIfAbsent(endpoint, ignored -> new ConcurrentHashMap<>());
+    }
+    Meters found = byOutcome.get(outcome);
+    return found != null
+        ? found
+        : byOutcome.computeIfAbsent(outcome, ignored -> register(endpoint, outcome));
+  }
+
+  private Meters register(String endpoint, String outcome) {
+    return new Meters(
+        DistributionSummary.builder(ALLOCATION_METRIC)
+            .description("Heap bytes allocated per request, across all threads that served it")
+            .baseUnit("bytes")
+            .tag("endpoint", endpoint)
+            .tag("outcome", outcome)
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry),
+        Timer.builder(CPU_METRIC)
+            .description("CPU time per request, across all threads that served it")
+            .tag("endpoint", endpoint)
+            .tag("outcome", outcome)
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry));
+  }
+
+  private static String outcomeOf(RequestCost cost, int status) {
+    if (status >= 500) {
+      return "server_error";
+    }
+    if (status >= 400) {
+      return "client_error";
+    }
+    if (PROCESS_ENDPOINT.equals(cost.endpoint()) && cost.paymentStatus() != null) {
+      return PAYMENT_OUTCOMES.get(cost.paymentStatus());
+    }
+    return "success";
+  }
+
+  private static String endpointOf(HttpServletRequest request) {
+    String uri = request.getRequestURI();
+    if ("POST".equals(request.getMethod()) && "/payments".equals(uri)) {
+      return PROCESS_ENDPOINT;
+    }
+    if ("GET".equals(request.getMethod()) && uri.startsWith("/payment/")) {
+      return LOOKUP_ENDPOINT;
+    }
+    return null;
+  }
+
+  private record Meters(DistributionSummary allocation, Timer cpu) {}
+}
@@ -0,0 +1,41 @@
+package com.checkout.payment.gateway.cost;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * The JVM's per-thread counters of heap bytes allocated and CPU time used, for the current thread.
+ * Both are cumulative over the thread's life, so a cost is the difference of two readings taken on
+ * the same thread. Either reads 0 when the JVM does not support or has disabled it.
+ */
+public final class ThreadCosts {
+
+  private static final com.sun.management.ThreadMXBean THREADS = threads();
+  private static final boolean ALLOCATION_SUPPORTED =
+      THREADS != null
+          && THREADS.isThreadAllocatedMemorySupported()
+          && THREADS.isThreadAllocatedMemoryEnabled();
+  private static final boolean CPU_TIME_SUPPORTED =
+      THREADS != null
+          && THREADS.isCurrentThreadCpuTimeSupported()
+          && THREADS.isThreadCpuTimeEnabled();
+
+  private ThreadCosts() {}
+
+  public static boolean isSupported() {
+    return ALLOCATION_SUPPORTED && CPU_TIME_SUPPORTED;
+  }
+
+  public static long allocatedBytes() {
+    return ALLOCATION_SUPPORTED ? THREADS.getCurrentThreadAllocatedBytes() : 0;
+  }
+
+  public static long cpuNanos() {
+    return CPU_TIME_SUPPORTED ? THREADS.getCurrentThreadCpuTime() : 0;
+  }
+
+  private static com.sun.management.ThreadMXBean threads() {
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    return threads instanceof com.sun.management.ThreadMXBean extended ? extended : null;
+  }
+}
@@ -0,0 +1,153 @@
+package com.checkout.payment.gateway.currency;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable set of the ISO 4217 currencies the gateway accepts, with the number of minor units
+ * each amount is given in (2 for GBP, 0 for JPY, 3 for KWD). Currencies are numbered 0 to {@code
+ * size() - 1} in file order so that other tables can keep per-currency data in plain arrays, and
+ * {@link #indexOf} finds that number by direct lookup on the three letters, without allocating.
+ *
+ * <p>The source format is CSV with a header row: {@code code,minor_units}, e.g. {@code JPY,0}.
+ */
+public final class CurrencyRegistry {
+
+  public static final int UNKNOWN = -1;
+
+  static final String STANDARD_RESOURCE = "/currencies.csv";
+
+  private static final int LETTERS = 26;
+
+  private final String[] codes;
+  private final int[] minorUnits;
+  // One slot per possible three-letter code, holding its index or UNKNOWN
+  private final short[] indexByCode;
+
+  private CurrencyRegistry(String[] codes, int[] minorUnits, short[] indexByCode) {
+    this.codes = codes;
+    this.minorUnits = minorUnits;
+    this.indexByCode = indexByCode;
+  }
+
+  /** The currencies shipped in {@code currencies.csv}, loaded once. */
+  public static CurrencyRegistry standard() {
+    return Standard.REGISTRY;
+  }
+
+  /** Index of the currency, or {@link #UNKNOWN} if it is not registered. */
+  public int indexOf(CharSequence code) {
+    int key = keyOf(code);
+    return key < 0 ? UNKNOWN : indexByCode[key];
+  }
+
+  public boolean contains(CharSequence code) {
+    return indexOf(code) != UNKNOWN;
+  }
+
+  public String code(int index) {
+    return codes[index];
+  }
+
+  public int minorUnits(int index) {
+    return minorUnits[index];
+  }
+
+  public int size() {
+    return codes.length;
+  }
+
+  public static CurrencyRegistry load(Reader source) throws IOException {
+    List<String> codes = new ArrayList<>();
+    List<Integer> minorUnits = new ArrayList<>();
+    short[] indexByCode = new short[LETTERS * LETTERS * LETTERS];
+    Arrays.fill(indexByCode, (short) UNKNOWN);
+
+    BufferedReader reader = new BufferedReader(source);
+    reader.readLine(); // header
+    String line;
+    int lineNumber = 1;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      if (line.isBlank() || line.startsWith("#")) {
+        continue;
+      }
+      String[] columns = line.split(",", -1);
+      if (columns.length != 2) {
+        throw new IllegalArgumentException(
+            "Currency table line " + lineNumber + " must have 2 columns: " + line);
+      }
+      String code = columns[0].trim();
+      int key = keyOf(code);
+      if (key < 0) {
+        throw new IllegalArgumentException(
+            "Currency table line " + lineNumber + " has an invalid code: " + code);
+      }
+      if (indexByCode[key] != UNKNOWN) {
+        throw new IllegalArgumentException(
+            "Currency table line " + lineNumber + " repeats " + code);
+      }
+      indexByCode[key] = (short) codes.size();
+      codes.add(code);
+      minorUnits.add(parseMinorUnits(columns[1].trim(), lineNumber));
+    }
+    return new CurrencyRegistry(
+        codes.toArray(String[]::new),
+        minorUnits.stream().mapToInt(Integer::intValue).toArray(),
+        indexByCode);
+  }
+
+  /** The three upper-case letters as a number below 26^3, or -1 for anything else. */
+  private static int keyOf(CharSequence code) {
+    if (code == null || code.length() != 3) {
+      return -1;
+    }
+    int key = 0;
+    for (int i = 0; i < 3; i++) {
+      int letter = code.charAt(i) - 'A';
+      if (letter < 0 || letter >= LETTERS) {
+        return -1;
+      }
+      key = key * LETTERS + letter;
+    }
+    return key;
+  }
+
+  private static int parseMinorUnits(String value, int lineNumber) {
+    try {
+      int minorUnits = Integer.parseInt(value);
+      if (minorUnits >= 0 && minorUnits <= 4) {
+        return minorUnits;
+      }
+    } catch (NumberFormatException e) {
+      // reported below
+    }
+    throw new IllegalArgumentException(
+        "Currency table line " + lineNumber + " has invalid minor units: " + value);
+  }
+
+  private static final class Standard {
+
+    static final CurrencyRegistry REGISTRY = loadStandard();
+
+    private static CurrencyRegistry loadStandard() {
+      InputStream source = CurrencyRegistry.class.getResourceAsStream(STANDARD_RESOURCE);
+      if (source == null) {
+        throw new IllegalStateException(STANDARD_RESOURCE + " is missing from the classpath");
+      }
+      try (Reader reader = new InputStreamReader(source, StandardCharsets.UTF_8)) {
+        return load(reader);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Could not read " + STANDARD_RESOURCE, e);
+      }
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package com.checkout.payment.gateway.currency;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Converts payment amounts into the acquirer's settlement currency using the current {@link
+ * FxRateTable}, and reloads the table when the rates file changes. Like the BIN table, a reload
+ * builds a complete new table off to the side and publishes it with a single volatile write, so
+ * conversions never wait and never mix rates from two files.
+ */
+@Service
+public class FxRateService {
+
+  private static final Logger LOG = LoggerFactory.getLogger(FxRateService.class);
+
+  private final Resource ratesResource;
+  private final CurrencyRegistry currencyRegistry;
+  private volatile FxRateTable table;
+  private long loadedLastModified = -1L;
+
+  public FxRateService(
+      ResourceLoader resourceLoader,
+      @Value("${gateway.fx.rates-location}") String location,
+      @Value("${gateway.fx.settlement-currency}") String settlementCurrency) {
+    this.ratesResource = resourceLoader.getResource(location);
+    this.currencyRegistry = CurrencyRegistry.standard();
+    this.table = FxRateTable.identity(currencyRegistry, settlementCurrency);
+    reloadIfModified();
+  }
+
+  public String settlementCurrency() {
+    return table.settlementCurrency();
+  }
+
+  /**
+   * The amount in settlement minor units, or {@link FxRateTable#NO_RATE} if the currency cannot
+   * be converted.
+   */
+  public long toSettlement(CharSequence currency, int amount) {
+    return table.toSettlement(currency, amount);
+  }
+
+  @Scheduled(
+      initialDelayString = "${gateway.fx.refresh-interval}",
+      fixedDelayString = "${gateway.fx.refresh-interval}")
+  public synchronized void reloadIfModified() {
+    if (!ratesResource.exists()) {
+      LOG.warn(
+          "FX rate table {} not found, only {} payments can be processed",
+          ratesResource,
+          settlementCurrency());
+      return;
+    }
+
+    try {
+      long lastModified = ratesResource.lastModified();
+      if (lastModified == loadedLastModified) {
+        return;
+      }
+
+      FxRateTable loaded;
+      try (Reader reader =
+          new InputStreamReader(ratesResource.getInputStream(), StandardCharsets.UTF_8)) {
+        loaded = FxRateTable.load(reader, currencyRegistry, settlementCurrency());
+      }
+      table = loaded;
+      loadedLastModified = lastModified;
+      LOG.info(
+          "Loaded FX rates from {} for {} of {} currencies, settling in {}",
+          ratesResource,
+          loaded.size(),
+          currencyRegistry.size(),
+          loaded.settlementCurrency());
+    } catch (IOException | IllegalArgumentException e) {
+      LOG.error("Failed to load FX rates from {}, keeping the current rates", ratesResource, e);
+    }
+  }
+}
@@ -0,0 +1,171 @@
+package com.checkout.payment.gateway.currency;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * Immutable conversion factors from the registered currencies into one settlement currency,
+ * indexed by {@link CurrencyRegistry} index.
+ *
+ * <p>Each rate is turned at load time into a factor from minor units to settlement minor units,
+ * so differences in minor units (JPY has none, KWD has three) are already folded in. The factor is
+ * held as fixed point: a whole part and a fractional part in billionths. Converting is then two
+ * long multiplications and a division, with no allocation and nothing to lock. Splitting the
+ * factor keeps both products of an {@code int} amount within a long. Results are rounded half up;
+ * holding the factor to a billionth costs at most about one minor unit on the largest amounts.
+ *
+ * <p>The source format is CSV with a header row: {@code currency,rate}, where rate is how much of
+ * the settlement currency one unit of the currency buys, e.g. {@code USD,0.79} when settling in
+ * GBP. Currencies without a row cannot be converted.
+ */
+public final class FxRateTable {
+
+  public static final long NO_RATE = -1L;
+
+  static final long FRACTION_SCALE = 1_000_000_000L;
+
+  // Keeps amount * whole below 2^62 for any int amount
+  private static final long MAX_WHOLE_FACTOR = Integer.MAX_VALUE;
+
+  private final CurrencyRegistry registry;
+  private final String settlementCurrency;
+  private final long[] wholeFactors;
+  private final long[] fractionFactors;
+  private final int rates;
+
+  private FxRateTable(
+      CurrencyRegistry registry,
+      String settlementCurrency,
+      long[] wholeFactors,
+      long[] fractionFactors,
+      int rates) {
+    this.registry = registry;
+    this.settlementCurrency = settlementCurrency;
+    this.wholeFactors = wholeFactors;
+    this.fractionFactors = fractionFactors;
+    this.rates = rates;
+  }
+
+  /**
+   * Converts {@code amount} minor units of {@code currency} into settlement minor units, or
+   * returns {@link #NO_RATE} if the currency is unknown, has no rate or the amount is negative.
+   */
+  public long toSettlement(CharSequence currency, int amount) {
+    int index = registry.indexOf(currency);
+    if (index == CurrencyRegistry.UNKNOWN || wholeFactors[index] == NO_RATE || amount < 0) {
+      return NO_RATE;
+    }
+    return amount * wholeFactors[index]
+        + (amount * fractionFactors[index] + FRACTION_SCALE / 2) / FRACTION_SCALE;
+  }
+
+  public boolean hasRate(CharSequence currency) {
+    int index = registry.indexOf(currency);
+    return index != CurrencyRegistry.UNKNOWN && wholeFactors[index] != NO_RATE;
+  }
+
+  public String settlementCurrency() {
+    return settlementCurrency;
+  }
+
+  /** Number of currencies that can be converted, the settlement currency included. */
+  public int size() {
+    return rates;
+  }
+
+  /** A table that only knows the settlement currency itself. */
+  public static FxRateTable identity(CurrencyRegistry registry, String settlementCurrency) {
+    int settlementIndex = settlementIndex(registry, settlementCurrency);
+    long[] wholeFactors = new long[registry.size()];
+    Arrays.fill(wholeFactors, NO_RATE);
+    wholeFactors[settlementIndex] = 1;
+    return new FxRateTable(
+        registry, settlementCurrency, wholeFactors, new long[registry.size()], 1);
+  }
+
+  public static FxRateTable load(
+      Reader source, CurrencyRegistry registry, String settlementCurrency) throws IOException {
+    int settlementIndex = settlementIndex(registry, settlementCurrency);
+    int settlementMinorUnits = registry.minorUnits(settlementIndex);
+    long[] wholeFactors = new long[registry.size()];
+    long[] fractionFactors = new long[registry.size()];
+    Arrays.fill(wholeFactors, NO_RATE);
+    wholeFactors[settlementIndex] = 1;
+    int rates = 1;
+
+    BufferedReader reader = new BufferedReader(source);
+    reader.readLine(); // header
+    String line;
+    int lineNumber = 1;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      if (line.isBlank() || line.startsWith("#")) {
+        continue;
+      }
+      String[] columns = line.split(",", -1);
+      if (columns.length != 2) {
+        throw new IllegalArgumentException(
+            "FX rate table line " + lineNumber + " must have 2 columns: " + line);
+      }
+      String currency = columns[0].trim();
+      int index = registry.indexOf(currency);
+      if (index == CurrencyRegistry.UNKNOWN) {
+        throw new IllegalArgumentException(
+            "FX rate table line " + lineNumber + " has an unregistered currency: " + currency);
+      }
+      BigDecimal rate = parseRate(columns[1].trim(), lineNumber);
+      if (index == settlementIndex) {
+        if (rate.compareTo(BigDecimal.ONE) != 0) {
+          throw new IllegalArgumentException(
+              "FX rate table line "
+                  + lineNumber
+                  + " gives the settlement currency a rate other than 1");
+        }
+        continue;
+      }
+      if (wholeFactors[index] != NO_RATE) {
+        throw new IllegalArgumentException(
+            "FX rate table line " + lineNumber + " repeats " + currency);
+      }
+
+      BigDecimal factor = rate.movePointRight(settlementMinorUnits - registry.minorUnits(index));
+      BigDecimal whole = factor.setScale(0, RoundingMode.DOWN);
+      if (whole.compareTo(BigDecimal.valueOf(MAX_WHOLE_FACTOR)) > 0) {
+        throw new IllegalArgumentException(
+            "FX rate table line " + lineNumber + " has a rate too large to convert: " + rate);
+      }
+      long fraction =
+          factor.subtract(whole).movePointRight(9).setScale(0, RoundingMode.HALF_EVEN).longValue();
+      wholeFactors[index] = whole.longValue() + fraction / FRACTION_SCALE;
+      fractionFactors[index] = fraction % FRACTION_SCALE;
+      rates++;
+    }
+    return new FxRateTable(registry, settlementCurrency, wholeFactors, fractionFactors, rates);
+  }
+
+  private static int settlementIndex(CurrencyRegistry registry, String settlementCurrency) {
+    int index = registry.indexOf(settlementCurrency);
+    if (index == CurrencyRegistry.UNKNOWN) {
+      throw new IllegalArgumentException(
+          "Settlement currency " + settlementCurrency + " is not a registered currency");
+    }
+    return index;
+  }
+
+  private static BigDecimal parseRate(String value, int lineNumber) {
+    try {
+      BigDecimal rate = new BigDecimal(value);
+      if (rate.signum() > 0) {
+        return rate;
+      }
+    } catch (NumberFormatException e) {
+      // reported below
+    }
+    throw new IllegalArgumentException(
+        "FX rate table line " + lineNumber + " has an invalid rate: " + value);
+  }
+}
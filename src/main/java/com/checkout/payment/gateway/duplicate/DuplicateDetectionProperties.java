@@ -0,0 +1,32 @@
+package com.checkout.payment.gateway.duplicate;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "gateway.duplicate-detection")
+public record DuplicateDetectionProperties(
+    @DefaultValue("flag") Mode mode,
+    @DefaultValue("10s") Duration window,
+    @DefaultValue("5") int buckets,
+    @DefaultValue("1048576") int bitsPerBucket,
+    @DefaultValue("4") int hashFunctions) {
+
+  public DuplicateDetectionProperties {
+    if (buckets < 1 || hashFunctions < 1 || window.toMillis() < buckets) {
+      throw new IllegalStateException("Duplicate detection needs a window, bucket count and hash count");
+    }
+    if (Integer.bitCount(bitsPerBucket) != 1 || bitsPerBucket < Long.SIZE) {
+      throw new IllegalStateException("Duplicate detection bits per bucket must be a power of two");
+    }
+  }
+
+  public enum Mode {
+    /** No detection. */
+    OFF,
+    /** Log and count suspected duplicates but still send them to the bank. */
+    FLAG,
+    /** Refuse suspected duplicates before the bank call. */
+    REJECT
+  }
+}
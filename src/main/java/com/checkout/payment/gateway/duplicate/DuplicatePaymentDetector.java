@@ -0,0 +1,180 @@
+package com.checkout.payment.gateway.duplicate;
+
+import com.checkout.payment.gateway.duplicate.DuplicateDetectionProperties.Mode;
+import com.checkout.payment.gateway.exception.DuplicatePaymentException;
+import com.checkout.payment.gateway.model.PostPaymentRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Catches accidental double submissions: the same card, amount, currency and merchant seen again
+ * within the configured window.
+ *
+ * <p>Payments are fingerprinted into a ring of Bloom filters, one per time slice of the window.
+ * Each check sets the fingerprint's bits in the current slice and probes the older slices still
+ * inside the window, so the cost per payment is constant and memory is fixed at {@code (buckets +
+ * 1) * bitsPerBucket} bits regardless of volume. When the ring wraps, the expired slice is cleared
+ * in place. Card numbers are only ever hashed, never stored.
+ *
+ * <p>Like any Bloom filter this can report false positives (tuned by the bucket size) and, while a
+ * slice is being cleared, may miss a concurrent duplicate. Fingerprints are recorded before the
+ * bank is called, so a retry after a bank error within the window is also treated as a duplicate;
+ * the bank may have processed the original.
+ */
+@Component
+public class DuplicatePaymentDetector {
+
+  private static final Logger LOG = LoggerFactory.getLogger(DuplicatePaymentDetector.class);
+
+  static final String SUSPECTED_METRIC = "gateway.duplicates.suspected";
+
+  private static final long SEED_1 = 0x9E3779B97F4A7C15L;
+  private static final long SEED_2 = 0xC2B2AE3D27D4EB4FL;
+
+  private final Mode mode;
+  private final long sliceMillis;
+  private final int lookbackSlices;
+  private final int hashFunctions;
+  private final int bitMask;
+  private final Slice[] ring;
+  private final LongSupplier clock;
+  private final Counter suspectedCounter;
+
+  @Autowired
+  public DuplicatePaymentDetector(
+      DuplicateDetectionProperties properties, MeterRegistry meterRegistry) {
+    this(properties, meterRegistry, System::currentTimeMillis);
+  }
+
+  DuplicatePaymentDetector(
+      DuplicateDetectionProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+    this.mode = properties.mode();
+    this.sliceMillis = properties.window().toMillis() / properties.buckets();
+    this.lookbackSlices = properties.buckets();
+    this.hashFunctions = properties.hashFunctions();
+    this.bitMask = properties.bitsPerBucket() - 1;
+    this.clock = clock;
+    this.suspectedCounter =
+        Counter.builder(SUSPECTED_METRIC)
+            .description("Payments suspected of being accidental duplicates")
+            .tag("mode", mode.name().toLowerCase())
+            .register(meterRegistry);
+
+    int slices = mode == Mode.OFF ? 0 : lookbackSlices + 1;
+    this.ring = new Slice[slices];
+    for (int i = 0; i < slices; i++) {
+      ring[i] = new Slice(properties.bitsPerBucket() / Long.SIZE);
+    }
+  }
+
+  /**
+   * Records the payment and, if it looks like a duplicate, flags it or throws {@link
+   * DuplicatePaymentException} depending on the configured mode.
+   */
+  public void screen(String merchantId, PostPaymentRequest request) {
+    if (mode == Mode.OFF || !checkAndRecord(merchantId, request)) {
+      return;
+    }
+
+    suspectedCounter.increment();
+    if (mode == Mode.REJECT) {
+      throw new DuplicatePaymentException(merchantId);
+    }
+    LOG.warn("Suspected duplicate payment from merchant {}", merchantId);
+  }
+
+  /** Returns {@code true} if the same payment was probably seen within the window. */
+  boolean checkAndRecord(String merchantId, PostPaymentRequest request) {
+    long hash1 = fingerprint(SEED_1, merchantId, request);
+    long hash2 = fingerprint(SEED_2, merchantId, request);
+
+    long epoch = clock.getAsLong() / sliceMillis;
+    boolean seen = currentSlice(epoch).addAndCheck(hash1, hash2);
+    for (int age = 1; age <= lookbackSlices && !seen; age++) {
+      Slice slice = ring[(int) ((epoch - age) % ring.length)];
+      seen = slice.epoch.get() == epoch - age && slice.mightContain(hash1, hash2);
+    }
+    return seen;
+  }
+
+  private Slice currentSlice(long epoch) {
+    Slice slice = ring[(int) (epoch % ring.length)];
+    long sliceEpoch = slice.epoch.get();
+    if (sliceEpoch < epoch && slice.epoch.compareAndSet(sliceEpoch, epoch)) {
+      slice.clear();
+    }
+    return slice;
+  }
+
+  private static long fingerprint(long seed, String merchantId, PostPaymentRequest request) {
+    long hash = mix(seed, request.getCardNumber());
+    hash = (hash ^ request.getAmount()) * 0x100000001B3L;
+    hash = mix(hash, request.getCurrency());
+    hash = mix(hash, merchantId);
+    // fmix64 finaliser from MurmurHash3 to spread the FNV-1a state across all bits
+    hash ^= hash >>> 33;
+    hash *= 0xFF51AFD7ED558CCDL;
+    hash ^= hash >>> 33;
+    hash *= 0xC4CEB9FE1A85EC53L;
+    return hash ^ (hash >>> 33);
+  }
+
+  private static long mix(long hash, String value) {
+    for (int i = 0; i < value.length(); i++) {
+      hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+    }
+    return (hash ^ 0xFF) * 0x100000001B3L;
+  }
+
+  private final class Slice {
+
+    private final AtomicLong epoch = new AtomicLong(-1L);
+    private final AtomicLongArray bits;
+
+    private Slice(int words) {
+      this.bits = new AtomicLongArray(words);
+    }
+
+    /** Sets the fingerprint's bits, returning whether they were all already set. */
+    boolean addAndCheck(long hash1, long hash2) {
+      boolean allSet = true;
+      for (int i = 0; i < hashFunctions; i++) {
+        int bit = bitIndex(hash1, hash2, i);
+        long mask = 1L << bit;
+        int word = bit >>> 6;
+        if ((bits.get(word) & mask) == 0) {
+          allSet &= (bits.getAndAccumulate(word, mask, (current, m) -> current | m) & mask) != 0;
+        }
+      }
+      return allSet;
+    }
+
+    boolean mightContain(long hash1, long hash2) {
+      for (int i = 0; i < hashFunctions; i++) {
+        int bit = bitIndex(hash1, hash2, i);
+        if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    void clear() {
+      for (int i = 0; i < bits.length(); i++) {
+        bits.set(i, 0L);
+      }
+    }
+
+    /** Kirsch-Mitzenmacher double hashing: the i-th probe is {@code hash1 + i * hash2}. */
+    private int bitIndex(long hash1, long hash2, int i) {
+      return (int) (hash1 + i * hash2) & bitMask;
+    }
+  }
+}
@@ -2,10 +2,14 @@ package com.checkout.payment.gateway.exception;
 
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 
+import com.checkout.payment.gateway.enums.PaymentStatus;
 import com.checkout.payment.gateway.model.ErrorResponse;
+import com.checkout.payment.gateway.model.PostPaymentRequest;
+import com.checkout.payment.gateway.statistics.PaymentStatistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -17,6 +21,12 @@ public class CommonExceptionHandler {
 
   private static final Logger LOG = LoggerFactory.getLogger(CommonExceptionHandler.class);
 
+  private final PaymentStatistics paymentStatistics;
+
+  public CommonExceptionHandler(PaymentStatistics paymentStatistics) {
+    this.paymentStatistics = paymentStatistics;
+  }
+
   @ExceptionHandler(EventProcessingException.class)
   public ResponseEntity<ErrorResponse> handleException(EventProcessingException ex) {
     LOG.error("Exception happened", ex);
@@ -28,6 +38,13 @@ public class CommonExceptionHandler {
       MethodArgumentNotValidException ex) {
     LOG.error("Validation failed", ex);
 
+    if (ex.getTarget() instanceof PostPaymentRequest request) {
+      paymentStatistics.record(
+          PaymentStatus.REJECTED,
+          request.getCurrency(),
+          request.getAmount() == null ? 0 : request.getAmount());
+    }
+
     String errorMessage =
         ex.getBindingResult().getFieldErrors().stream()
             .findFirst()
@@ -42,6 +59,45 @@ public class CommonExceptionHandler {
     return new ResponseEntity<>(new ErrorResponse(errorMessage), HttpStatus.BAD_REQUEST);
   }
 
+  @ExceptionHandler(RateLimitExceededException.class)
+  public ResponseEntity<ErrorResponse> handleRateLimitExceeded(RateLimitExceededException ex) {
+    LOG.warn(ex.getMessage());
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(new ErrorResponse("Too many requests"));
+  }
+
+  @ExceptionHandler(DuplicatePaymentException.class)
+  public ResponseEntity<ErrorResponse> handleDuplicatePayment(DuplicatePaymentException ex) {
+    LOG.warn(ex.getMessage());
+    return new ResponseEntity<>(
+        new ErrorResponse("Duplicate payment suspected, please retry later"), HttpStatus.CONFLICT);
+  }
+
+  @ExceptionHandler(CurrencyConversionException.class)
+  public ResponseEntity<ErrorResponse> handleCurrencyConversion(CurrencyConversionException ex) {
+    LOG.warn(ex.getMessage());
+    return new ResponseEntity<>(
+        new ErrorResponse("Amount cannot be converted to the settlement currency"),
+        HttpStatus.UNPROCESSABLE_ENTITY);
+  }
+
+  @ExceptionHandler(LaneSaturatedException.class)
+  public ResponseEntity<ErrorResponse> handleLaneSaturated(LaneSaturatedException ex) {
+    LOG.warn(ex.getMessage());
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(new ErrorResponse("Service busy, please retry later"));
+  }
+
+  @ExceptionHandler(UnidentifiedMerchantException.class)
+  public ResponseEntity<ErrorResponse> handleUnidentifiedMerchant(
+      UnidentifiedMerchantException ex) {
+    LOG.warn(ex.getMessage());
+    return new ResponseEntity<>(
+        new ErrorResponse("A valid API key is required"), HttpStatus.UNAUTHORIZED);
+  }
+
   @ExceptionHandler(Exception.class)
   public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
     LOG.error("An unexpected error occurred", ex);
@@ -0,0 +1,11 @@
+package com.checkout.payment.gateway.exception;
+
+public class CurrencyConversionException extends RuntimeException {
+  public CurrencyConversionException(int amount, String currency, String settlementCurrency) {
+    super(
+        "Cannot convert " + amount + " " + currency + " into " + settlementCurrency,
+        null,
+        false,
+        false);
+  }
+}
@@ -0,0 +1,8 @@
+package com.checkout.payment.gateway.exception;
+
+public class LaneSaturatedException extends RuntimeException {
+  public LaneSaturatedException(String lane) {
+    // Expected under overload, so skip the stack trace to keep rejections cheap
+    super("Executor lane '" + lane + "' is saturated", null, false, false);
+  }
+}
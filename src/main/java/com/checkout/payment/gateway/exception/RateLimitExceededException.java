@@ -0,0 +1,18 @@
+package com.checkout.payment.gateway.exception;
+
+import java.util.concurrent.TimeUnit;
+
+public class RateLimitExceededException extends RuntimeException {
+
+  private final long retryAfterNanos;
+
+  public RateLimitExceededException(String merchantId, long retryAfterNanos) {
+    // Rejections are expected under load, so skip the stack trace to keep them cheap
+    super("Rate limit exceeded for merchant " + merchantId, null, false, false);
+    this.retryAfterNanos = retryAfterNanos;
+  }
+
+  public long getRetryAfterSeconds() {
+    return Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999L));
+  }
+}
@@ -0,0 +1,7 @@
+package com.checkout.payment.gateway.exception;
+
+public class UnidentifiedMerchantException extends RuntimeException {
+  public UnidentifiedMerchantException() {
+    super("Request requires an identified merchant", null, false, false);
+  }
+}
@@ -0,0 +1,5 @@
+package com.checkout.payment.gateway.export;
+
+import java.time.Instant;
+
+public record ExportDescriptor(String name, long sizeBytes, Instant createdAt) {}
@@ -0,0 +1,37 @@
+package com.checkout.payment.gateway.export;
+
+import com.checkout.payment.gateway.enums.PaymentStatus;
+import com.checkout.payment.gateway.model.PaymentResponse;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Selects the merchant's payments created in {@code [from, to)} with one of the given statuses. A
+ * null merchant or bound and an empty status set match everything.
+ */
+public record ExportFilter(
+    String merchantId, Instant from, Instant to, Set<PaymentStatus> statuses) {
+
+  public static final ExportFilter ALL = new ExportFilter(null, null, null, Set.of());
+
+  public ExportFilter {
+    statuses = statuses == null ? Set.of() : Set.copyOf(statuses);
+  }
+
+  public boolean matches(PaymentResponse payment) {
+    if (merchantId != null && !merchantId.equals(payment.getMerchantId())) {
+      return false;
+    }
+    if (!statuses.isEmpty() && !statuses.contains(payment.getStatus())) {
+      return false;
+    }
+    if (from == null && to == null) {
+      return true;
+    }
+
+    Instant createdAt = payment.getCreatedAt();
+    return createdAt != null
+        && (from == null || !createdAt.isBefore(from))
+        && (to == null || createdAt.isBefore(to));
+  }
+}
@@ -0,0 +1,22 @@
+package com.checkout.payment.gateway.export;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Reconciliation exports. {@code timeout} bounds one {@code GET /payments/export} response, which
+ * can take far longer than a normal request; {@code directory} receives the files written through
+ * the {@code exports} actuator endpoint.
+ */
+@ConfigurationProperties(prefix = "gateway.export")
+public record ExportProperties(
+    @DefaultValue("PT1H") Duration timeout, @DefaultValue("exports") Path directory) {
+
+  public ExportProperties {
+    if (timeout.isNegative() || timeout.isZero()) {
+      throw new IllegalStateException("Export timeout must be positive but was " + timeout);
+    }
+  }
+}
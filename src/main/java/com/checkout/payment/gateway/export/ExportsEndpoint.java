@@ -0,0 +1,169 @@
+package com.checkout.payment.gateway.export;
+
+import com.checkout.payment.gateway.enums.PaymentStatus;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/exports}: writes a reconciliation export of every merchant's payments, live and
+ * archived, to {@code gateway.export.directory} on POST, lists the files written and downloads one
+ * by name ({@code /actuator/exports/{name}}). The export runs inside the serving instance, so it
+ * sees exactly what {@code GET /payment/{id}} sees. Options are all optional: {@code format}
+ * ({@code CSV} or {@code NDJSON}), {@code from} and {@code to} as ISO-8601 instants, {@code status}
+ * as a comma-separated list, {@code merchant} and {@code gzip}.
+ */
+@Component
+@WebEndpoint(id = "exports")
+public class ExportsEndpoint {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ExportsEndpoint.class);
+
+  private static final DateTimeFormatter FILE_TIMESTAMP =
+      DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS'Z'").withZone(ZoneOffset.UTC);
+  private static final Pattern EXPORT_NAME =
+      Pattern.compile("payments-\\d{8}T\\d{9}Z\\.(csv|ndjson)(\\.gz)?");
+  private static final String TEMP_SUFFIX = ".tmp";
+
+  private final PaymentExportService paymentExportService;
+  private final Path directory;
+
+  public ExportsEndpoint(PaymentExportService paymentExportService, ExportProperties properties) {
+    this.paymentExportService = paymentExportService;
+    this.directory = properties.directory();
+  }
+
+  @ReadOperation
+  public List<ExportDescriptor> exports() {
+    if (!Files.isDirectory(directory)) {
+      return List.of();
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(file -> EXPORT_NAME.matcher(file.getFileName().toString()).matches())
+          .sorted()
+          .map(ExportsEndpoint::describe)
+          .toList();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** The export file, or 404 when there is no export of that name. */
+  @ReadOperation
+  public Resource download(@Selector String name) {
+    if (!EXPORT_NAME.matcher(name).matches()) {
+      return null;
+    }
+    Path file = directory.resolve(name);
+    return Files.isRegularFile(file) ? new FileSystemResource(file) : null;
+  }
+
+  /** Writes the export under a temporary name and renames it once complete. */
+  @WriteOperation
+  public ExportDescriptor write(
+      @Nullable String format,
+      @Nullable String from,
+      @Nullable String to,
+      @Nullable String status,
+      @Nullable String merchant,
+      @Nullable Boolean gzip)
+      throws IOException {
+    ExportFormat exportFormat = format(format);
+    boolean compress = Boolean.TRUE.equals(gzip);
+    ExportFilter filter = new ExportFilter(merchant, instant(from), instant(to), statuses(status));
+    String name =
+        "payments-"
+            + FILE_TIMESTAMP.format(Instant.now())
+            + "."
+            + exportFormat.getFileExtension()
+            + (compress ? ".gz" : "");
+
+    Files.createDirectories(directory);
+    Path temp = directory.resolve(name + TEMP_SUFFIX);
+    long count;
+    try (FileChannel channel =
+        FileChannel.open(
+            temp,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      count = paymentExportService.export(filter, exportFormat, compress, channel);
+      channel.force(true);
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(temp);
+      throw e;
+    }
+    Path file = Files.move(temp, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+    LOG.info("Wrote {} payments to {}", count, file);
+    return describe(file);
+  }
+
+  private static ExportFormat format(String value) {
+    if (value == null) {
+      return ExportFormat.CSV;
+    }
+    try {
+      return ExportFormat.valueOf(value.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new InvalidEndpointRequestException("Unknown export format", "Unknown format " + value);
+    }
+  }
+
+  private static Instant instant(String value) {
+    try {
+      return value == null ? null : Instant.parse(value);
+    } catch (DateTimeParseException e) {
+      throw new InvalidEndpointRequestException("Invalid instant", "Invalid instant " + value);
+    }
+  }
+
+  private static Set<PaymentStatus> statuses(String value) {
+    if (value == null) {
+      return Set.of();
+    }
+    try {
+      return Arrays.stream(value.split(","))
+          .map(status -> PaymentStatus.valueOf(status.trim().toUpperCase()))
+          .collect(Collectors.toSet());
+    } catch (IllegalArgumentException e) {
+      throw new InvalidEndpointRequestException("Unknown status", "Unknown status in " + value);
+    }
+  }
+
+  private static ExportDescriptor describe(Path file) {
+    try {
+      return new ExportDescriptor(
+          file.getFileName().toString(),
+          Files.size(file),
+          Files.getLastModifiedTime(file).toInstant());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package com.checkout.payment.gateway.export;
+
+import com.checkout.payment.gateway.model.PaymentResponse;
+import com.checkout.payment.gateway.repository.PaymentsRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Streams stored payments as CSV or NDJSON into a channel. Records are encoded one at a time into a
+ * fixed-size buffer that is drained to the channel whenever it fills, so memory stays flat however
+ * many payments are exported.
+ */
+@Service
+public class PaymentExportService {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PaymentExportService.class);
+
+  static final int BUFFER_SIZE = 64 * 1024;
+  static final String CSV_HEADER =
+      "id,created_at,status,card_number_last_four,expiry_month,expiry_year,currency,amount,"
+          + "card_scheme,issuing_country,card_type\n";
+
+  private final PaymentsRepository paymentsRepository;
+  private final ObjectWriter jsonWriter;
+
+  public PaymentExportService(PaymentsRepository paymentsRepository, ObjectMapper objectMapper) {
+    this.paymentsRepository = paymentsRepository;
+    this.jsonWriter = objectMapper.writerFor(PaymentResponse.class);
+  }
+
+  /**
+   * Writes every payment matching {@code filter} to {@code output}, optionally gzip-compressed.
+   * The channel is not closed.
+   *
+   * @return the number of payments written
+   */
+  public long export(
+      ExportFilter filter, ExportFormat format, boolean gzip, WritableByteChannel output)
+      throws IOException {
+    GZIPOutputStream gzipStream = null;
+    WritableByteChannel channel = output;
+    if (gzip) {
+      gzipStream = new GZIPOutputStream(Channels.newOutputStream(output), BUFFER_SIZE);
+      channel = Channels.newChannel(gzipStream);
+    }
+
+    RecordWriter writer = new RecordWriter(channel);
+    if (format == ExportFormat.CSV) {
+      writer.write(CSV_HEADER);
+    }
+
+    long count = 0;
+    Iterator<PaymentResponse> payments = paymentsRepository.stream().iterator();
+    while (payments.hasNext()) {
+      PaymentResponse payment = payments.next();
+      if (filter.matches(payment)) {
+        writer.write(
+            format == ExportFormat.CSV ? toCsv(payment, writer.line()) : toNdjson(payment));
+        count++;
+      }
+    }
+    writer.flush();
+    if (gzipStream != null) {
+      gzipStream.finish();
+    }
+
+    LOG.info("Exported {} payments as {}", count, format);
+    return count;
+  }
+
+  private static CharSequence toCsv(PaymentResponse payment, StringBuilder line) {
+    line.append(payment.getId()).append(',');
+    appendNullable(line, payment.getCreatedAt()).append(',');
+    line.append(payment.getStatus() == null ? "" : payment.getStatus().getName()).append(',');
+    appendNullable(line, payment.getCardNumberLastFour()).append(',');
+    line.append(payment.getExpiryMonth()).append(',');
+    line.append(payment.getExpiryYear()).append(',');
+    appendNullable(line, payment.getCurrency()).append(',');
+    line.append(payment.getAmount()).append(',');
+    appendNullable(line, payment.getCardScheme()).append(',');
+    appendNullable(line, payment.getIssuingCountry()).append(',');
+    appendNullable(line, payment.getCardType()).append('\n');
+    return line;
+  }
+
+  private CharSequence toNdjson(PaymentResponse payment) throws IOException {
+    return jsonWriter.writeValueAsString(payment) + "\n";
+  }
+
+  private static StringBuilder appendNullable(StringBuilder line, Object value) {
+    return value == null ? line : line.append(value);
+  }
+
+  /** Encodes text through one reusable byte buffer into the target channel. */
+  private static final class RecordWriter {
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final StringBuilder line = new StringBuilder(256);
+
+    private RecordWriter(WritableByteChannel channel) {
+      this.channel = channel;
+    }
+
+    /** A cleared scratch builder for composing the next record. */
+    StringBuilder line() {
+      line.setLength(0);
+      return line;
+    }
+
+    void write(CharSequence text) throws IOException {
+      CharBuffer chars = CharBuffer.wrap(text);
+      while (true) {
+        CoderResult result = encoder.encode(chars, buffer, false);
+        if (result.isOverflow()) {
+          drain();
+        } else if (result.isUnderflow()) {
+          return;
+        } else {
+          result.throwException();
+        }
+      }
+    }
+
+    void flush() throws IOException {
+      drain();
+    }
+
+    private void drain() throws IOException {
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      buffer.clear();
+    }
+  }
+}
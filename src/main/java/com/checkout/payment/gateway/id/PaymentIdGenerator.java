@@ -0,0 +1,12 @@
+package com.checkout.payment.gateway.id;
+
+import java.util.UUID;
+
+/**
+ * Source of payment IDs. Selected with {@code gateway.payment-id.generator} ({@code time-ordered}
+ * by default, or {@code random}).
+ */
+public interface PaymentIdGenerator {
+
+  UUID nextId();
+}
@@ -0,0 +1,16 @@
+package com.checkout.payment.gateway.id;
+
+import java.util.UUID;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Version 4 UUIDs from the JDK's shared {@code SecureRandom}. */
+@Component
+@ConditionalOnProperty(name = "gateway.payment-id.generator", havingValue = "random")
+public class RandomPaymentIdGenerator implements PaymentIdGenerator {
+
+  @Override
+  public UUID nextId() {
+    return UUID.randomUUID();
+  }
+}
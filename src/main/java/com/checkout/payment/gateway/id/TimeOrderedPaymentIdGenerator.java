@@ -0,0 +1,82 @@
+package com.checkout.payment.gateway.id;
+
+import java.nio.ByteBuffer;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.UUID;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * UUIDv7-style IDs: a 48-bit Unix millisecond timestamp followed by 74 random bits, so IDs sort by
+ * creation time while staying unguessable. Every thread owns its own DRBG instance and draws from
+ * it in batches, so there is no shared lock (unlike {@link UUID#randomUUID()}, whose {@code
+ * SecureRandom} serialises callers).
+ */
+@Component
+@ConditionalOnProperty(
+    name = "gateway.payment-id.generator",
+    havingValue = "time-ordered",
+    matchIfMissing = true)
+public class TimeOrderedPaymentIdGenerator implements PaymentIdGenerator {
+
+  private static final long VERSION_7 = 0x7000L;
+  private static final long VARIANT_RFC_4122 = 0x8000_0000_0000_0000L;
+  private static final long RAND_A_MASK = 0x0FFFL;
+  private static final long RAND_B_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+  private static final ThreadLocal<Entropy> ENTROPY = ThreadLocal.withInitial(Entropy::new);
+
+  @Override
+  public UUID nextId() {
+    Entropy entropy = ENTROPY.get();
+    long millis = entropy.monotonicMillis(System.currentTimeMillis());
+    long random = entropy.nextLong();
+
+    long mostSigBits = (millis << 16) | VERSION_7 | (random & RAND_A_MASK);
+    long leastSigBits = VARIANT_RFC_4122 | (entropy.nextLong() & RAND_B_MASK);
+    return new UUID(mostSigBits, leastSigBits);
+  }
+
+  /** Returns the creation time, in Unix milliseconds, encoded in an ID from this generator. */
+  public static long timestampOf(UUID id) {
+    return id.getMostSignificantBits() >>> 16;
+  }
+
+  private static final class Entropy {
+
+    private static final int BATCH_SIZE = 64;
+
+    private final SecureRandom random = newDrbg();
+    private final ByteBuffer batch = ByteBuffer.allocate(BATCH_SIZE * Long.BYTES);
+    private long lastMillis;
+
+    private Entropy() {
+      batch.position(batch.limit());
+    }
+
+    /** Never goes backwards on this thread, even if the wall clock is adjusted. */
+    long monotonicMillis(long now) {
+      if (now > lastMillis) {
+        lastMillis = now;
+      }
+      return lastMillis;
+    }
+
+    long nextLong() {
+      if (!batch.hasRemaining()) {
+        random.nextBytes(batch.array());
+        batch.clear();
+      }
+      return batch.getLong();
+    }
+
+    private static SecureRandom newDrbg() {
+      try {
+        return SecureRandom.getInstance("DRBG");
+      } catch (NoSuchAlgorithmException e) {
+        return new SecureRandom();
+      }
+    }
+  }
+}
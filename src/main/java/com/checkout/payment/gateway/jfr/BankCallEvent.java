@@ -0,0 +1,34 @@
+package com.checkout.payment.gateway.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/** One round trip to the acquiring bank. */
+@Name(BankCallEvent.NAME)
+@Label("Bank Call")
+@Category({"Payment Gateway"})
+@Description("A payment authorisation request to the acquiring bank")
+@StackTrace(false)
+@Threshold("0 ms")
+public class BankCallEvent extends Event {
+
+  public static final String NAME = "com.checkout.payment.gateway.BankCall";
+
+  @Label("Payment ID")
+  public String paymentId;
+
+  @Label("Authorized")
+  public boolean authorized;
+
+  @Label("Status Code")
+  @Description("HTTP status returned by the bank, 0 if no response was received")
+  public int statusCode;
+
+  @Label("Error")
+  public String error;
+}
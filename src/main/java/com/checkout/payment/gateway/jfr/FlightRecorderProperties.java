@@ -0,0 +1,38 @@
+package com.checkout.payment.gateway.jfr;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Always-on flight recording. The JDK's low-overhead {@code settings} profile runs continuously,
+ * keeping at most {@code maxAge} / {@code maxSize} of history. Each payment stage event is
+ * recorded when it takes at least its threshold.
+ *
+ * <p>Every {@code checkInterval}, the p99 of each operation over the last {@code latencyWindow} is
+ * compared with {@code p99Limit}. On a breach, once at least {@code minSamples} requests have been
+ * seen, the recording is dumped to {@code dumpDirectory}. Dumps happen at most once per {@code
+ * dumpCooldown}, and only the newest {@code maxDumps} files are kept.
+ */
+@ConfigurationProperties(prefix = "gateway.jfr")
+public record FlightRecorderProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("default") String settings,
+    @DefaultValue("30m") Duration maxAge,
+    @DefaultValue("268435456") long maxSize,
+    @DefaultValue Thresholds thresholds,
+    @DefaultValue("500ms") Duration p99Limit,
+    @DefaultValue("1m") Duration latencyWindow,
+    @DefaultValue("100") long minSamples,
+    @DefaultValue("10s") Duration checkInterval,
+    @DefaultValue("10m") Duration dumpCooldown,
+    @DefaultValue("recordings") Path dumpDirectory,
+    @DefaultValue("10") int maxDumps) {
+
+  public record Thresholds(
+      @DefaultValue("10ms") Duration request,
+      @DefaultValue("1ms") Duration validation,
+      @DefaultValue("0ms") Duration bankCall,
+      @DefaultValue("1ms") Duration persistence) {}
+}
@@ -0,0 +1,253 @@
+package com.checkout.payment.gateway.jfr;
+
+import com.checkout.payment.gateway.model.PaymentResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps a continuous, low-overhead flight recording of the payment path and dumps it when latency
+ * degrades, so slow payments can be investigated after the fact without attaching anything.
+ *
+ * <p>The recording uses the JDK's {@code default} settings (around 1% overhead) plus the gateway's
+ * stage events, each with its configured threshold. Request latency per operation feeds a timer;
+ * every check interval its windowed p99 is compared with the limit and a breach dumps the
+ * recording to disk, rate-limited by a cooldown. Dumps are listed and served by {@link
+ * RecordingsEndpoint}.
+ */
+@Component
+public class PaymentFlightRecorder {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PaymentFlightRecorder.class);
+
+  static final String LATENCY_METRIC = "gateway.payment.request.latency";
+  static final String DUMPS_METRIC = "gateway.jfr.dumps";
+
+  private static final DateTimeFormatter DUMP_TIMESTAMP =
+      DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS'Z'").withZone(ZoneOffset.UTC);
+  private static final Pattern DUMP_NAME = Pattern.compile("gateway-\\d{8}T\\d{9}Z-\\d{4}\\.jfr");
+
+  private final FlightRecorderProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, Timer> latencyTimers = new ConcurrentHashMap<>();
+  private final Counter dumpCounter;
+  private final AtomicInteger dumpSequence = new AtomicInteger();
+
+  private volatile Recording recording;
+  private long lastDumpNanos;
+  private boolean dumpedBefore;
+
+  public PaymentFlightRecorder(FlightRecorderProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.dumpCounter =
+        Counter.builder(DUMPS_METRIC)
+            .description("Flight recordings dumped to disk")
+            .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public synchronized void start() {
+    if (!properties.enabled() || recording != null) {
+      return;
+    }
+    if (!FlightRecorder.isAvailable()) {
+      LOG.warn("Flight recorder is not available in this JVM, continuous recording disabled");
+      return;
+    }
+    try {
+      Recording continuous = new Recording(Configuration.getConfiguration(properties.settings()));
+      continuous.setName("gateway-continuous");
+      continuous.setToDisk(true);
+      continuous.setMaxAge(properties.maxAge());
+      continuous.setMaxSize(properties.maxSize());
+      FlightRecorderProperties.Thresholds thresholds = properties.thresholds();
+      continuous.enable(PaymentRequestEvent.NAME).withThreshold(thresholds.request());
+      continuous.enable(PaymentValidationEvent.NAME).withThreshold(thresholds.validation());
+      continuous.enable(BankCallEvent.NAME).withThreshold(thresholds.bankCall());
+      continuous.enable(PaymentPersistenceEvent.NAME).withThreshold(thresholds.persistence());
+      continuous.start();
+      recording = continuous;
+      LOG.info("Continuous flight recording started with '{}' settings", properties.settings());
+    } catch (IOException | ParseException e) {
+      LOG.warn("Could not load flight recorder settings '{}'", properties.settings(), e);
+    }
+  }
+
+  @PreDestroy
+  public synchronized void stop() {
+    if (recording != null) {
+      recording.close();
+      recording = null;
+    }
+  }
+
+  /** Begins the whole-request event; pair with {@link #requestCompleted}. */
+  public PaymentRequestEvent requestStarted(String operation, String merchantId) {
+    PaymentRequestEvent event = new PaymentRequestEvent();
+    event.operation = operation;
+    event.merchantId = merchantId;
+    event.begin();
+    return event;
+  }
+
+  /** Commits the request event if it crossed its threshold and records the latency. */
+  public void requestCompleted(
+      PaymentRequestEvent event, long startedNanos, PaymentResponse payment, Throwable error) {
+    event.end();
+    latencyTimer(event.operation).record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    if (!event.shouldCommit()) {
+      return;
+    }
+    if (payment != null) {
+      event.paymentId = String.valueOf(payment.getId());
+      event.outcome = payment.getStatus() == null ? null : payment.getStatus().getName();
+    } else if (error != null) {
+      Throwable cause =
+          error instanceof CompletionException && error.getCause() != null
+              ? error.getCause()
+              : error;
+      event.outcome = cause.getClass().getSimpleName();
+    }
+    event.commit();
+  }
+
+  /** Dumps the recording if any operation's p99 is over the limit and the cooldown has passed. */
+  @Scheduled(fixedDelayString = "${gateway.jfr.check-interval:PT10S}")
+  public void checkLatency() {
+    if (recording == null) {
+      return;
+    }
+    for (Map.Entry<String, Timer> entry : latencyTimers.entrySet()) {
+      HistogramSnapshot snapshot = entry.getValue().takeSnapshot();
+      if (snapshot.count() < properties.minSamples()) {
+        continue;
+      }
+      for (ValueAtPercentile value : snapshot.percentileValues()) {
+        double p99Nanos = value.value(TimeUnit.NANOSECONDS);
+        if (value.percentile() == 0.99 && p99Nanos > properties.p99Limit().toNanos()) {
+          dumpUnlessCoolingDown(
+              "p99 of %s is %.1f ms, limit %d ms"
+                  .formatted(entry.getKey(), p99Nanos / 1e6, properties.p99Limit().toMillis()));
+          return;
+        }
+      }
+    }
+  }
+
+  private synchronized void dumpUnlessCoolingDown(String reason) {
+    if (dumpedBefore
+        && System.nanoTime() - lastDumpNanos < properties.dumpCooldown().toNanos()) {
+      return;
+    }
+    try {
+      dump(reason);
+    } catch (IOException | IllegalStateException e) {
+      LOG.error("Could not dump flight recording ({})", reason, e);
+    }
+  }
+
+  /**
+   * Writes the continuous recording so far to the dump directory.
+   *
+   * @throws IllegalStateException if no recording is running
+   */
+  public synchronized Path dump(String reason) throws IOException {
+    Recording current = recording;
+    if (current == null) {
+      throw new IllegalStateException("Continuous flight recording is not running");
+    }
+    Files.createDirectories(properties.dumpDirectory());
+    Path file =
+        properties
+            .dumpDirectory()
+            .resolve(
+                "gateway-%s-%04d.jfr"
+                    .formatted(
+                        DUMP_TIMESTAMP.format(Instant.now()),
+                        dumpSequence.incrementAndGet() % 10_000));
+    current.dump(file);
+    lastDumpNanos = System.nanoTime();
+    dumpedBefore = true;
+    dumpCounter.increment();
+    LOG.warn("Dumped flight recording to {}: {}", file, reason);
+    pruneDumps();
+    return file;
+  }
+
+  /** Dump files, oldest first. */
+  public List<Path> listDumps() {
+    if (!Files.isDirectory(properties.dumpDirectory())) {
+      return List.of();
+    }
+    try (Stream<Path> files = Files.list(properties.dumpDirectory())) {
+      return files
+          .filter(file -> DUMP_NAME.matcher(file.getFileName().toString()).matches())
+          .sorted()
+          .toList();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Resolves a dump by file name; anything that is not a dump name is never resolved. */
+  public Optional<Path> findDump(String name) {
+    if (name == null || !DUMP_NAME.matcher(name).matches()) {
+      return Optional.empty();
+    }
+    Path file = properties.dumpDirectory().resolve(name);
+    return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+  }
+
+  public boolean isRecording() {
+    return recording != null;
+  }
+
+  private void pruneDumps() throws IOException {
+    List<Path> dumps = listDumps();
+    for (int i = 0; i < dumps.size() - properties.maxDumps(); i++) {
+      Files.deleteIfExists(dumps.get(i));
+    }
+  }
+
+  private Timer latencyTimer(String operation) {
+    return latencyTimers.computeIfAbsent(
+        operation,
+        op ->
+            Timer.builder(LATENCY_METRIC)
+                .description("Payment API latency from handler invocation to response")
+                .tag("operation", op)
+                .publishPercentiles(0.5, 0.99)
+                .distributionStatisticExpiry(properties.latencyWindow())
+                .distributionStatisticBufferLength(3)
+                .register(meterRegistry));
+  }
+}
@@ -0,0 +1,27 @@
+package com.checkout.payment.gateway.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/** Storing a processed payment in the repository. */
+@Name(PaymentPersistenceEvent.NAME)
+@Label("Payment Persistence")
+@Category({"Payment Gateway"})
+@Description("Storing a processed payment")
+@StackTrace(false)
+@Threshold("1 ms")
+public class PaymentPersistenceEvent extends Event {
+
+  public static final String NAME = "com.checkout.payment.gateway.PaymentPersistence";
+
+  @Label("Payment ID")
+  public String paymentId;
+
+  @Label("Status")
+  public String status;
+}
@@ -0,0 +1,34 @@
+package com.checkout.payment.gateway.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/** A payment API call from the controller to its response, including time queued on a lane. */
+@Name(PaymentRequestEvent.NAME)
+@Label("Payment Request")
+@Category({"Payment Gateway"})
+@Description("A payment API call from handler invocation until its response is ready")
+@StackTrace(false)
+@Threshold("10 ms")
+public class PaymentRequestEvent extends Event {
+
+  public static final String NAME = "com.checkout.payment.gateway.PaymentRequest";
+
+  @Label("Operation")
+  public String operation;
+
+  @Label("Merchant ID")
+  public String merchantId;
+
+  @Label("Payment ID")
+  public String paymentId;
+
+  @Label("Outcome")
+  @Description("Payment status, or the exception that ended the request")
+  public String outcome;
+}
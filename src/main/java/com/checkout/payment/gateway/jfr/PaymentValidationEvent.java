@@ -0,0 +1,30 @@
+package com.checkout.payment.gateway.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/** Bean validation of a request body. There is no payment ID yet at this stage. */
+@Name(PaymentValidationEvent.NAME)
+@Label("Payment Validation")
+@Category({"Payment Gateway"})
+@Description("Bean validation of a request body")
+@StackTrace(false)
+@Threshold("1 ms")
+public class PaymentValidationEvent extends Event {
+
+  public static final String NAME = "com.checkout.payment.gateway.PaymentValidation";
+
+  @Label("Target Type")
+  public String targetType;
+
+  @Label("Violations")
+  public int violations;
+
+  @Label("First Violation")
+  public String firstViolation;
+}
@@ -0,0 +1,5 @@
+package com.checkout.payment.gateway.jfr;
+
+import java.time.Instant;
+
+public record RecordingDescriptor(String name, long sizeBytes, Instant createdAt) {}
@@ -0,0 +1,49 @@
+package com.checkout.payment.gateway.jfr;
+
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.SmartValidator;
+
+/** Wraps MVC's validator so every {@code @Valid} request body emits a validation event. */
+public class RecordingValidator implements SmartValidator {
+
+  private final SmartValidator delegate;
+
+  public RecordingValidator(SmartValidator delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public boolean supports(Class<?> clazz) {
+    return delegate.supports(clazz);
+  }
+
+  @Override
+  public void validate(Object target, Errors errors) {
+    validate(target, errors, new Object[0]);
+  }
+
+  @Override
+  public void validate(Object target, Errors errors, Object... validationHints) {
+    PaymentValidationEvent event = new PaymentValidationEvent();
+    event.begin();
+    delegate.validate(target, errors, validationHints);
+    event.end();
+    if (event.shouldCommit()) {
+      FieldError fieldError = errors.getFieldError();
+      event.targetType = target.getClass().getSimpleName();
+      event.violations = errors.getErrorCount();
+      event.firstViolation =
+          fieldError != null
+              ? fieldError.getField()
+              : errors.hasGlobalErrors() ? errors.getGlobalErrors().get(0).getCode() : null;
+      event.commit();
+    }
+  }
+
+  @Override
+  public void validateValue(
+      Class<?> targetType, String fieldName, Object value, Errors errors, Object... hints) {
+    delegate.validateValue(targetType, fieldName, value, errors, hints);
+  }
+}
@@ -0,0 +1,62 @@
+package com.checkout.payment.gateway.jfr;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/recordings}: lists the flight recordings dumped by {@link
+ * PaymentFlightRecorder}, downloads one by name ({@code /actuator/recordings/{name}}) and, on POST,
+ * dumps the continuous recording now. Recordings contain payment and merchant IDs (never card
+ * data), so only expose this endpoint on the management network.
+ */
+@Component
+@WebEndpoint(id = "recordings")
+public class RecordingsEndpoint {
+
+  private final PaymentFlightRecorder flightRecorder;
+
+  public RecordingsEndpoint(PaymentFlightRecorder flightRecorder) {
+    this.flightRecorder = flightRecorder;
+  }
+
+  @ReadOperation
+  public List<RecordingDescriptor> recordings() {
+    return flightRecorder.listDumps().stream().map(RecordingsEndpoint::describe).toList();
+  }
+
+  /** The recording file, or 404 when there is no dump of that name. */
+  @ReadOperation
+  public Resource recording(@Selector String name) {
+    return flightRecorder.findDump(name).map(FileSystemResource::new).orElse(null);
+  }
+
+  /** Dumps the continuous recording; 204 when it is not running. */
+  @WriteOperation
+  public RecordingDescriptor dump() throws IOException {
+    if (!flightRecorder.isRecording()) {
+      return null;
+    }
+    return describe(flightRecorder.dump("requested through the recordings endpoint"));
+  }
+
+  private static RecordingDescriptor describe(Path file) {
+    try {
+      return new RecordingDescriptor(
+          file.getFileName().toString(),
+          Files.size(file),
+          Files.getLastModifiedTime(file).toInstant());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package com.checkout.payment.gateway.lane;
+
+import com.checkout.payment.gateway.cost.RequestCost;
+import com.checkout.payment.gateway.exception.LaneSaturatedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A bounded thread pool for one class of request. Work that cannot be queued is refused with
+ * {@link LaneSaturatedException} rather than waiting, so an overloaded lane sheds load instead of
+ * stalling the servlet threads that feed it.
+ *
+ * <p>Publishes {@code gateway.lane.queue.size}, {@code gateway.lane.active}, {@code
+ * gateway.lane.wait} (time from submission until a lane thread picks the task up) and {@code
+ * gateway.lane.rejected}, all tagged with the lane name. A task's allocation and CPU time are
+ * charged to the {@link RequestCost} of the request that submitted it, if that request has one.
+ */
+public class ExecutorLane {
+
+  static final String QUEUE_METRIC = "gateway.lane.queue.size";
+  static final String ACTIVE_METRIC = "gateway.lane.active";
+  static final String WAIT_METRIC = "gateway.lane.wait";
+  static final String REJECTED_METRIC = "gateway.lane.rejected";
+
+  private final String name;
+  private final ThreadPoolExecutor executor;
+  private final Timer waitTimer;
+  private final Counter rejectedCounter;
+
+  public ExecutorLane(String name, LaneProperties.Lane lane, MeterRegistry meterRegistry) {
+    this.name = name;
+    AtomicInteger threadCount = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            lane.threads(),
+            lane.threads(),
+            60,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(lane.queueCapacity()),
+            runnable -> {
+              Thread thread = new Thread(runnable, name + "-lane-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    executor.allowCoreThreadTimeOut(true);
+
+    Gauge.builder(QUEUE_METRIC, executor, e -> e.getQueue().size())
+        .description("Tasks waiting for a lane thread")
+        .tag("lane", name)
+        .register(meterRegistry);
+    Gauge.builder(ACTIVE_METRIC, executor, ThreadPoolExecutor::getActiveCount)
+        .description("Lane threads currently running a task")
+        .tag("lane", name)
+        .register(meterRegistry);
+    this.waitTimer =
+        Timer.builder(WAIT_METRIC)
+            .description("Time tasks spent queued before a lane thread picked them up")
+            .tag("lane", name)
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+    this.rejectedCounter =
+        Counter.builder(REJECTED_METRIC)
+            .description("Tasks refused because the lane queue was full")
+            .tag("lane", name)
+            .register(meterRegistry);
+  }
+
+  /**
+   * Runs the task on this lane.
+   *
+   * @throws LaneSaturatedException if the lane's queue is full
+   */
+  public <T> CompletableFuture<T> submit(Supplier<T> task) {
+    long submittedAt = System.nanoTime();
+    RequestCost cost = RequestCost.current();
+    try {
+      return CompletableFuture.supplyAsync(
+          () -> {
+            waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+            return cost == null ? task.get() : cost.charge(task);
+          },
+          executor);
+    } catch (RejectedExecutionException e) {
+      rejectedCounter.increment();
+      throw new LaneSaturatedException(name);
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  void shutdown() {
+    executor.shutdown();
+  }
+}
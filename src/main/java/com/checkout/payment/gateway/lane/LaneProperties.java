@@ -0,0 +1,26 @@
+package com.checkout.payment.gateway.lane;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sizes of the executor lanes. Reads are CPU-only lookups and need few threads; writes spend most
+ * of their time blocked on the acquirer, so their lane is sized for concurrency rather than cores.
+ */
+@ConfigurationProperties(prefix = "gateway.lanes")
+public record LaneProperties(Lane read, Lane write) {
+
+  public LaneProperties {
+    if (read == null || write == null) {
+      throw new IllegalStateException("gateway.lanes.read and gateway.lanes.write are required");
+    }
+  }
+
+  public record Lane(int threads, int queueCapacity) {
+
+    public Lane {
+      if (threads < 1 || queueCapacity < 1) {
+        throw new IllegalStateException("Lane threads and queue capacity must be positive");
+      }
+    }
+  }
+}
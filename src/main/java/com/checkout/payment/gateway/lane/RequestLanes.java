@@ -0,0 +1,39 @@
+package com.checkout.payment.gateway.lane;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps payment lookups and bank-bound payment processing on separate executors. Processing
+ * blocks on the acquirer for up to the client timeout; running it on its own lane frees the
+ * servlet thread straight away, so a slow bank can only exhaust the write lane and never delays
+ * reads.
+ */
+@Component
+public class RequestLanes {
+
+  private final ExecutorLane read;
+  private final ExecutorLane write;
+
+  public RequestLanes(LaneProperties properties, MeterRegistry meterRegistry) {
+    this.read = new ExecutorLane("read", properties.read(), meterRegistry);
+    this.write = new ExecutorLane("write", properties.write(), meterRegistry);
+  }
+
+  /** Cheap, non-blocking lookups. */
+  public ExecutorLane read() {
+    return read;
+  }
+
+  /** Work that calls the acquiring bank. */
+  public ExecutorLane write() {
+    return write;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    read.shutdown();
+    write.shutdown();
+  }
+}
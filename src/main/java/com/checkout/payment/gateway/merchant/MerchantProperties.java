@@ -0,0 +1,14 @@
+package com.checkout.payment.gateway.merchant;
+
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "gateway.merchants")
+public record MerchantProperties(
+    @DefaultValue("X-Api-Key") String apiKeyHeader, Map<String, String> apiKeys) {
+
+  public MerchantProperties {
+    apiKeys = apiKeys == null ? Map.of() : Map.copyOf(apiKeys);
+  }
+}
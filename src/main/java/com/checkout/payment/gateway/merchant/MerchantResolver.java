@@ -0,0 +1,51 @@
+package com.checkout.payment.gateway.merchant;
+
+import com.checkout.payment.gateway.exception.UnidentifiedMerchantException;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+/**
+ * Identifies the merchant behind a request from its API key header. Callers without a known key
+ * are treated as the anonymous merchant; the rate limiter still tells them apart by remote address.
+ */
+@Component
+public class MerchantResolver {
+
+  public static final String ANONYMOUS_MERCHANT_ID = "anonymous";
+  public static final String MERCHANT_ID_ATTRIBUTE =
+      MerchantResolver.class.getName() + ".merchantId";
+
+  private final String apiKeyHeader;
+  private final Map<String, String> merchantIdsByApiKey;
+
+  public MerchantResolver(MerchantProperties properties) {
+    this.apiKeyHeader = properties.apiKeyHeader();
+    this.merchantIdsByApiKey = properties.apiKeys();
+  }
+
+  public String resolve(HttpServletRequest request) {
+    Object cached = request.getAttribute(MERCHANT_ID_ATTRIBUTE);
+    if (cached instanceof String merchantId) {
+      return merchantId;
+    }
+
+    String apiKey = request.getHeader(apiKeyHeader);
+    String merchantId =
+        apiKey == null
+            ? ANONYMOUS_MERCHANT_ID
+            : merchantIdsByApiKey.getOrDefault(apiKey, ANONYMOUS_MERCHANT_ID);
+    request.setAttribute(MERCHANT_ID_ATTRIBUTE, merchantId);
+    return merchantId;
+  }
+
+  /**
+   * Refuses anonymous callers (401). They share one identity, so anything scoped to the merchant
+   * would otherwise be shared between all of them.
+   */
+  public static void requireIdentified(String merchantId) {
+    if (ANONYMOUS_MERCHANT_ID.equals(merchantId)) {
+      throw new UnidentifiedMerchantException();
+    }
+  }
+}
@@ -0,0 +1,4 @@
+package com.checkout.payment.gateway.model;
+
+public record CurrencyStatistics(
+    OutcomeTotals authorized, OutcomeTotals declined, OutcomeTotals rejected) {}
@@ -0,0 +1,3 @@
+package com.checkout.payment.gateway.model;
+
+public record OutcomeTotals(long count, long amount) {}
@@ -1,6 +1,8 @@
 package com.checkout.payment.gateway.model;
 
 import com.checkout.payment.gateway.enums.PaymentStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.time.Instant;
 import java.util.UUID;
 import lombok.Builder;
 import lombok.Value;
@@ -17,4 +19,10 @@ public class PaymentResponse {
   int expiryYear;
   String currency;
   int amount;
+  String cardScheme;
+  String issuingCountry;
+  String cardType;
+  Instant createdAt;
+  // Scopes exports and the payment stream; never sent to clients
+  @JsonIgnore String merchantId;
 }
@@ -0,0 +1,8 @@
+package com.checkout.payment.gateway.model;
+
+import java.time.Instant;
+import java.util.Map;
+
+/** Totals per window (e.g. {@code 1m}) and then per currency. */
+public record PaymentStatisticsResponse(
+    Instant generatedAt, Map<String, Map<String, CurrencyStatistics>> windows) {}
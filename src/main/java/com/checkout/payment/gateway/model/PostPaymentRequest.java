@@ -1,6 +1,7 @@
 package com.checkout.payment.gateway.model;
 
 import com.checkout.payment.gateway.validation.FutureExpiryDate;
+import com.checkout.payment.gateway.validation.SupportedCurrency;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.Max;
@@ -34,9 +35,7 @@ public class PostPaymentRequest implements Serializable {
 
   @NotNull(message = "Currency is required")
   @Size(min = 3, max = 3, message = "Currency must be 3 characters")
-  @Pattern(
-      regexp = "^(GBP|EUR|USD)$",
-      message = "Currency must be one of the supported types (GBP, EUR, USD)")
+  @SupportedCurrency
   private String currency;
 
   @NotNull(message = "Amount is required")
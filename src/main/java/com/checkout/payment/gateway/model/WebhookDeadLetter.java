@@ -0,0 +1,13 @@
+package com.checkout.payment.gateway.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** A payment notification that was given up on, with the last failure seen. */
+public record WebhookDeadLetter(
+    String merchantId,
+    UUID paymentId,
+    String endpoint,
+    int attempts,
+    String reason,
+    Instant failedAt) {}
@@ -0,0 +1,6 @@
+package com.checkout.payment.gateway.model;
+
+import java.util.List;
+
+/** Body POSTed to a merchant's webhook: one or more payment outcomes, oldest first. */
+public record WebhookNotification(List<PaymentResponse> payments) {}
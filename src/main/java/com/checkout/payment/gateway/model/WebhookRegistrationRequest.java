@@ -0,0 +1,7 @@
+package com.checkout.payment.gateway.model;
+
+import com.checkout.payment.gateway.validation.WebhookUrl;
+import jakarta.validation.constraints.NotBlank;
+
+public record WebhookRegistrationRequest(
+    @NotBlank(message = "Webhook URL is required") @WebhookUrl String url) {}
@@ -0,0 +1,237 @@
+package com.checkout.payment.gateway.ratelimit;
+
+import com.checkout.payment.gateway.merchant.MerchantResolver;
+import com.checkout.payment.gateway.ratelimit.RateLimitProperties.Limit;
+import com.checkout.payment.gateway.ratelimit.RateLimitProperties.Tier;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds one pair of token buckets (POST and GET) per merchant, and one per remote address for
+ * callers without an API key. Merchants and anonymous clients are kept in separate stores, bounded
+ * by {@code gateway.rate-limit.max-tracked-merchants} and {@code
+ * gateway.rate-limit.max-tracked-anonymous-clients}, so keyless traffic from many addresses can
+ * never crowd out a merchant. When a store is full, pairs that are completely refilled are evicted,
+ * at most once a second; until a slot frees up, newcomers share that store's overflow bucket pair.
+ * Anonymous clients are all counted under one {@code anonymous} rejection metric.
+ */
+@Component
+public class MerchantRateLimiter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MerchantRateLimiter.class);
+
+  static final String OVERFLOW_MERCHANT_ID = "overflow";
+  static final String REJECTED_METRIC = "gateway.ratelimit.rejected";
+  static final String OVERFLOWED_METRIC = "gateway.ratelimit.overflowed";
+
+  private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final RateLimitProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final LongSupplier nanoClock;
+  private final Counter anonymousRejectedPost;
+  private final Counter anonymousRejectedGet;
+  private final BucketStore merchants;
+  private final BucketStore anonymousClients;
+
+  @Autowired
+  public MerchantRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+    this(properties, meterRegistry, System::nanoTime);
+  }
+
+  MerchantRateLimiter(
+      RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.nanoClock = nanoClock;
+    this.anonymousRejectedPost =
+        rejectedCounter(
+            MerchantResolver.ANONYMOUS_MERCHANT_ID, RateLimitedOperation.PROCESS_PAYMENT);
+    this.anonymousRejectedGet =
+        rejectedCounter(
+            MerchantResolver.ANONYMOUS_MERCHANT_ID, RateLimitedOperation.GET_PAYMENT);
+    long now = nanoClock.getAsLong();
+    this.merchants =
+        new BucketStore(
+            "merchants",
+            properties.maxTrackedMerchants(),
+            newMerchantBuckets(OVERFLOW_MERCHANT_ID, now),
+            true,
+            now);
+    this.anonymousClients =
+        new BucketStore(
+            "anonymous clients",
+            properties.maxTrackedAnonymousClients(),
+            newAnonymousBuckets(now),
+            false,
+            now);
+  }
+
+  /**
+   * Takes one token from the merchant's bucket for the given operation.
+   *
+   * @return {@code 0} when the request may proceed, otherwise the nanoseconds until it may retry
+   */
+  public long tryAcquire(String merchantId, RateLimitedOperation operation) {
+    long now = nanoClock.getAsLong();
+    return tryAcquire(merchants.bucketsFor(merchantId, now), operation, now);
+  }
+
+  /**
+   * Takes one token for a caller without a known API key. Each remote address is limited on its
+   * own, so one noisy keyless client cannot use up the budget of every other one.
+   */
+  public long tryAcquireAnonymous(String remoteAddress, RateLimitedOperation operation) {
+    long now = nanoClock.getAsLong();
+    return tryAcquire(anonymousClients.bucketsFor(remoteAddress, now), operation, now);
+  }
+
+  int trackedMerchants() {
+    return merchants.buckets.size();
+  }
+
+  int trackedAnonymousClients() {
+    return anonymousClients.buckets.size();
+  }
+
+  private static long tryAcquire(
+      MerchantBuckets merchantBuckets, RateLimitedOperation operation, long now) {
+    long waitNanos = merchantBuckets.bucket(operation).tryAcquire(now);
+    if (waitNanos > 0) {
+      merchantBuckets.rejected(operation).increment();
+    }
+    return waitNanos;
+  }
+
+  private MerchantBuckets newMerchantBuckets(String merchantId, long now) {
+    Tier tier = properties.tierFor(merchantId);
+    return new MerchantBuckets(
+        newBucket(tier, RateLimitedOperation.PROCESS_PAYMENT, now),
+        newBucket(tier, RateLimitedOperation.GET_PAYMENT, now),
+        rejectedCounter(merchantId, RateLimitedOperation.PROCESS_PAYMENT),
+        rejectedCounter(merchantId, RateLimitedOperation.GET_PAYMENT));
+  }
+
+  private MerchantBuckets newAnonymousBuckets(long now) {
+    Tier tier = properties.tierFor(MerchantResolver.ANONYMOUS_MERCHANT_ID);
+    return new MerchantBuckets(
+        newBucket(tier, RateLimitedOperation.PROCESS_PAYMENT, now),
+        newBucket(tier, RateLimitedOperation.GET_PAYMENT, now),
+        anonymousRejectedPost,
+        anonymousRejectedGet);
+  }
+
+  private static TokenBucket newBucket(Tier tier, RateLimitedOperation operation, long now) {
+    Limit limit = tier.limitFor(operation);
+    return new TokenBucket(limit.capacity(), limit.refillPerSecond(), now);
+  }
+
+  private Counter rejectedCounter(String merchantId, RateLimitedOperation operation) {
+    return Counter.builder(REJECTED_METRIC)
+        .description("Requests rejected by the per-merchant rate limiter")
+        .tag("merchant", merchantId)
+        .tag("operation", operation.getTagValue())
+        .register(meterRegistry);
+  }
+
+  /** Bucket pairs for one kind of caller, with its own bound, eviction and overflow pair. */
+  private final class BucketStore {
+
+    final Map<String, MerchantBuckets> buckets = new ConcurrentHashMap<>();
+    final String name;
+    final int capacity;
+    final MerchantBuckets overflow;
+    // Merchants own their rejection counters; anonymous clients share theirs, which must outlive
+    // any one of them
+    final boolean ownsMeters;
+    final Counter overflowed;
+    final AtomicLong nextSweepNanos;
+
+    BucketStore(
+        String name, int capacity, MerchantBuckets overflow, boolean ownsMeters, long now) {
+      this.name = name;
+      this.capacity = capacity;
+      this.overflow = overflow;
+      this.ownsMeters = ownsMeters;
+      this.overflowed =
+          Counter.builder(OVERFLOWED_METRIC)
+              .description("Requests limited by a shared overflow bucket as the store was full")
+              .tag("clients", ownsMeters ? "merchants" : "anonymous")
+              .register(meterRegistry);
+      this.nextSweepNanos = new AtomicLong(now);
+    }
+
+    MerchantBuckets bucketsFor(String key, long now) {
+      MerchantBuckets existing = buckets.get(key);
+      return existing != null ? existing : register(key, now);
+    }
+
+    private MerchantBuckets register(String key, long now) {
+      if (buckets.size() >= capacity) {
+        sweep(now);
+        if (buckets.size() >= capacity) {
+          overflowed.increment();
+          return overflow;
+        }
+      }
+      return buckets.computeIfAbsent(
+          key, id -> ownsMeters ? newMerchantBuckets(id, now) : newAnonymousBuckets(now));
+    }
+
+    /**
+     * Evicts refilled bucket pairs. However many misses arrive while the store is full, only one
+     * caller a second pays for the scan, and only that caller may log.
+     */
+    private void sweep(long now) {
+      long next = nextSweepNanos.get();
+      if (now - next < 0 || !nextSweepNanos.compareAndSet(next, now + SWEEP_INTERVAL_NANOS)) {
+        return;
+      }
+      buckets
+          .values()
+          .removeIf(
+              merchantBuckets -> {
+                if (!merchantBuckets.isFull(now)) {
+                  return false;
+                }
+                if (ownsMeters) {
+                  merchantBuckets.removeMeters(meterRegistry);
+                }
+                return true;
+              });
+      if (buckets.size() >= capacity) {
+        LOG.warn("Rate limiter is tracking the maximum number of {}, using overflow bucket", name);
+      }
+    }
+  }
+
+  private record MerchantBuckets(
+      TokenBucket post, TokenBucket get, Counter rejectedPost, Counter rejectedGet) {
+
+    TokenBucket bucket(RateLimitedOperation operation) {
+      return operation == RateLimitedOperation.GET_PAYMENT ? get : post;
+    }
+
+    Counter rejected(RateLimitedOperation operation) {
+      return operation == RateLimitedOperation.GET_PAYMENT ? rejectedGet : rejectedPost;
+    }
+
+    boolean isFull(long now) {
+      return post.isFull(now) && get.isFull(now);
+    }
+
+    void removeMeters(MeterRegistry meterRegistry) {
+      meterRegistry.remove(rejectedPost);
+      meterRegistry.remove(rejectedGet);
+    }
+  }
+}
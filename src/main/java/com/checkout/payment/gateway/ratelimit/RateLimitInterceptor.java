@@ -0,0 +1,49 @@
+package com.checkout.payment.gateway.ratelimit;
+
+import com.checkout.payment.gateway.exception.RateLimitExceededException;
+import com.checkout.payment.gateway.merchant.MerchantResolver;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+  private final MerchantResolver merchantResolver;
+  private final MerchantRateLimiter rateLimiter;
+  private final boolean enabled;
+
+  public RateLimitInterceptor(
+      MerchantResolver merchantResolver,
+      MerchantRateLimiter rateLimiter,
+      RateLimitProperties properties) {
+    this.merchantResolver = merchantResolver;
+    this.rateLimiter = rateLimiter;
+    this.enabled = properties.enabled();
+  }
+
+  @Override
+  public boolean preHandle(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    // Lane-executed handlers complete through an async dispatch; the request was admitted already
+    if (request.getDispatcherType() == DispatcherType.ASYNC) {
+      return true;
+    }
+    String merchantId = merchantResolver.resolve(request);
+    if (!enabled) {
+      return true;
+    }
+
+    RateLimitedOperation operation = RateLimitedOperation.forMethod(request.getMethod());
+    long waitNanos =
+        MerchantResolver.ANONYMOUS_MERCHANT_ID.equals(merchantId)
+            ? rateLimiter.tryAcquireAnonymous(request.getRemoteAddr(), operation)
+            : rateLimiter.tryAcquire(merchantId, operation);
+    if (waitNanos > 0) {
+      throw new RateLimitExceededException(merchantId, waitNanos);
+    }
+    return true;
+  }
+}
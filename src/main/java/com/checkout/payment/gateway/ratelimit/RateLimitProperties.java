@@ -0,0 +1,49 @@
+package com.checkout.payment.gateway.ratelimit;
+
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public record RateLimitProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("10000") int maxTrackedMerchants,
+    @DefaultValue("10000") int maxTrackedAnonymousClients,
+    @DefaultValue("standard") String defaultTier,
+    Map<String, Tier> tiers,
+    Map<String, String> merchantTiers) {
+
+  public RateLimitProperties {
+    tiers = tiers == null ? Map.of() : Map.copyOf(tiers);
+    merchantTiers = merchantTiers == null ? Map.of() : Map.copyOf(merchantTiers);
+    if (maxTrackedMerchants < 1 || maxTrackedAnonymousClients < 1) {
+      throw new IllegalStateException("Rate limiter tracking limits must be positive");
+    }
+    if (enabled && !tiers.containsKey(defaultTier)) {
+      throw new IllegalStateException("Default rate limit tier '" + defaultTier + "' is not defined");
+    }
+  }
+
+  public Tier tierFor(String merchantId) {
+    Tier tier = tiers.get(merchantTiers.getOrDefault(merchantId, defaultTier));
+    return tier != null ? tier : tiers.get(defaultTier);
+  }
+
+  public record Tier(Limit post, Limit get) {
+
+    public Limit limitFor(RateLimitedOperation operation) {
+      return operation == RateLimitedOperation.GET_PAYMENT ? get : post;
+    }
+  }
+
+  public record Limit(long capacity, double refillPerSecond) {
+
+    public Limit {
+      if (capacity < 1 || refillPerSecond <= 0) {
+        throw new IllegalStateException(
+            "Rate limit capacity and refill rate must be positive but were "
+                + capacity + " and " + refillPerSecond);
+      }
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package com.checkout.payment.gateway.ratelimit;
+
+public enum RateLimitedOperation {
+  PROCESS_PAYMENT("post"),
+  GET_PAYMENT("get");
+
+  private final String tagValue;
+
+  RateLimitedOperation(String tagValue) {
+    this.tagValue = tagValue;
+  }
+
+  public String getTagValue() {
+    return tagValue;
+  }
+
+  public static RateLimitedOperation forMethod(String httpMethod) {
+    return "GET".equals(httpMethod) ? GET_PAYMENT : PROCESS_PAYMENT;
+  }
+}
@@ -0,0 +1,49 @@
+package com.checkout.payment.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. Instead of storing a token count and a refill timestamp, the bucket keeps
+ * a single "theoretical arrival time" (the GCRA formulation): the instant at which the bucket would
+ * be completely refilled. Taking a token pushes it forward by one emission interval, so an acquire
+ * is one read and one CAS with no allocation.
+ */
+public final class TokenBucket {
+
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+  private final long emissionIntervalNanos;
+  private final long burstToleranceNanos;
+  private final AtomicLong theoreticalArrivalTime;
+
+  public TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+    this.emissionIntervalNanos = Math.max(1L, (long) (NANOS_PER_SECOND / refillPerSecond));
+    this.burstToleranceNanos = emissionIntervalNanos * capacity;
+    this.theoreticalArrivalTime = new AtomicLong(nowNanos);
+  }
+
+  /**
+   * Attempts to take one token.
+   *
+   * @return {@code 0} when the token was granted, otherwise the number of nanoseconds until one
+   *     becomes available
+   */
+  public long tryAcquire(long nowNanos) {
+    while (true) {
+      long tat = theoreticalArrivalTime.get();
+      long newTat = (tat - nowNanos > 0 ? tat : nowNanos) + emissionIntervalNanos;
+      long excess = newTat - nowNanos - burstToleranceNanos;
+      if (excess > 0) {
+        return excess;
+      }
+      if (theoreticalArrivalTime.compareAndSet(tat, newTat)) {
+        return 0L;
+      }
+    }
+  }
+
+  /** A full bucket behaves exactly like a freshly created one, so it can be safely discarded. */
+  public boolean isFull(long nowNanos) {
+    return theoreticalArrivalTime.get() - nowNanos <= 0;
+  }
+}
@@ -1,22 +1,87 @@
 package com.checkout.payment.gateway.repository;
 
+import com.checkout.payment.gateway.archive.PaymentArchive;
+import com.checkout.payment.gateway.jfr.PaymentPersistenceEvent;
 import com.checkout.payment.gateway.model.PaymentResponse;
+import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+/**
+ * Recent payments live in memory; aged ones are moved to the {@link PaymentArchive} by {@link
+ * #archiveOlderThan} and are still found by {@link #get} and {@link #stream}.
+ */
 @Repository
 public class PaymentsRepository {
 
   private final Map<UUID, PaymentResponse> payments = new ConcurrentHashMap<>();
+  private final PaymentArchive archive;
+
+  public PaymentsRepository() {
+    this(PaymentArchive.disabled());
+  }
+
+  @Autowired
+  public PaymentsRepository(PaymentArchive archive) {
+    this.archive = archive;
+  }
 
   public void add(PaymentResponse payment) {
+    PaymentPersistenceEvent event = new PaymentPersistenceEvent();
+    event.begin();
     payments.put(payment.getId(), payment);
+    event.end();
+    if (event.shouldCommit()) {
+      event.paymentId = String.valueOf(payment.getId());
+      event.status = payment.getStatus() == null ? null : payment.getStatus().getName();
+      event.commit();
+    }
   }
 
   public Optional<PaymentResponse> get(UUID id) {
-    return Optional.ofNullable(payments.get(id));
+    PaymentResponse payment = payments.get(id);
+    return payment != null ? Optional.of(payment) : archive.find(id);
+  }
+
+  /**
+   * Streams every stored payment, in memory first and then archived. The traversal is weakly
+   * consistent: it never blocks writers and may or may not include payments added while it runs. A
+   * payment archived mid-traversal may be seen twice but is never missed.
+   */
+  public Stream<PaymentResponse> stream() {
+    return Stream.concat(
+        payments.values().stream(),
+        archive.stream().filter(payment -> !payments.containsKey(payment.getId())));
+  }
+
+  /**
+   * Moves payments created before {@code cutoff} to the archive. They are written and visible in
+   * the archive before they leave memory, so lookups never miss them.
+   *
+   * @return the number of payments archived
+   */
+  public int archiveOlderThan(Instant cutoff) {
+    if (!archive.isEnabled()) {
+      return 0;
+    }
+    List<PaymentResponse> aged =
+        payments.values().stream()
+            .filter(payment -> payment.getCreatedAt() != null)
+            .filter(payment -> payment.getCreatedAt().isBefore(cutoff))
+            .toList();
+    if (aged.isEmpty()) {
+      return 0;
+    }
+    archive.archive(aged);
+    for (PaymentResponse payment : aged) {
+      payments.remove(payment.getId(), payment);
+    }
+    return aged.size();
   }
 }
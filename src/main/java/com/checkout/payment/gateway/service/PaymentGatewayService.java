@@ -3,11 +3,21 @@ package com.checkout.payment.gateway.service;
 import com.checkout.payment.gateway.acquirer.model.BankPaymentRequest;
 import com.checkout.payment.gateway.acquirer.model.BankPaymentResponse;
 import com.checkout.payment.gateway.acquirer.service.AcquiringBankClient;
+import com.checkout.payment.gateway.bin.BinInfo;
+import com.checkout.payment.gateway.bin.BinTableService;
+import com.checkout.payment.gateway.currency.FxRateService;
+import com.checkout.payment.gateway.duplicate.DuplicatePaymentDetector;
 import com.checkout.payment.gateway.enums.PaymentStatus;
+import com.checkout.payment.gateway.exception.CurrencyConversionException;
 import com.checkout.payment.gateway.exception.EventProcessingException;
+import com.checkout.payment.gateway.id.PaymentIdGenerator;
 import com.checkout.payment.gateway.model.PaymentResponse;
 import com.checkout.payment.gateway.model.PostPaymentRequest;
 import com.checkout.payment.gateway.repository.PaymentsRepository;
+import com.checkout.payment.gateway.statistics.PaymentStatistics;
+import com.checkout.payment.gateway.stream.PaymentStreamBroadcaster;
+import com.checkout.payment.gateway.webhook.WebhookDispatcher;
+import java.time.Instant;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -22,29 +32,44 @@ public class PaymentGatewayService {
 
   private final PaymentsRepository paymentsRepository;
   private final AcquiringBankClient acquiringBankClient;
+  private final PaymentIdGenerator paymentIdGenerator;
+  private final BinTableService binTableService;
+  private final DuplicatePaymentDetector duplicatePaymentDetector;
+  private final PaymentStatistics paymentStatistics;
+  private final WebhookDispatcher webhookDispatcher;
+  private final PaymentStreamBroadcaster paymentStreamBroadcaster;
+  private final FxRateService fxRateService;
 
   public PaymentResponse getPaymentById(UUID id) {
     LOG.debug("Requesting access to to payment with ID {}", id);
     return paymentsRepository.get(id).orElseThrow(() -> new EventProcessingException("Invalid ID"));
   }
 
-  public PaymentResponse processPayment(PostPaymentRequest paymentRequest) {
+  public PaymentResponse processPayment(PostPaymentRequest paymentRequest, String merchantId) {
     LOG.debug("Processing payment request: {}", paymentRequest);
 
+    // Before duplicate screening, so a payment that cannot be settled is not remembered
+    int settlementAmount = toSettlementAmount(paymentRequest);
+    duplicatePaymentDetector.screen(merchantId, paymentRequest);
+
+    BinInfo binInfo = binTableService.lookup(paymentRequest.getCardNumber());
+    UUID paymentId = paymentIdGenerator.nextId();
+
     BankPaymentRequest bankRequest =
         BankPaymentRequest.builder()
             .cardNumber(paymentRequest.getCardNumber())
             .expiryDate(paymentRequest.getExpiryDate())
-            .currency(paymentRequest.getCurrency())
-            .amount(paymentRequest.getAmount())
+            .currency(fxRateService.settlementCurrency())
+            .amount(settlementAmount)
             .cvv(paymentRequest.getCvv())
+            .paymentId(paymentId)
             .build();
 
     BankPaymentResponse bankResponse = acquiringBankClient.processPayment(bankRequest);
 
     PaymentResponse response =
         PaymentResponse.builder()
-            .id(UUID.randomUUID())
+            .id(paymentId)
             .status(
                 bankResponse.getAuthorized() ? PaymentStatus.AUTHORIZED : PaymentStatus.DECLINED)
             .cardNumberLastFour(paymentRequest.getCardNumberLastFour())
@@ -52,11 +77,32 @@ public class PaymentGatewayService {
             .expiryYear(paymentRequest.getExpiryYear())
             .currency(paymentRequest.getCurrency())
             .amount(paymentRequest.getAmount())
+            .cardScheme(binInfo.scheme())
+            .issuingCountry(binInfo.issuingCountry())
+            .cardType(binInfo.cardType())
+            .createdAt(Instant.now())
+            .merchantId(merchantId)
             .build();
 
     paymentsRepository.add(response);
+    paymentStatistics.record(response.getStatus(), response.getCurrency(), response.getAmount());
+    webhookDispatcher.publish(merchantId, response);
+    paymentStreamBroadcaster.publish(response);
 
     LOG.debug("Payment successfully processed with ID: {}", response.getId());
     return response;
   }
+
+  /** The amount in the acquirer's settlement currency, which is what the bank is asked for. */
+  private int toSettlementAmount(PostPaymentRequest paymentRequest) {
+    long settlementAmount =
+        fxRateService.toSettlement(paymentRequest.getCurrency(), paymentRequest.getAmount());
+    if (settlementAmount < 1 || settlementAmount > Integer.MAX_VALUE) {
+      throw new CurrencyConversionException(
+          paymentRequest.getAmount(),
+          paymentRequest.getCurrency(),
+          fxRateService.settlementCurrency());
+    }
+    return (int) settlementAmount;
+  }
 }
@@ -0,0 +1,182 @@
+package com.checkout.payment.gateway.statistics;
+
+import com.checkout.payment.gateway.currency.CurrencyRegistry;
+import com.checkout.payment.gateway.enums.PaymentStatus;
+import com.checkout.payment.gateway.model.CurrencyStatistics;
+import com.checkout.payment.gateway.model.OutcomeTotals;
+import com.checkout.payment.gateway.model.PaymentStatisticsResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rolling payment counts and amount totals per currency and outcome.
+ *
+ * <p>Time is split into fixed buckets held in a ring long enough for the largest reported window.
+ * Each bucket holds striped {@link LongAdder} counters, so recording is a couple of uncontended
+ * adds on the caller's core. When the ring wraps, a stale bucket is replaced with a fresh one by
+ * CAS instead of being reset; an add racing with the swap may land in the discarded bucket, which
+ * is an accepted loss for a dashboard metric. Reads sum the buckets inside each window without
+ * taking any locks.
+ *
+ * <p>Each currency in the {@link CurrencyRegistry} has a fixed slot. Anything else, including the
+ * unvalidated codes of rejected requests, is counted under {@value #OTHER_CURRENCY} and never kept.
+ */
+@Component
+public class PaymentStatistics {
+
+  static final long BUCKET_MILLIS = 5_000L;
+  static final String OTHER_CURRENCY = "OTHER";
+
+  private static final Map<String, Duration> WINDOWS =
+      Map.of("1m", Duration.ofMinutes(1), "5m", Duration.ofMinutes(5), "1h", Duration.ofHours(1));
+  private static final PaymentStatus[] STATUSES = PaymentStatus.values();
+
+  private final LongSupplier clock;
+  private final CurrencyRegistry currencies;
+  private final AtomicReferenceArray<Bucket> ring;
+  private final int otherSlot;
+
+  @Autowired
+  public PaymentStatistics(CurrencyRegistry currencies) {
+    this(currencies, System::currentTimeMillis);
+  }
+
+  PaymentStatistics(CurrencyRegistry currencies, LongSupplier clock) {
+    this.clock = clock;
+    this.currencies = currencies;
+    this.otherSlot = currencies.size();
+    long longestWindow =
+        WINDOWS.values().stream().mapToLong(Duration::toMillis).max().orElseThrow();
+    this.ring = new AtomicReferenceArray<>((int) (longestWindow / BUCKET_MILLIS) + 1);
+  }
+
+  public void record(PaymentStatus status, String currency, long amount) {
+    Bucket bucket = bucketFor(clock.getAsLong() / BUCKET_MILLIS);
+    CurrencyCounters counters = bucket.counters(slot(currency));
+    counters.counts[status.ordinal()].increment();
+    counters.amounts[status.ordinal()].add(amount);
+  }
+
+  public PaymentStatisticsResponse snapshot() {
+    long now = clock.getAsLong();
+    long currentEpoch = now / BUCKET_MILLIS;
+
+    Map<String, Map<String, CurrencyStatistics>> windows = new LinkedHashMap<>();
+    WINDOWS.entrySet().stream()
+        .sorted(Map.Entry.comparingByValue())
+        .forEach(
+            window -> {
+              int buckets = (int) (window.getValue().toMillis() / BUCKET_MILLIS);
+              windows.put(window.getKey(), sum(currentEpoch, buckets));
+            });
+    return new PaymentStatisticsResponse(Instant.ofEpochMilli(now), windows);
+  }
+
+  private Map<String, CurrencyStatistics> sum(long currentEpoch, int buckets) {
+    int slots = otherSlot + 1;
+    long[][] counts = new long[slots][STATUSES.length];
+    long[][] amounts = new long[slots][STATUSES.length];
+
+    for (long epoch = currentEpoch - buckets + 1; epoch <= currentEpoch; epoch++) {
+      Bucket bucket = ring.get(index(epoch));
+      if (bucket == null || bucket.epoch != epoch) {
+        continue;
+      }
+      for (int slot = 0; slot < slots; slot++) {
+        CurrencyCounters counters = bucket.currencies.get(slot);
+        if (counters == null) {
+          continue;
+        }
+        for (int status = 0; status < STATUSES.length; status++) {
+          counts[slot][status] += counters.counts[status].sum();
+          amounts[slot][status] += counters.amounts[status].sum();
+        }
+      }
+    }
+
+    Map<String, CurrencyStatistics> result = new TreeMap<>();
+    for (int slot = 0; slot < slots; slot++) {
+      if (Arrays.stream(counts[slot]).sum() == 0) {
+        continue;
+      }
+      result.put(
+          slot == otherSlot ? OTHER_CURRENCY : currencies.code(slot),
+          new CurrencyStatistics(
+              totals(counts[slot], amounts[slot], PaymentStatus.AUTHORIZED),
+              totals(counts[slot], amounts[slot], PaymentStatus.DECLINED),
+              totals(counts[slot], amounts[slot], PaymentStatus.REJECTED)));
+    }
+    return result;
+  }
+
+  private static OutcomeTotals totals(long[] counts, long[] amounts, PaymentStatus status) {
+    return new OutcomeTotals(counts[status.ordinal()], amounts[status.ordinal()]);
+  }
+
+  private Bucket bucketFor(long epoch) {
+    int index = index(epoch);
+    while (true) {
+      Bucket bucket = ring.get(index);
+      if (bucket != null && bucket.epoch >= epoch) {
+        return bucket;
+      }
+      Bucket fresh = new Bucket(epoch, otherSlot + 1);
+      if (ring.compareAndSet(index, bucket, fresh)) {
+        return fresh;
+      }
+    }
+  }
+
+  private int index(long epoch) {
+    return (int) (epoch % ring.length());
+  }
+
+  /** The currency's registry index, or the {@value #OTHER_CURRENCY} slot. */
+  private int slot(String currency) {
+    int index = currencies.indexOf(currency);
+    return index == CurrencyRegistry.UNKNOWN ? otherSlot : index;
+  }
+
+  private static final class Bucket {
+
+    private final long epoch;
+    private final AtomicReferenceArray<CurrencyCounters> currencies;
+
+    private Bucket(long epoch, int slots) {
+      this.epoch = epoch;
+      this.currencies = new AtomicReferenceArray<>(slots);
+    }
+
+    CurrencyCounters counters(int slot) {
+      CurrencyCounters counters = currencies.get(slot);
+      if (counters == null) {
+        currencies.compareAndSet(slot, null, new CurrencyCounters());
+        counters = currencies.get(slot);
+      }
+      return counters;
+    }
+  }
+
+  private static final class CurrencyCounters {
+
+    private final LongAdder[] counts = newAdders();
+    private final LongAdder[] amounts = newAdders();
+
+    private static LongAdder[] newAdders() {
+      LongAdder[] adders = new LongAdder[STATUSES.length];
+      for (int i = 0; i < adders.length; i++) {
+        adders[i] = new LongAdder();
+      }
+      return adders;
+    }
+  }
+}
@@ -0,0 +1,27 @@
+package com.checkout.payment.gateway.statistics;
+
+import com.checkout.payment.gateway.model.PaymentStatisticsResponse;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/stats}: authorized, declined and rejected counts and amount totals per currency
+ * over the last 1 minute, 5 minutes and 1 hour, across all merchants. For ops dashboards, so it is
+ * served on the management port rather than to the API's clients.
+ */
+@Component
+@WebEndpoint(id = "stats")
+public class StatisticsEndpoint {
+
+  private final PaymentStatistics paymentStatistics;
+
+  public StatisticsEndpoint(PaymentStatistics paymentStatistics) {
+    this.paymentStatistics = paymentStatistics;
+  }
+
+  @ReadOperation
+  public PaymentStatisticsResponse statistics() {
+    return paymentStatistics.snapshot();
+  }
+}
@@ -0,0 +1,359 @@
+package com.checkout.payment.gateway.stream;
+
+import com.checkout.payment.gateway.model.PaymentResponse;
+import com.checkout.payment.gateway.stream.PaymentStreamProperties.OverflowPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes every stored payment to the subscribers of {@code GET /payments/stream}.
+ *
+ * <p>{@link #publish} only offers to a bounded queue, so the payment path never waits on a
+ * subscriber. A single fan-out thread drains that queue into a replay ring and into each matching
+ * subscriber's own bounded buffer. Each subscriber is drained by its own sender task, so one slow
+ * connection only ever holds up itself; when its buffer is full the configured {@link
+ * OverflowPolicy} applies. Events carry the payment ID as their SSE id, and a reconnecting client
+ * that sends it back as {@code Last-Event-ID} first receives what it missed from the replay ring.
+ */
+@Component
+public class PaymentStreamBroadcaster {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PaymentStreamBroadcaster.class);
+
+  static final String SUBSCRIBERS_METRIC = "gateway.stream.subscribers";
+  static final String DROPPED_METRIC = "gateway.stream.dropped";
+  static final String DISCONNECTED_METRIC = "gateway.stream.slow.disconnects";
+
+  static final String PAYMENT_EVENT = "payment";
+  static final String GAP_EVENT = "gap";
+
+  private final PaymentStreamProperties properties;
+  private final BlockingQueue<PaymentResponse> queue;
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  private final ThreadPoolExecutor senders;
+  private final Counter queueFullCounter;
+  private final Counter bufferFullCounter;
+  private final Counter disconnectedCounter;
+
+  // Guarded by itself; only the fan-out thread and subscribe() touch it
+  private final PaymentResponse[] ring;
+  private long published;
+
+  private volatile boolean running;
+  private Thread fanOutThread;
+
+  public PaymentStreamBroadcaster(PaymentStreamProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+    this.ring = new PaymentResponse[properties.replayCapacity()];
+    // At most one sender task per subscriber; the headroom covers senders of subscribers that have
+    // just gone away and are still finishing a write
+    this.senders =
+        new ThreadPoolExecutor(
+            0,
+            properties.maxSubscribers() * 2,
+            60,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            daemonThreads());
+    this.queueFullCounter = droppedCounter(meterRegistry, "queue_full");
+    this.bufferFullCounter = droppedCounter(meterRegistry, "buffer_full");
+    this.disconnectedCounter =
+        Counter.builder(DISCONNECTED_METRIC)
+            .description("Stream subscribers disconnected for not keeping up")
+            .register(meterRegistry);
+    Gauge.builder(SUBSCRIBERS_METRIC, subscribers, Set::size)
+        .description("Open payment stream subscriptions")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public synchronized void start() {
+    if (!properties.enabled() || running) {
+      return;
+    }
+    running = true;
+    fanOutThread = new Thread(this::fanOutLoop, "payment-stream-fan-out");
+    fanOutThread.setDaemon(true);
+    fanOutThread.start();
+  }
+
+  @PreDestroy
+  public synchronized void stop() {
+    running = false;
+    if (fanOutThread != null) {
+      fanOutThread.interrupt();
+    }
+    subscribers.forEach(Subscriber::close);
+    senders.shutdown();
+  }
+
+  /** Queues the payment for every subscriber. Never blocks; drops it if the queue is full. */
+  public void publish(PaymentResponse payment) {
+    if (running && !queue.offer(payment)) {
+      queueFullCounter.increment();
+    }
+  }
+
+  /**
+   * Opens a subscription, or returns empty when streaming is disabled or the overall or the
+   * merchant's subscriber limit is reached. With a {@code lastEventId} the payments stored after it
+   * are sent first; if it is no longer in the replay window a {@value #GAP_EVENT} event precedes
+   * the whole window instead.
+   */
+  public Optional<SseEmitter> subscribe(StreamFilter filter, String lastEventId) {
+    if (!running) {
+      return Optional.empty();
+    }
+    SseEmitter emitter = new SseEmitter(properties.timeout().toMillis());
+    Subscriber subscriber = new Subscriber(emitter, filter);
+    synchronized (ring) {
+      if (subscribers.size() >= properties.maxSubscribers()
+          || subscriberCount(filter.merchantId()) >= properties.maxSubscribersPerMerchant()) {
+        return Optional.empty();
+      }
+      if (lastEventId != null && !lastEventId.isBlank()) {
+        subscriber.gap = !replayAfter(lastEventId.trim(), filter, subscriber.replay);
+      }
+      subscribers.add(subscriber);
+    }
+    emitter.onCompletion(() -> subscribers.remove(subscriber));
+    emitter.onTimeout(subscriber::close);
+    emitter.onError(error -> subscriber.discard());
+    subscriber.schedule();
+    return Optional.of(emitter);
+  }
+
+  /** Keeps idle connections open through proxies and notices clients that have gone away. */
+  @Scheduled(fixedDelayString = "${gateway.stream.heartbeat:PT15S}")
+  public void heartbeat() {
+    for (Subscriber subscriber : subscribers) {
+      subscriber.heartbeatDue = true;
+      subscriber.schedule();
+    }
+  }
+
+  int subscriberCount() {
+    return subscribers.size();
+  }
+
+  /** A scan, but over at most {@code maxSubscribers} entries and only when subscribing. */
+  private long subscriberCount(String merchantId) {
+    return subscribers.stream()
+        .filter(subscriber -> Objects.equals(subscriber.filter.merchantId(), merchantId))
+        .count();
+  }
+
+  private void fanOutLoop() {
+    List<PaymentResponse> drained = new ArrayList<>();
+    while (running) {
+      try {
+        PaymentResponse first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        drained.add(first);
+        queue.drainTo(drained, 1023);
+        synchronized (ring) {
+          for (PaymentResponse payment : drained) {
+            ring[(int) (published++ % ring.length)] = payment;
+            for (Subscriber subscriber : subscribers) {
+              subscriber.offer(payment);
+            }
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        LOG.error("Payment stream failed to fan out payments", e);
+      } finally {
+        drained.clear();
+      }
+    }
+  }
+
+  /**
+   * Adds the matching payments stored after {@code lastEventId} to {@code out}. If the ID is not
+   * in the window, adds the whole window and returns false. Caller holds the ring lock.
+   */
+  private boolean replayAfter(String lastEventId, StreamFilter filter, Deque<PaymentResponse> out) {
+    UUID lastId;
+    try {
+      lastId = UUID.fromString(lastEventId);
+    } catch (IllegalArgumentException e) {
+      lastId = null;
+    }
+    long oldest = Math.max(0, published - ring.length);
+    long from = oldest;
+    boolean found = false;
+    for (long i = published - 1; lastId != null && i >= oldest; i--) {
+      if (lastId.equals(ring[(int) (i % ring.length)].getId())) {
+        from = i + 1;
+        found = true;
+        break;
+      }
+    }
+    for (long i = from; i < published; i++) {
+      PaymentResponse payment = ring[(int) (i % ring.length)];
+      if (filter.matches(payment)) {
+        out.add(payment);
+      }
+    }
+    return found;
+  }
+
+  private static Counter droppedCounter(MeterRegistry meterRegistry, String reason) {
+    return Counter.builder(DROPPED_METRIC)
+        .description("Payment stream events not delivered to a subscriber")
+        .tag("reason", reason)
+        .register(meterRegistry);
+  }
+
+  private static ThreadFactory daemonThreads() {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "payment-stream-sender-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private final class Subscriber {
+
+    private final SseEmitter emitter;
+    private final StreamFilter filter;
+    private final BlockingQueue<PaymentResponse> buffer;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    // Filled before the subscriber is visible to the fan-out thread, then only read by the sender
+    private final Deque<PaymentResponse> replay = new ArrayDeque<>();
+    private boolean gap;
+
+    private volatile boolean heartbeatDue;
+    private volatile boolean overflowed;
+    private volatile boolean closed;
+
+    Subscriber(SseEmitter emitter, StreamFilter filter) {
+      this.emitter = emitter;
+      this.filter = filter;
+      this.buffer = new ArrayBlockingQueue<>(properties.bufferSize());
+    }
+
+    /** Called by the fan-out thread; never blocks. */
+    void offer(PaymentResponse payment) {
+      if (closed || overflowed || !filter.matches(payment)) {
+        return;
+      }
+      if (!buffer.offer(payment)) {
+        bufferFullCounter.increment();
+        if (properties.overflow() == OverflowPolicy.DISCONNECT) {
+          overflowed = true;
+        } else {
+          buffer.poll();
+          buffer.offer(payment);
+        }
+      }
+      schedule();
+    }
+
+    void schedule() {
+      if (!closed && scheduled.compareAndSet(false, true)) {
+        try {
+          senders.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+          // Shutting down, or briefly out of senders; the next event or heartbeat tries again
+          scheduled.set(false);
+        }
+      }
+    }
+
+    /** Sends everything pending on a sender thread; at most one runs per subscriber. */
+    private void drain() {
+      try {
+        do {
+          sendPending();
+          scheduled.set(false);
+        } while (hasPending() && !closed && scheduled.compareAndSet(false, true));
+      } catch (IOException | RuntimeException e) {
+        // The client went away; the container completes the emitter itself
+        LOG.debug("Dropping payment stream subscriber: {}", e.getMessage());
+        discard();
+      }
+    }
+
+    private void sendPending() throws IOException {
+      if (gap) {
+        gap = false;
+        emitter.send(
+            SseEmitter.event().name(GAP_EVENT).data("Last-Event-ID is outside the replay window"));
+      }
+      PaymentResponse payment;
+      while (!closed && (payment = replay.poll()) != null) {
+        send(payment);
+      }
+      while (!closed && !overflowed && (payment = buffer.poll()) != null) {
+        send(payment);
+      }
+      if (overflowed && !closed) {
+        disconnectedCounter.increment();
+        LOG.info("Disconnecting payment stream subscriber that could not keep up");
+        close();
+        return;
+      }
+      if (heartbeatDue && !closed) {
+        heartbeatDue = false;
+        emitter.send(SseEmitter.event().comment("heartbeat"));
+      }
+    }
+
+    private void send(PaymentResponse payment) throws IOException {
+      emitter.send(
+          SseEmitter.event()
+              .id(String.valueOf(payment.getId()))
+              .name(PAYMENT_EVENT)
+              .data(payment, MediaType.APPLICATION_JSON));
+    }
+
+    private boolean hasPending() {
+      return !buffer.isEmpty() || heartbeatDue || overflowed;
+    }
+
+    void close() {
+      discard();
+      emitter.complete();
+    }
+
+    void discard() {
+      closed = true;
+      subscribers.remove(this);
+    }
+  }
+}
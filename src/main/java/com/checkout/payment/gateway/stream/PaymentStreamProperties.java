@@ -0,0 +1,40 @@
+package com.checkout.payment.gateway.stream;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Live stream of stored payments. At most {@code maxSubscribers} streams are open at once, and at
+ * most {@code maxSubscribersPerMerchant} of them for any one merchant. Each subscriber has a buffer
+ * of {@code bufferSize} events; when a slow consumer fills it, {@code overflow} decides whether its
+ * oldest events are dropped or it is disconnected (and can resume from the replay window of the
+ * last {@code replayCapacity} payments).
+ */
+@ConfigurationProperties(prefix = "gateway.stream")
+public record PaymentStreamProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("50") int maxSubscribers,
+    @DefaultValue("5") int maxSubscribersPerMerchant,
+    @DefaultValue("10000") int queueCapacity,
+    @DefaultValue("1000") int bufferSize,
+    @DefaultValue("DISCONNECT") OverflowPolicy overflow,
+    @DefaultValue("10000") int replayCapacity,
+    @DefaultValue("15s") Duration heartbeat,
+    @DefaultValue("30m") Duration timeout) {
+
+  public enum OverflowPolicy {
+    /** Discard the subscriber's oldest buffered event to make room; the stream has gaps. */
+    DROP_OLDEST,
+    /** End the subscriber's stream; the client reconnects with Last-Event-ID to catch up. */
+    DISCONNECT
+  }
+
+  public PaymentStreamProperties {
+    if (maxSubscribers < 1 || maxSubscribersPerMerchant < 1 || queueCapacity < 1
+        || bufferSize < 1 || replayCapacity < 1) {
+      throw new IllegalStateException(
+          "Stream subscriber, queue, buffer and replay sizes must be positive");
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package com.checkout.payment.gateway.stream;
+
+import com.checkout.payment.gateway.enums.PaymentStatus;
+import com.checkout.payment.gateway.model.PaymentResponse;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Selects the merchant's payments by status and currency. A null merchant and an empty set match
+ * everything.
+ */
+public record StreamFilter(String merchantId, Set<PaymentStatus> statuses, Set<String> currencies) {
+
+  public static final StreamFilter ALL = new StreamFilter(null, Set.of(), Set.of());
+
+  public StreamFilter {
+    statuses = statuses == null ? Set.of() : Set.copyOf(statuses);
+    currencies =
+        currencies == null
+            ? Set.of()
+            : currencies.stream().map(String::toUpperCase).collect(Collectors.toUnmodifiableSet());
+  }
+
+  public boolean matches(PaymentResponse payment) {
+    return (merchantId == null || merchantId.equals(payment.getMerchantId()))
+        && (statuses.isEmpty() || statuses.contains(payment.getStatus()))
+        && (currencies.isEmpty() || currencies.contains(payment.getCurrency()));
+  }
+}
@@ -0,0 +1,20 @@
+package com.checkout.payment.gateway.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/** The value must be a currency code listed in the gateway's currency registry. */
+@Target({ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = SupportedCurrencyValidator.class)
+public @interface SupportedCurrency {
+  String message() default "Currency must be a supported ISO 4217 currency code";
+
+  Class<?>[] groups() default {};
+
+  Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,14 @@
+package com.checkout.payment.gateway.validation;
+
+import com.checkout.payment.gateway.currency.CurrencyRegistry;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class SupportedCurrencyValidator implements ConstraintValidator<SupportedCurrency, String> {
+
+  @Override
+  public boolean isValid(String currency, ConstraintValidatorContext context) {
+    // Null is reported by @NotNull
+    return currency == null || CurrencyRegistry.standard().contains(currency);
+  }
+}
@@ -0,0 +1,23 @@
+package com.checkout.payment.gateway.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The value must be an absolute http or https URL whose host resolves only to public addresses,
+ * so the webhook dispatcher cannot be pointed at the gateway's own network.
+ */
+@Target({ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = WebhookUrlValidator.class)
+public @interface WebhookUrl {
+  String message() default "Webhook URL must be an http or https URL on a public host";
+
+  Class<?>[] groups() default {};
+
+  Class<? extends Payload>[] payload() default {};
+}
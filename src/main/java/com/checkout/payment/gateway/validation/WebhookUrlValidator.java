@@ -0,0 +1,66 @@
+package com.checkout.payment.gateway.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.UnknownHostException;
+
+public class WebhookUrlValidator implements ConstraintValidator<WebhookUrl, String> {
+
+  @Override
+  public boolean isValid(String url, ConstraintValidatorContext context) {
+    // Null and blank are reported by @NotBlank
+    if (url == null || url.isBlank()) {
+      return true;
+    }
+    try {
+      return isDeliverable(new URI(url));
+    } catch (URISyntaxException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Whether the URL is http or https without credentials and its host currently resolves only to
+   * public addresses. DNS can change after registration, so the webhook dispatcher checks again
+   * before every delivery.
+   */
+  public static boolean isDeliverable(URI uri) {
+    String scheme = uri.getScheme();
+    boolean web = "http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme);
+    if (!web || uri.getHost() == null || uri.getRawUserInfo() != null) {
+      return false;
+    }
+    try {
+      for (InetAddress address : InetAddress.getAllByName(uri.getHost())) {
+        if (!isPublic(address)) {
+          return false;
+        }
+      }
+      return true;
+    } catch (UnknownHostException e) {
+      return false;
+    }
+  }
+
+  /** Not loopback, link-local (cloud metadata), private, carrier-grade NAT or multicast. */
+  static boolean isPublic(InetAddress address) {
+    if (address.isAnyLocalAddress()
+        || address.isLoopbackAddress()
+        || address.isLinkLocalAddress()
+        || address.isSiteLocalAddress()
+        || address.isMulticastAddress()) {
+      return false;
+    }
+    byte[] bytes = address.getAddress();
+    if (bytes.length == 4) {
+      int first = bytes[0] & 0xff;
+      int second = bytes[1] & 0xff;
+      return first != 0 && !(first == 100 && second >= 64 && second < 128);
+    }
+    // IPv6 unique local addresses, fc00::/7
+    return (bytes[0] & 0xfe) != 0xfc;
+  }
+}
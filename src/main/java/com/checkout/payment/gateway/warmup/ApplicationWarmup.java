@@ -0,0 +1,115 @@
+package com.checkout.payment.gateway.warmup;
+
+import com.checkout.payment.gateway.acquirer.service.AcquiringBankClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Optional warm-up before the instance reports ready. The first thousands of payments after a
+ * deploy would otherwise run interpreted and open fresh bank connections, giving every rollout a
+ * latency spike.
+ *
+ * <p>Runs on a background thread once the context is up, so liveness and the actuator are
+ * available throughout. {@link WarmupHealthIndicator} keeps the readiness group out of service
+ * until the payment path has been exercised by {@link PaymentPathWarmer} and the bank connections
+ * are open. A warm-up that fails is logged and does not hold readiness back.
+ */
+@Component
+public class ApplicationWarmup implements ApplicationRunner {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ApplicationWarmup.class);
+
+  static final String DURATION_METRIC = "gateway.warmup.duration";
+
+  public enum State {
+    DISABLED,
+    PENDING,
+    RUNNING,
+    COMPLETE,
+    FAILED
+  }
+
+  private final WarmupProperties properties;
+  private final PaymentPathWarmer paymentPathWarmer;
+  private final AcquiringBankClient acquiringBankClient;
+
+  private volatile State state;
+  private volatile long durationMillis;
+  private volatile PaymentPathWarmer.Result result;
+  private volatile int bankConnectionsOpened;
+
+  public ApplicationWarmup(
+      WarmupProperties properties,
+      PaymentPathWarmer paymentPathWarmer,
+      AcquiringBankClient acquiringBankClient,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.paymentPathWarmer = paymentPathWarmer;
+    this.acquiringBankClient = acquiringBankClient;
+    this.state = properties.enabled() ? State.PENDING : State.DISABLED;
+    TimeGauge.builder(DURATION_METRIC, this, TimeUnit.MILLISECONDS, w -> w.durationMillis)
+        .description("How long the startup warm-up took")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (state != State.PENDING) {
+      return;
+    }
+    state = State.RUNNING;
+    Thread thread = new Thread(this::warmUp, "warmup");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  void warmUp() {
+    long started = System.nanoTime();
+    try {
+      result = paymentPathWarmer.warmUp(properties);
+      bankConnectionsOpened = acquiringBankClient.openConnections(properties.bankConnections());
+      durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+      state = State.COMPLETE;
+      LOG.info(
+          "Warm-up finished in {} ms: {} rounds, {} payments, {} ms of JIT compilation, "
+              + "{}/{} bank connections opened",
+          durationMillis,
+          result.rounds(),
+          result.payments(),
+          result.compilationMillis(),
+          bankConnectionsOpened,
+          properties.bankConnections());
+    } catch (RuntimeException e) {
+      durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+      state = State.FAILED;
+      LOG.warn("Warm-up failed after {} ms, reporting ready anyway", durationMillis, e);
+    }
+  }
+
+  public State getState() {
+    return state;
+  }
+
+  /** Whether warm-up no longer holds readiness back. */
+  public boolean isSettled() {
+    return state != State.PENDING && state != State.RUNNING;
+  }
+
+  public long getDurationMillis() {
+    return durationMillis;
+  }
+
+  public PaymentPathWarmer.Result getResult() {
+    return result;
+  }
+
+  public int getBankConnectionsOpened() {
+    return bankConnectionsOpened;
+  }
+}
@@ -0,0 +1,139 @@
+package com.checkout.payment.gateway.warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Measures the latency of the first traffic an instance serves, from the first request for {@code
+ * gateway.warmup.first-traffic-window}, and logs a summary on the first request after the window
+ * closes. The timer is tagged with whether warm-up ran, so rollouts with and without it can be
+ * compared directly. After the window the filter costs one atomic read per request. The actuator
+ * and the long-lived stream and export responses are left out, as they would dominate the numbers.
+ */
+@Component
+public class FirstTrafficLatencyFilter extends OncePerRequestFilter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(FirstTrafficLatencyFilter.class);
+
+  static final String LATENCY_METRIC = "gateway.warmup.first.traffic.latency";
+
+  private static final Set<String> LONG_LIVED_PATHS =
+      Set.of("/payments/stream", "/payments/export");
+
+  private final long windowNanos;
+  private final String warmupTag;
+  private final Timer timer;
+  private final AtomicLong windowEnd = new AtomicLong();
+  private final AtomicBoolean summarised = new AtomicBoolean();
+
+  public FirstTrafficLatencyFilter(WarmupProperties properties, MeterRegistry meterRegistry) {
+    this.windowNanos = properties.firstTrafficWindow().toNanos();
+    this.warmupTag = properties.enabled() ? "enabled" : "disabled";
+    this.timer =
+        Timer.builder(LATENCY_METRIC)
+            .description("Request latency during the first traffic after startup")
+            .tag("warmup", warmupTag)
+            .publishPercentiles(0.5, 0.99, 0.999)
+            .register(meterRegistry);
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    String path = request.getRequestURI();
+    return path.startsWith("/actuator") || LONG_LIVED_PATHS.contains(path);
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    long started = System.nanoTime();
+    long end = windowEnd.get();
+    if (end == 0) {
+      windowEnd.compareAndSet(0, started + windowNanos);
+      end = windowEnd.get();
+    }
+    if (started - end >= 0) {
+      summariseOnce();
+      chain.doFilter(request, response);
+      return;
+    }
+
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      if (request.isAsyncStarted()) {
+        // Lane-executed handlers finish after this thread returns
+        request.getAsyncContext().addListener(new CompletionListener(started));
+      } else {
+        record(started);
+      }
+    }
+  }
+
+  private void record(long started) {
+    timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+  }
+
+  private void summariseOnce() {
+    if (!summarised.compareAndSet(false, true)) {
+      return;
+    }
+    HistogramSnapshot snapshot = timer.takeSnapshot();
+    StringBuilder percentiles = new StringBuilder();
+    for (ValueAtPercentile value : snapshot.percentileValues()) {
+      percentiles
+          .append(" p")
+          .append(value.percentile() * 100)
+          .append('=')
+          .append(String.format("%.2fms", value.value(TimeUnit.MILLISECONDS)));
+    }
+    LOG.info(
+        "First-traffic latency (warm-up {}): {} requests, mean={}ms, max={}ms,{}",
+        warmupTag,
+        snapshot.count(),
+        String.format("%.2f", snapshot.mean(TimeUnit.MILLISECONDS)),
+        String.format("%.2f", snapshot.max(TimeUnit.MILLISECONDS)),
+        percentiles);
+  }
+
+  private final class CompletionListener implements AsyncListener {
+
+    private final long started;
+
+    CompletionListener(long started) {
+      this.started = started;
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+      record(started);
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {}
+
+    @Override
+    public void onError(AsyncEvent event) {}
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {}
+  }
+}
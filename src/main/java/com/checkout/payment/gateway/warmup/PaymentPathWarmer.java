@@ -0,0 +1,187 @@
+package com.checkout.payment.gateway.warmup;
+
+import com.checkout.payment.gateway.acquirer.model.BankPaymentResponse;
+import com.checkout.payment.gateway.acquirer.service.AcquiringBankClient;
+import com.checkout.payment.gateway.bin.BinTableService;
+import com.checkout.payment.gateway.currency.CurrencyRegistry;
+import com.checkout.payment.gateway.currency.FxRateService;
+import com.checkout.payment.gateway.duplicate.DuplicateDetectionProperties;
+import com.checkout.payment.gateway.duplicate.DuplicatePaymentDetector;
+import com.checkout.payment.gateway.id.PaymentIdGenerator;
+import com.checkout.payment.gateway.model.PaymentResponse;
+import com.checkout.payment.gateway.model.PostPaymentRequest;
+import com.checkout.payment.gateway.repository.PaymentsRepository;
+import com.checkout.payment.gateway.service.PaymentGatewayService;
+import com.checkout.payment.gateway.statistics.PaymentStatistics;
+import com.checkout.payment.gateway.stream.PaymentStreamBroadcaster;
+import com.checkout.payment.gateway.stream.PaymentStreamProperties;
+import com.checkout.payment.gateway.webhook.WebhookDeadLetterStore;
+import com.checkout.payment.gateway.webhook.WebhookDispatcher;
+import com.checkout.payment.gateway.webhook.WebhookProperties;
+import com.checkout.payment.gateway.webhook.WebhookRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validator;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Year;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drives synthetic payments through the same code the real requests use: Jackson binding, bean
+ * validation, {@link PaymentGatewayService} and response serialisation. The bank is a no-op
+ * stand-in that follows the simulator's odd/even rule.
+ *
+ * <p>The service is a throwaway instance with its own repository, statistics, duplicate detector,
+ * and (never started) webhook dispatcher and stream broadcaster. Synthetic payments therefore never
+ * show up in lookups, exports, streams, {@code /actuator/stats} or metrics, while the JIT still
+ * sees the shared classes and the real BIN table, FX rates and ID generator.
+ */
+@Component
+public class PaymentPathWarmer {
+
+  private static final String[] CARD_PREFIXES = {"222240", "424242", "411111", "535522", "601100"};
+  private static final String[] CURRENCIES = {"GBP", "EUR", "USD", "JPY", "CHF", "KWD"};
+  private static final String WARMUP_MERCHANT = "warmup";
+  private static final String PAYMENT_JSON =
+      """
+      {"card_number":"%s%010d","expiry_month":%d,"expiry_year":%d,"currency":"%s",\
+      "amount":%d,"cvv":"%s"}""";
+
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final PaymentIdGenerator paymentIdGenerator;
+  private final BinTableService binTableService;
+  private final FxRateService fxRateService;
+  private final CurrencyRegistry currencyRegistry;
+  private final DuplicateDetectionProperties duplicateDetectionProperties;
+  private final WebhookProperties webhookProperties;
+  private final PaymentStreamProperties paymentStreamProperties;
+
+  public PaymentPathWarmer(
+      ObjectMapper objectMapper,
+      Validator validator,
+      PaymentIdGenerator paymentIdGenerator,
+      BinTableService binTableService,
+      FxRateService fxRateService,
+      CurrencyRegistry currencyRegistry,
+      DuplicateDetectionProperties duplicateDetectionProperties,
+      WebhookProperties webhookProperties,
+      PaymentStreamProperties paymentStreamProperties) {
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+    this.paymentIdGenerator = paymentIdGenerator;
+    this.binTableService = binTableService;
+    this.fxRateService = fxRateService;
+    this.currencyRegistry = currencyRegistry;
+    this.duplicateDetectionProperties = duplicateDetectionProperties;
+    this.webhookProperties = webhookProperties;
+    this.paymentStreamProperties = paymentStreamProperties;
+  }
+
+  public record Result(int rounds, long payments, long compilationMillis) {}
+
+  /** Runs rounds until compilation settles, {@code minRounds} is reached and time allows. */
+  public Result warmUp(WarmupProperties properties) {
+    CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+    boolean canObserveCompiler =
+        compiler != null && compiler.isCompilationTimeMonitoringSupported();
+    long settledMillis = properties.settledCompilationTime().toMillis();
+    long deadline = System.nanoTime() + properties.maxDuration().toNanos();
+
+    SimpleMeterRegistry throwawayMetrics = new SimpleMeterRegistry();
+    WebhookDispatcher idleDispatcher =
+        new WebhookDispatcher(
+            webhookProperties,
+            new WebhookRegistry(),
+            new WebhookDeadLetterStore(webhookProperties),
+            objectMapper,
+            throwawayMetrics);
+    PaymentStreamBroadcaster idleBroadcaster =
+        new PaymentStreamBroadcaster(paymentStreamProperties, throwawayMetrics);
+    try {
+      PaymentGatewayService service =
+          new PaymentGatewayService(
+              new PaymentsRepository(),
+              noOpAcquirer(),
+              paymentIdGenerator,
+              binTableService,
+              new DuplicatePaymentDetector(duplicateDetectionProperties, throwawayMetrics),
+              new PaymentStatistics(currencyRegistry),
+              idleDispatcher,
+              idleBroadcaster,
+              fxRateService);
+
+      long compilationAtStart = canObserveCompiler ? compiler.getTotalCompilationTime() : 0;
+      long lastCompilation = compilationAtStart;
+      int rounds = 0;
+      int settled = 0;
+      long payments = 0;
+      while (System.nanoTime() < deadline) {
+        payments += runRound(service, properties.paymentsPerRound());
+        rounds++;
+        if (!canObserveCompiler) {
+          if (rounds >= properties.minRounds()) {
+            break;
+          }
+          continue;
+        }
+        long compilation = compiler.getTotalCompilationTime();
+        settled = compilation - lastCompilation <= settledMillis ? settled + 1 : 0;
+        lastCompilation = compilation;
+        if (rounds >= properties.minRounds() && settled >= properties.settledRounds()) {
+          break;
+        }
+      }
+      return new Result(rounds, payments, lastCompilation - compilationAtStart);
+    } finally {
+      idleDispatcher.stop();
+      idleBroadcaster.stop();
+    }
+  }
+
+  /** Returns how many synthetic payments passed validation and were processed. */
+  private long runRound(PaymentGatewayService service, int payments) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int expiryYear = Year.now().getValue() + 2;
+    long processed = 0;
+    for (int i = 0; i < payments; i++) {
+      // One in ten is invalid so the validation failure path gets compiled too
+      String cvv = i % 10 == 9 ? "12" : "123";
+      String json =
+          PAYMENT_JSON.formatted(
+              CARD_PREFIXES[random.nextInt(CARD_PREFIXES.length)],
+              random.nextLong(10_000_000_000L),
+              1 + random.nextInt(12),
+              expiryYear,
+              CURRENCIES[random.nextInt(CURRENCIES.length)],
+              1 + random.nextInt(100_000),
+              cvv);
+      try {
+        PostPaymentRequest request = objectMapper.readValue(json, PostPaymentRequest.class);
+        if (!validator.validate(request).isEmpty()) {
+          continue;
+        }
+        PaymentResponse response = service.processPayment(request, WARMUP_MERCHANT);
+        objectMapper.writeValueAsBytes(response);
+        processed++;
+      } catch (JsonProcessingException | RuntimeException e) {
+        // e.g. a suspected duplicate in reject mode; warm-up only cares that the code ran
+      }
+    }
+    return processed;
+  }
+
+  private static AcquiringBankClient noOpAcquirer() {
+    return request -> {
+      char last = request.getCardNumber().charAt(request.getCardNumber().length() - 1);
+      boolean authorized = (last - '0') % 2 == 1;
+      return BankPaymentResponse.builder()
+          .authorized(authorized)
+          .authorizationCode(authorized ? "warmup" : null)
+          .build();
+    };
+  }
+}
@@ -0,0 +1,33 @@
+package com.checkout.payment.gateway.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports {@code OUT_OF_SERVICE} while the startup warm-up is running. Included in the readiness
+ * group, so load balancers only route to the instance once it is warm.
+ */
+@Component("warmup")
+public class WarmupHealthIndicator implements HealthIndicator {
+
+  private final ApplicationWarmup warmup;
+
+  public WarmupHealthIndicator(ApplicationWarmup warmup) {
+    this.warmup = warmup;
+  }
+
+  @Override
+  public Health health() {
+    Health.Builder health = warmup.isSettled() ? Health.up() : Health.outOfService();
+    health.withDetail("state", warmup.getState());
+    if (warmup.getResult() != null) {
+      health
+          .withDetail("durationMillis", warmup.getDurationMillis())
+          .withDetail("rounds", warmup.getResult().rounds())
+          .withDetail("payments", warmup.getResult().payments())
+          .withDetail("bankConnections", warmup.getBankConnectionsOpened());
+    }
+    return health.build();
+  }
+}
@@ -0,0 +1,29 @@
+package com.checkout.payment.gateway.warmup;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Startup warm-up. Synthetic payments run in rounds of {@code paymentsPerRound} until the JIT has
+ * spent no more than {@code settledCompilationTime} compiling during {@code settledRounds}
+ * consecutive rounds. There are always at least {@code minRounds} rounds, and the run stops after
+ * {@code maxDuration} regardless.
+ */
+@ConfigurationProperties(prefix = "gateway.warmup")
+public record WarmupProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("2000") int paymentsPerRound,
+    @DefaultValue("3") int minRounds,
+    @DefaultValue("2") int settledRounds,
+    @DefaultValue("10ms") Duration settledCompilationTime,
+    @DefaultValue("60s") Duration maxDuration,
+    @DefaultValue("5") int bankConnections,
+    @DefaultValue("60s") Duration firstTrafficWindow) {
+
+  public WarmupProperties {
+    if (paymentsPerRound < 1 || minRounds < 1 || settledRounds < 1 || bankConnections < 0) {
+      throw new IllegalStateException("Warm-up rounds and sizes must be positive");
+    }
+  }
+}
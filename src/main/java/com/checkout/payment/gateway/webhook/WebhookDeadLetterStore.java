@@ -0,0 +1,38 @@
+package com.checkout.payment.gateway.webhook;
+
+import com.checkout.payment.gateway.model.WebhookDeadLetter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * Notifications that could not be delivered, kept so merchants can reconcile them. Bounded: once
+ * full, the oldest entry is dropped for each new one.
+ */
+@Component
+public class WebhookDeadLetterStore {
+
+  private final int capacity;
+  private final Deque<WebhookDeadLetter> deadLetters;
+
+  public WebhookDeadLetterStore(WebhookProperties properties) {
+    this.capacity = properties.deadLetterCapacity();
+    this.deadLetters = new ArrayDeque<>(capacity);
+  }
+
+  public synchronized void add(WebhookDeadLetter deadLetter) {
+    if (deadLetters.size() == capacity) {
+      deadLetters.removeFirst();
+    }
+    deadLetters.addLast(deadLetter);
+  }
+
+  public synchronized List<WebhookDeadLetter> forMerchant(String merchantId) {
+    return deadLetters.stream().filter(d -> d.merchantId().equals(merchantId)).toList();
+  }
+
+  public synchronized int size() {
+    return deadLetters.size();
+  }
+}
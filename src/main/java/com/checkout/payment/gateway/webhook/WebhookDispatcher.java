@@ -0,0 +1,453 @@
+package com.checkout.payment.gateway.webhook;
+
+import com.checkout.payment.gateway.model.PaymentResponse;
+import com.checkout.payment.gateway.model.WebhookDeadLetter;
+import com.checkout.payment.gateway.model.WebhookNotification;
+import com.checkout.payment.gateway.validation.WebhookUrlValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers payment outcomes to merchant webhooks without ever holding up the payment path.
+ *
+ * <p>{@link #publish} only offers to a bounded queue; if the queue is full the notification is
+ * handed over without locking for the dispatcher thread to dead-letter, so the payment thread never
+ * waits on the dead-letter store or logging. A single dispatcher thread drains the
+ * queue into per-endpoint backlogs and sends them with the non-blocking JDK {@link HttpClient}.
+ * Each endpoint has a fixed number of in-flight requests; while they are all busy its backlog
+ * builds up and is sent as one batch when a request completes, so a slow merchant receives fewer,
+ * larger deliveries rather than a growing pile of connections.
+ *
+ * <p>A failed delivery (transport error or non-2xx response) is retried per payment with
+ * exponential backoff and jitter, and dead-lettered after {@code maxAttempts}. Delivery is at least
+ * once: merchants should de-duplicate on the payment ID. Anything still queued at shutdown is lost.
+ *
+ * <p>The endpoint's host is resolved and checked again before every delivery, so a registration
+ * whose DNS is later pointed at a private or loopback address is dead-lettered rather than sent.
+ * The HTTP client's own lookup follows straight after and is answered from the JVM's address
+ * cache, so it connects to the addresses that were checked.
+ */
+@Component
+public class WebhookDispatcher {
+
+  private static final Logger LOG = LoggerFactory.getLogger(WebhookDispatcher.class);
+
+  static final String DELIVERED_METRIC = "gateway.webhooks.delivered";
+  static final String RETRIED_METRIC = "gateway.webhooks.retried";
+  static final String DEAD_LETTERED_METRIC = "gateway.webhooks.dead.lettered";
+  static final String QUEUE_METRIC = "gateway.webhooks.queue.size";
+
+  private static final long ENDPOINT_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final WebhookProperties properties;
+  private final WebhookRegistry registry;
+  private final WebhookDeadLetterStore deadLetterStore;
+  private final ObjectMapper objectMapper;
+  private final Predicate<URI> deliverable;
+  private final BlockingQueue<PendingEvent> queue;
+  // Turned away by a full queue on a payment thread, dead-lettered by the dispatcher thread
+  private final ConcurrentLinkedQueue<PendingEvent> overflowed = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger overflowedSize = new AtomicInteger();
+  private final ConcurrentMap<URI, Endpoint> endpoints = new ConcurrentHashMap<>();
+  private final ExecutorService httpExecutor;
+  private final HttpClient httpClient;
+  private final ScheduledExecutorService retryScheduler;
+  private final Counter deliveredCounter;
+  private final Counter retriedCounter;
+  private final Counter deadLetteredCounter;
+
+  private volatile boolean running;
+  private Thread dispatcherThread;
+  private long lastEndpointSweepNanos;
+
+  @Autowired
+  public WebhookDispatcher(
+      WebhookProperties properties,
+      WebhookRegistry registry,
+      WebhookDeadLetterStore deadLetterStore,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
+    this(
+        properties,
+        registry,
+        deadLetterStore,
+        objectMapper,
+        meterRegistry,
+        WebhookUrlValidator::isDeliverable);
+  }
+
+  WebhookDispatcher(
+      WebhookProperties properties,
+      WebhookRegistry registry,
+      WebhookDeadLetterStore deadLetterStore,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      Predicate<URI> deliverable) {
+    this.properties = properties;
+    this.registry = registry;
+    this.deadLetterStore = deadLetterStore;
+    this.objectMapper = objectMapper;
+    this.deliverable = deliverable;
+    this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+    this.httpExecutor = Executors.newFixedThreadPool(2, daemonThreads("webhook-http-"));
+    this.httpClient =
+        HttpClient.newBuilder()
+            .connectTimeout(properties.connectTimeout())
+            .executor(httpExecutor)
+            .build();
+    this.retryScheduler =
+        Executors.newSingleThreadScheduledExecutor(daemonThreads("webhook-retry-"));
+    this.deliveredCounter =
+        Counter.builder(DELIVERED_METRIC)
+            .description("Payment notifications delivered to merchant webhooks")
+            .register(meterRegistry);
+    this.retriedCounter =
+        Counter.builder(RETRIED_METRIC)
+            .description("Payment notifications scheduled for another delivery attempt")
+            .register(meterRegistry);
+    this.deadLetteredCounter =
+        Counter.builder(DEAD_LETTERED_METRIC)
+            .description("Payment notifications given up on")
+            .register(meterRegistry);
+    Gauge.builder(QUEUE_METRIC, queue, BlockingQueue::size)
+        .description("Payment notifications waiting for the dispatcher")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public synchronized void start() {
+    if (!properties.enabled() || running) {
+      return;
+    }
+    running = true;
+    dispatcherThread = new Thread(this::dispatchLoop, "webhook-dispatcher");
+    dispatcherThread.setDaemon(true);
+    dispatcherThread.start();
+  }
+
+  @PreDestroy
+  public synchronized void stop() {
+    running = false;
+    if (dispatcherThread != null) {
+      dispatcherThread.interrupt();
+    }
+    retryScheduler.shutdownNow();
+    httpExecutor.shutdownNow();
+    int undelivered = queue.size() + backlogSize();
+    if (undelivered > 0) {
+      LOG.warn("Discarding {} undelivered webhook notifications on shutdown", undelivered);
+    }
+  }
+
+  /** Queues the payment outcome for the merchant's webhook, if one is registered. Never blocks. */
+  public void publish(String merchantId, PaymentResponse payment) {
+    if (!running) {
+      return;
+    }
+    registry
+        .endpointFor(merchantId)
+        .ifPresent(
+            endpoint -> {
+              PendingEvent event = new PendingEvent(merchantId, endpoint, payment, 0);
+              if (!queue.offer(event)) {
+                overflow(event);
+              }
+            });
+  }
+
+  /**
+   * Keeps at most a dead-letter store's worth of overflowed notifications for the dispatcher; any
+   * more would only push older entries out of the store, so they are just counted.
+   */
+  private void overflow(PendingEvent event) {
+    if (overflowedSize.incrementAndGet() <= properties.deadLetterCapacity()) {
+      overflowed.add(event);
+    } else {
+      overflowedSize.decrementAndGet();
+      deadLetteredCounter.increment();
+    }
+  }
+
+  private void deadLetterOverflowed() {
+    PendingEvent event;
+    while ((event = overflowed.poll()) != null) {
+      overflowedSize.decrementAndGet();
+      deadLetter(event, "Dispatch queue full");
+    }
+  }
+
+  private void dispatchLoop() {
+    List<PendingEvent> drained = new ArrayList<>(properties.maxBatchSize());
+    Set<Endpoint> touched = new LinkedHashSet<>();
+    while (running) {
+      try {
+        deadLetterOverflowed();
+        sweepEndpoints();
+        PendingEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        drained.add(first);
+        queue.drainTo(drained, properties.maxBatchSize() - 1);
+        for (PendingEvent event : drained) {
+          Endpoint endpoint = endpointFor(event.endpoint());
+          if (endpoint.offer(event)) {
+            touched.add(endpoint);
+          } else {
+            deadLetter(event, "Endpoint backlog full");
+          }
+        }
+        touched.forEach(this::pump);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        LOG.error("Webhook dispatcher failed to hand off notifications", e);
+      } finally {
+        drained.clear();
+        touched.clear();
+      }
+    }
+  }
+
+  private Endpoint endpointFor(URI uri) {
+    return endpoints.computeIfAbsent(uri, Endpoint::new);
+  }
+
+  /**
+   * Forgets endpoints that no merchant has registered any more once their backlog has drained.
+   * Runs on the dispatcher thread, the only one that adds endpoints; a retry still scheduled for a
+   * forgotten endpoint is sent through its old entry.
+   */
+  private void sweepEndpoints() {
+    long now = System.nanoTime();
+    if (now - lastEndpointSweepNanos < ENDPOINT_SWEEP_INTERVAL_NANOS) {
+      return;
+    }
+    lastEndpointSweepNanos = now;
+    Set<URI> registered = registry.registeredEndpoints();
+    endpoints
+        .values()
+        .removeIf(endpoint -> !registered.contains(endpoint.uri) && endpoint.isIdle());
+  }
+
+  int trackedEndpoints() {
+    return endpoints.size();
+  }
+
+  /** Notifications handed to endpoints but not yet sent. */
+  int backlogSize() {
+    return endpoints.values().stream().mapToInt(endpoint -> endpoint.size.get()).sum();
+  }
+
+  /**
+   * Sends the endpoint's backlog in batches for as long as it has a free connection. Called from
+   * the dispatcher thread, the retry scheduler and HTTP completions.
+   */
+  private void pump(Endpoint endpoint) {
+    while (running && endpoint.connections.tryAcquire()) {
+      List<PendingEvent> batch = endpoint.takeBatch(properties.maxBatchSize());
+      if (batch.isEmpty()) {
+        endpoint.connections.release();
+        // Something may have been offered after the batch was taken but before the release, by a
+        // caller whose own tryAcquire failed because this thread held the permit.
+        if (endpoint.pending.isEmpty()) {
+          return;
+        }
+        continue;
+      }
+      send(endpoint, batch);
+    }
+  }
+
+  private void send(Endpoint endpoint, List<PendingEvent> batch) {
+    if (!deliverable.test(endpoint.uri)) {
+      endpoint.connections.release();
+      batch.forEach(event -> deadLetter(event, "Webhook host is not a public address"));
+      return;
+    }
+    byte[] body;
+    try {
+      body = objectMapper.writeValueAsBytes(new WebhookNotification(payments(batch)));
+    } catch (JsonProcessingException e) {
+      endpoint.connections.release();
+      batch.forEach(event -> deadLetter(event, "Notification could not be serialised"));
+      return;
+    }
+
+    HttpRequest request =
+        HttpRequest.newBuilder(endpoint.uri)
+            .timeout(properties.requestTimeout())
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .POST(BodyPublishers.ofByteArray(body))
+            .build();
+
+    httpClient
+        .sendAsync(request, BodyHandlers.discarding())
+        .whenComplete(
+            (response, error) -> {
+              endpoint.connections.release();
+              if (error == null && isSuccessful(response)) {
+                deliveredCounter.increment(batch.size());
+              } else {
+                String reason =
+                    error != null ? error.toString() : "HTTP " + response.statusCode();
+                LOG.debug("Webhook delivery to {} failed: {}", endpoint.uri, reason);
+                batch.forEach(event -> retryOrDeadLetter(endpoint, event, reason));
+              }
+              pump(endpoint);
+            });
+  }
+
+  private void retryOrDeadLetter(Endpoint endpoint, PendingEvent failed, String reason) {
+    PendingEvent next = failed.nextAttempt();
+    if (next.attempt() >= properties.maxAttempts()) {
+      deadLetter(next, reason);
+      return;
+    }
+    retriedCounter.increment();
+    try {
+      retryScheduler.schedule(
+          () -> {
+            if (endpoint.offer(next)) {
+              pump(endpoint);
+            } else {
+              deadLetter(next, "Endpoint backlog full");
+            }
+          },
+          backoffMillis(next.attempt()),
+          TimeUnit.MILLISECONDS);
+    } catch (RuntimeException e) {
+      // Rejected because we are shutting down.
+      deadLetter(next, reason);
+    }
+  }
+
+  /** Full jitter over an exponentially growing, capped delay. */
+  private long backoffMillis(int attempt) {
+    long initial = properties.initialBackoff().toMillis();
+    long cap = properties.maxBackoff().toMillis();
+    long delay = attempt >= 31 ? cap : Math.min(cap, initial << (attempt - 1));
+    return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+  }
+
+  private void deadLetter(PendingEvent event, String reason) {
+    deadLetteredCounter.increment();
+    LOG.warn(
+        "Giving up on webhook notification for payment {} to {}: {}",
+        event.payment().getId(),
+        event.endpoint(),
+        reason);
+    deadLetterStore.add(
+        new WebhookDeadLetter(
+            event.merchantId(),
+            event.payment().getId(),
+            event.endpoint().toString(),
+            event.attempt(),
+            reason,
+            Instant.now()));
+  }
+
+  private static boolean isSuccessful(HttpResponse<?> response) {
+    return response.statusCode() >= 200 && response.statusCode() < 300;
+  }
+
+  private static List<PaymentResponse> payments(List<PendingEvent> batch) {
+    List<PaymentResponse> payments = new ArrayList<>(batch.size());
+    for (PendingEvent event : batch) {
+      payments.add(event.payment());
+    }
+    return payments;
+  }
+
+  private static ThreadFactory daemonThreads(String prefix) {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /** A notification and how many delivery attempts have already failed. */
+  private record PendingEvent(
+      String merchantId, URI endpoint, PaymentResponse payment, int attempt) {
+
+    PendingEvent nextAttempt() {
+      return new PendingEvent(merchantId, endpoint, payment, attempt + 1);
+    }
+  }
+
+  /** Backlog and connection permits for one webhook URL. */
+  private final class Endpoint {
+
+    final URI uri;
+    final Semaphore connections = new Semaphore(properties.maxConnectionsPerEndpoint());
+    final ConcurrentLinkedQueue<PendingEvent> pending = new ConcurrentLinkedQueue<>();
+    final AtomicInteger size = new AtomicInteger();
+
+    Endpoint(URI uri) {
+      this.uri = uri;
+    }
+
+    boolean isIdle() {
+      return size.get() == 0
+          && connections.availablePermits() == properties.maxConnectionsPerEndpoint();
+    }
+
+    boolean offer(PendingEvent event) {
+      if (size.incrementAndGet() > properties.maxPendingPerEndpoint()) {
+        size.decrementAndGet();
+        return false;
+      }
+      pending.add(event);
+      return true;
+    }
+
+    List<PendingEvent> takeBatch(int maxSize) {
+      List<PendingEvent> batch = new ArrayList<>(Math.min(maxSize, size.get()));
+      PendingEvent event;
+      while (batch.size() < maxSize && (event = pending.poll()) != null) {
+        size.decrementAndGet();
+        batch.add(event);
+      }
+      return batch;
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package com.checkout.payment.gateway.webhook;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "gateway.webhooks")
+public record WebhookProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("10000") int queueCapacity,
+    @DefaultValue("50") int maxBatchSize,
+    @DefaultValue("4") int maxConnectionsPerEndpoint,
+    @DefaultValue("1000") int maxPendingPerEndpoint,
+    @DefaultValue("6") int maxAttempts,
+    @DefaultValue("1s") Duration initialBackoff,
+    @DefaultValue("5m") Duration maxBackoff,
+    @DefaultValue("2s") Duration connectTimeout,
+    @DefaultValue("5s") Duration requestTimeout,
+    @DefaultValue("1000") int deadLetterCapacity) {
+
+  public WebhookProperties {
+    if (queueCapacity < 1 || maxBatchSize < 1 || maxConnectionsPerEndpoint < 1
+        || maxPendingPerEndpoint < 1 || maxAttempts < 1 || deadLetterCapacity < 1) {
+      throw new IllegalStateException(
+          "Webhook queue, batch, connection, retry and dead-letter limits must be positive");
+    }
+  }
+}
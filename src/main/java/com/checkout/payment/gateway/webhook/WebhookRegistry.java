@@ -0,0 +1,32 @@
+package com.checkout.payment.gateway.webhook;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/** The webhook endpoint each merchant has registered, at most one per merchant. */
+@Component
+public class WebhookRegistry {
+
+  private final Map<String, URI> endpointsByMerchant = new ConcurrentHashMap<>();
+
+  public void register(String merchantId, URI endpoint) {
+    endpointsByMerchant.put(merchantId, endpoint);
+  }
+
+  public boolean unregister(String merchantId) {
+    return endpointsByMerchant.remove(merchantId) != null;
+  }
+
+  public Optional<URI> endpointFor(String merchantId) {
+    return Optional.ofNullable(endpointsByMerchant.get(merchantId));
+  }
+
+  /** Every URL some merchant currently has registered. */
+  public Set<URI> registeredEndpoints() {
+    return Set.copyOf(endpointsByMerchant.values());
+  }
+}
@@ -0,0 +1,198 @@
+package com.checkout.payment.gateway.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.checkout.payment.gateway.enums.PaymentStatus;
+import com.checkout.payment.gateway.model.PaymentResponse;
+import com.checkout.payment.gateway.repository.PaymentsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("Payment Archive")
+class PaymentArchiveTest {
+
+  private static final Instant NOW = Instant.parse("2026-06-01T12:00:00Z");
+
+  @TempDir Path tempDir;
+
+  private final List<PaymentArchive> archives = new ArrayList<>();
+
+  @AfterEach
+  void tearDown() {
+    archives.forEach(PaymentArchive::close);
+  }
+
+  @Nested
+  @DisplayName("segments")
+  class Segments {
+
+    @Test
+    @DisplayName("should find every archived payment with all its fields")
+    void shouldRoundTrip() {
+      PaymentArchive archive = archive();
+      List<PaymentResponse> payments = payments(1000, NOW.minus(Duration.ofDays(5)));
+
+      archive.archive(payments);
+
+      assertThat(archive.size()).isEqualTo(1000);
+      for (PaymentResponse payment : payments) {
+        assertThat(archive.find(payment.getId())).contains(payment);
+      }
+    }
+
+    @Test
+    @DisplayName("should keep null fields null")
+    void shouldRoundTripNulls() {
+      PaymentArchive archive = archive();
+      PaymentResponse sparse = PaymentResponse.builder().id(UUID.randomUUID()).build();
+
+      archive.archive(List.of(sparse));
+
+      assertThat(archive.find(sparse.getId())).contains(sparse);
+    }
+
+    @Test
+    @DisplayName("should not find payments that were never archived")
+    void shouldMissUnknownIds() {
+      PaymentArchive archive = archive();
+      archive.archive(payments(500, NOW));
+
+      for (int i = 0; i < 100; i++) {
+        assertThat(archive.find(UUID.randomUUID())).isEmpty();
+      }
+    }
+
+    @Test
+    @DisplayName("should split large batches across segments")
+    void shouldSplitSegments() throws IOException {
+      PaymentArchive archive = archive();
+      List<PaymentResponse> payments = payments(250, NOW);
+
+      archive.archive(payments);
+
+      assertThat(segmentFiles()).hasSize(3);
+      assertThat(archive.stream()).containsExactlyInAnyOrderElementsOf(payments);
+    }
+
+    @Test
+    @DisplayName("should reopen segments written by an earlier run and drop incomplete ones")
+    void shouldReopenFromDisk() throws IOException {
+      List<PaymentResponse> payments = payments(300, NOW);
+      archive().archive(payments);
+      Files.writeString(tempDir.resolve("segment-1-0001.pgseg.tmp"), "half written");
+
+      PaymentArchive reopened = archive();
+
+      assertThat(reopened.size()).isEqualTo(300);
+      assertThat(reopened.find(payments.get(123).getId())).contains(payments.get(123));
+      try (Stream<Path> files = Files.list(tempDir)) {
+        assertThat(files.map(Path::toString)).noneMatch(name -> name.endsWith(".tmp"));
+      }
+    }
+  }
+
+  @Nested
+  @DisplayName("repository tiering")
+  class RepositoryTiering {
+
+    @Test
+    @DisplayName("should move aged payments to the archive and still find them")
+    void shouldFallThroughToArchive() {
+      PaymentsRepository repository = new PaymentsRepository(archive());
+      PaymentResponse aged = payments(1, NOW.minus(Duration.ofDays(4))).get(0);
+      PaymentResponse recent = payments(1, NOW.minus(Duration.ofHours(1))).get(0);
+      repository.add(aged);
+      repository.add(recent);
+
+      new PaymentTiering(properties(), repository, Clock.fixed(NOW, ZoneOffset.UTC))
+          .archiveAgedPayments();
+
+      assertThat(repository.get(aged.getId())).contains(aged);
+      assertThat(repository.get(recent.getId())).contains(recent);
+      assertThat(repository.archiveOlderThan(NOW.minus(Duration.ofDays(3)))).isZero();
+    }
+
+    @Test
+    @DisplayName("should stream hot and archived payments exactly once")
+    void shouldStreamWithoutDuplicates() {
+      PaymentsRepository repository = new PaymentsRepository(archive());
+      List<PaymentResponse> aged = payments(150, NOW.minus(Duration.ofDays(4)));
+      List<PaymentResponse> recent = payments(50, NOW);
+      aged.forEach(repository::add);
+      recent.forEach(repository::add);
+
+      assertThat(repository.archiveOlderThan(NOW.minus(Duration.ofDays(3)))).isEqualTo(150);
+
+      assertThat(repository.stream().map(PaymentResponse::getId))
+          .doesNotHaveDuplicates()
+          .hasSize(200);
+    }
+
+    @Test
+    @DisplayName("should keep everything in memory when the archive is disabled")
+    void shouldNotArchiveWhenDisabled() {
+      PaymentsRepository repository = new PaymentsRepository();
+      PaymentResponse aged = payments(1, NOW.minus(Duration.ofDays(4))).get(0);
+      repository.add(aged);
+
+      assertThat(repository.archiveOlderThan(NOW)).isZero();
+      assertThat(repository.get(aged.getId())).contains(aged);
+    }
+  }
+
+  private PaymentArchive archive() {
+    PaymentArchive archive = new PaymentArchive(properties(), new SimpleMeterRegistry());
+    archives.add(archive);
+    return archive;
+  }
+
+  private ArchiveProperties properties() {
+    return new ArchiveProperties(
+        true, tempDir, Duration.ofDays(3), Duration.ofHours(1), 16, 100, 10);
+  }
+
+  private List<Path> segmentFiles() throws IOException {
+    try (Stream<Path> files = Files.list(tempDir)) {
+      return files.filter(file -> file.toString().endsWith(".pgseg")).toList();
+    }
+  }
+
+  private static List<PaymentResponse> payments(int count, Instant createdAt) {
+    PaymentStatus[] statuses = PaymentStatus.values();
+    String[] currencies = {"GBP", "EUR", "USD"};
+    List<PaymentResponse> payments = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      payments.add(
+          PaymentResponse.builder()
+              .id(UUID.randomUUID())
+              .status(statuses[i % statuses.length])
+              .cardNumberLastFour("%04d".formatted(i % 10_000))
+              .expiryMonth(1 + i % 12)
+              .expiryYear(2027 + i % 5)
+              .currency(currencies[i % currencies.length])
+              .amount(100 + i)
+              .cardScheme(i % 2 == 0 ? "VISA" : "MASTERCARD")
+              .issuingCountry("GB")
+              .cardType(i % 3 == 0 ? "CREDIT" : null)
+              .createdAt(createdAt.plusNanos(i))
+              .merchantId("merchant-" + i % 4)
+              .build());
+    }
+    return payments;
+  }
+}
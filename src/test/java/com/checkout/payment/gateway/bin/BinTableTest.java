@@ -0,0 +1,108 @@
+package com.checkout.payment.gateway.bin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.DefaultResourceLoader;
+
+@DisplayName("BIN Table")
+class BinTableTest {
+
+  private static final String TABLE =
+      """
+      range_start,range_end,scheme,issuing_country,card_type
+      400000,499999,VISA,,
+      424242,424242,VISA,US,CREDIT
+      42424242,42424242,VISA,GB,DEBIT
+      510000,559999,MASTERCARD,,
+      """;
+
+  private BinTable table;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    table = BinTable.load(new StringReader(TABLE));
+  }
+
+  @Test
+  @DisplayName("should resolve a card in a scheme-level range")
+  void shouldResolveSchemeRange() {
+    assertThat(table.lookup("4000000000000002")).isEqualTo(new BinInfo("VISA", null, null));
+    assertThat(table.lookup("5555555555554444")).isEqualTo(new BinInfo("MASTERCARD", null, null));
+  }
+
+  @Test
+  @DisplayName("should prefer the narrowest matching range")
+  void shouldPreferNarrowestRange() {
+    assertThat(table.lookup("4242424242424242")).isEqualTo(new BinInfo("VISA", "GB", "DEBIT"));
+    assertThat(table.lookup("4242420000000000")).isEqualTo(new BinInfo("VISA", "US", "CREDIT"));
+    assertThat(table.lookup("4242429999999999")).isEqualTo(new BinInfo("VISA", "US", "CREDIT"));
+    assertThat(table.lookup("4242430000000000")).isEqualTo(new BinInfo("VISA", null, null));
+  }
+
+  @ParameterizedTest(name = "should return UNKNOWN for {0}")
+  @ValueSource(strings = {"6011000990139424", "1234567", "4242abcd42424242"})
+  void shouldReturnUnknownWhenNoRangeMatches(String cardNumber) {
+    assertThat(table.lookup(cardNumber)).isSameAs(BinInfo.UNKNOWN);
+  }
+
+  @Test
+  @DisplayName("should reject a malformed table")
+  void shouldRejectMalformedTable() {
+    assertThatThrownBy(() -> BinTable.load(new StringReader("header\n499999,400000,VISA,,\n")))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("line 2");
+  }
+
+  @Nested
+  @DisplayName("Service")
+  class Service {
+
+    @TempDir Path directory;
+
+    @Test
+    @DisplayName("should swap in the new table when the file changes")
+    void shouldReloadWhenFileChanges() throws IOException {
+      Path file = directory.resolve("bins.csv");
+      Files.writeString(file, TABLE);
+      BinTableService service =
+          new BinTableService(new DefaultResourceLoader(), file.toUri().toString());
+      assertThat(service.lookup("5555555555554444").scheme()).isEqualTo("MASTERCARD");
+
+      Files.writeString(file, "header\n550000,559999,MAESTRO,GB,DEBIT\n");
+      Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+      service.reloadIfModified();
+
+      assertThat(service.lookup("5555555555554444"))
+          .isEqualTo(new BinInfo("MAESTRO", "GB", "DEBIT"));
+      assertThat(service.lookup("4242424242424242")).isSameAs(BinInfo.UNKNOWN);
+    }
+
+    @Test
+    @DisplayName("should keep the current table when the new file is invalid")
+    void shouldKeepCurrentTableOnInvalidFile() throws IOException {
+      Path file = directory.resolve("bins.csv");
+      Files.writeString(file, TABLE);
+      BinTableService service =
+          new BinTableService(new DefaultResourceLoader(), file.toUri().toString());
+
+      Files.writeString(file, "header\nnot,a,valid,line\n");
+      Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+      service.reloadIfModified();
+
+      assertThat(service.lookup("4242424242424242").issuingCountry()).isEqualTo("GB");
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package com.checkout.payment.gateway.capture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.checkout.payment.gateway.model.PostPaymentRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("Payment Capture Recorder")
+class PaymentCaptureRecorderTest {
+
+  private static final String CARD_NUMBER = "4242424242424241";
+
+  @TempDir Path tempDir;
+
+  @Test
+  @DisplayName("should keep only the BIN, last four and lengths of the card data")
+  void shouldMaskCardData() {
+    CapturedPayment payment = CapturedPayment.of(request(CARD_NUMBER, "123"));
+
+    assertThat(payment.cardBin()).isEqualTo("424242");
+    assertThat(payment.cardLastFour()).isEqualTo("4241");
+    assertThat(payment.cardLength()).isEqualTo(16);
+    assertThat(payment.cvvLength()).isEqualTo(3);
+    assertThat(payment.toString()).doesNotContain(CARD_NUMBER).doesNotContain("123");
+  }
+
+  @Test
+  @DisplayName("should keep no digits of card numbers too short to mask")
+  void shouldNotMaskShortNumbers() {
+    CapturedPayment payment = CapturedPayment.of(request("4242424241", "123"));
+
+    assertThat(payment.cardBin()).isNull();
+    assertThat(payment.cardLastFour()).isNull();
+    assertThat(payment.cardLength()).isEqualTo(10);
+  }
+
+  @Test
+  @DisplayName("should cut an over-long currency short and keep capturing")
+  void shouldTruncateOversizedCurrency() throws Exception {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    PaymentCaptureRecorder recorder = startRecorder(registry);
+    long arrival = System.nanoTime();
+    PostPaymentRequest oversized =
+        request(CARD_NUMBER, "123").toBuilder().currency("X".repeat(70_000)).build();
+
+    CapturedPayment payment = CapturedPayment.of(oversized);
+    recorder.record(arrival, arrival + 1_000, 400, payment);
+    recorder.record(arrival + 1_000, arrival + 2_000, 400, payment);
+    recorder.stop();
+
+    assertThat(payment.currency()).isEqualTo("XXXXXXXX");
+    assertThat(registry.counter(PaymentCaptureRecorder.RECORDED_METRIC).count()).isEqualTo(2);
+    assertThat(captureFiles()).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("should write requests to the capture file in the replay format")
+  void shouldWriteCaptureFile() throws Exception {
+    PaymentCaptureRecorder recorder = startRecorder();
+    long arrival = System.nanoTime();
+
+    CapturedPayment payment = CapturedPayment.of(request(CARD_NUMBER, "123"));
+
+    recorder.record(arrival, arrival + TimeUnit.MILLISECONDS.toNanos(3), 200, payment);
+    recorder.record(arrival + 1_000, arrival + 2_000, 400, null);
+    recorder.stop();
+
+    List<Path> files = captureFiles();
+    assertThat(files).hasSize(1);
+    assertThat(new String(Files.readAllBytes(files.get(0)), StandardCharsets.ISO_8859_1))
+        .doesNotContain(CARD_NUMBER);
+    try (DataInputStream in = new DataInputStream(Files.newInputStream(files.get(0)))) {
+      assertThat(in.readNBytes(8)).isEqualTo(CaptureFileWriter.MAGIC);
+      in.readLong();
+
+      long firstOffset = in.readLong();
+      assertThat(in.readInt()).isEqualTo(3_000);
+      assertThat(in.readShort()).isEqualTo((short) 200);
+      assertThat(in.readBoolean()).isTrue();
+      assertThat(readNullable(in)).isEqualTo("424242");
+      assertThat(in.readByte()).isEqualTo((byte) 16);
+      assertThat(readNullable(in)).isEqualTo("4241");
+      assertThat(in.readBoolean()).isTrue();
+      assertThat(in.readInt()).isEqualTo(4);
+      assertThat(in.readBoolean()).isTrue();
+      assertThat(in.readInt()).isEqualTo(2030);
+      assertThat(readNullable(in)).isEqualTo("GBP");
+      assertThat(in.readBoolean()).isTrue();
+      assertThat(in.readInt()).isEqualTo(1050);
+      assertThat(in.readByte()).isEqualTo((byte) 3);
+
+      assertThat(in.readLong()).isEqualTo(firstOffset + 1_000);
+      assertThat(in.readInt()).isEqualTo(1);
+      assertThat(in.readShort()).isEqualTo((short) 400);
+      assertThat(in.readBoolean()).isFalse();
+      assertThat(in.read()).isEqualTo(-1);
+    }
+  }
+
+  @Test
+  @DisplayName("should record nothing when capture is disabled")
+  void shouldIgnoreWhenDisabled() throws Exception {
+    PaymentCaptureRecorder recorder =
+        new PaymentCaptureRecorder(
+            new CaptureProperties(false, tempDir, 16, 1 << 20), new SimpleMeterRegistry());
+    recorder.start();
+
+    recorder.record(System.nanoTime(), System.nanoTime(), 200, null);
+    recorder.stop();
+
+    assertThat(captureFiles()).isEmpty();
+  }
+
+  private PaymentCaptureRecorder startRecorder() {
+    return startRecorder(new SimpleMeterRegistry());
+  }
+
+  private PaymentCaptureRecorder startRecorder(SimpleMeterRegistry registry) {
+    PaymentCaptureRecorder recorder =
+        new PaymentCaptureRecorder(new CaptureProperties(true, tempDir, 16, 1 << 20), registry);
+    recorder.start();
+    return recorder;
+  }
+
+  private List<Path> captureFiles() throws IOException {
+    try (Stream<Path> files = Files.list(tempDir)) {
+      return files.filter(file -> file.toString().endsWith(".pgcap")).toList();
+    }
+  }
+
+  private static String readNullable(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+
+  private static PostPaymentRequest request(String cardNumber, String cvv) {
+    return PostPaymentRequest.builder()
+        .cardNumber(cardNumber)
+        .expiryMonth(4)
+        .expiryYear(2030)
+        .currency("GBP")
+        .amount(1050)
+        .cvv(cvv)
+        .build();
+  }
+}
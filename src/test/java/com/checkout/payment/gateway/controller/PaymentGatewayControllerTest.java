@@ -1,17 +1,26 @@
 package com.checkout.payment.gateway.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.checkout.payment.gateway.acquirer.model.BankPaymentRequest;
 import com.checkout.payment.gateway.acquirer.model.BankPaymentResponse;
 import com.checkout.payment.gateway.acquirer.service.BankSimulatorClient;
 import com.checkout.payment.gateway.enums.PaymentStatus;
 import com.checkout.payment.gateway.model.PaymentResponse;
 import com.checkout.payment.gateway.repository.PaymentsRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import java.time.Year;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeAll;
@@ -21,12 +30,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 @SpringBootTest
@@ -66,7 +79,7 @@ class PaymentGatewayControllerTest {
 
       paymentsRepository.add(payment);
 
-      mvc.perform(MockMvcRequestBuilders.get("/payment/" + payment.getId()))
+      performOnLane(MockMvcRequestBuilders.get("/payment/" + payment.getId()))
           .andExpect(status().isOk())
           .andExpect(jsonPath("$.status").value(payment.getStatus().getName()))
           .andExpect(jsonPath("$.cardNumberLastFour").value(payment.getCardNumberLastFour()))
@@ -79,7 +92,7 @@ class PaymentGatewayControllerTest {
     @Test
     @DisplayName("should return 404 when ID does not exist")
     void whenPaymentWithIdDoesNotExistThen404IsReturned() throws Exception {
-      mvc.perform(MockMvcRequestBuilders.get("/payment/" + UUID.randomUUID()))
+      performOnLane(MockMvcRequestBuilders.get("/payment/" + UUID.randomUUID()))
           .andExpect(status().isNotFound())
           .andExpect(jsonPath("$.message").value("Page not found"));
     }
@@ -113,14 +126,16 @@ class PaymentGatewayControllerTest {
                     """
                 .formatted(FUTURE_YEAR);
 
-        mvc.perform(
+        performOnLane(
                 post("/payments")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(validPaymentRequest))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.id").exists())
             .andExpect(jsonPath("$.status").value("Authorized"))
-            .andExpect(jsonPath("$.cardNumberLastFour").value("8877"));
+            .andExpect(jsonPath("$.cardNumberLastFour").value("8877"))
+            .andExpect(jsonPath("$.cardScheme").value("MASTERCARD"))
+            .andExpect(jsonPath("$.issuingCountry").value("GB"));
       }
 
       @Test
@@ -143,7 +158,7 @@ class PaymentGatewayControllerTest {
                     """
                 .formatted(FUTURE_YEAR);
 
-        mvc.perform(
+        performOnLane(
                 post("/payments")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(paymentToBeDeclinedRequest))
@@ -151,6 +166,41 @@ class PaymentGatewayControllerTest {
             .andExpect(jsonPath("$.status").value("Declined"))
             .andExpect(jsonPath("$.id").exists());
       }
+
+      @Test
+      @DisplayName("should ask the bank for the amount in the settlement currency")
+      void shouldConvertToSettlementCurrency() throws Exception {
+        when(bankSimulatorClient.processPayment(any()))
+            .thenReturn(
+                BankPaymentResponse.builder().authorized(true).authorizationCode("abc123").build());
+
+        String yenPaymentRequest =
+            """
+                    {
+                      "card_number": "2222405343248877",
+                      "expiry_month": 12,
+                      "expiry_year": %d,
+                      "currency": "JPY",
+                      "amount": 10000,
+                      "cvv": "123"
+                    }
+                    """
+                .formatted(FUTURE_YEAR);
+
+        performOnLane(
+                post("/payments")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(yenPaymentRequest))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.currency").value("JPY"))
+            .andExpect(jsonPath("$.amount").value(10000));
+
+        ArgumentCaptor<BankPaymentRequest> bankRequest =
+            ArgumentCaptor.forClass(BankPaymentRequest.class);
+        verify(bankSimulatorClient).processPayment(bankRequest.capture());
+        assertThat(bankRequest.getValue().getCurrency()).isEqualTo("GBP");
+        assertThat(bankRequest.getValue().getAmount()).isEqualTo(5300);
+      }
     }
 
     @Nested
@@ -171,6 +221,89 @@ class PaymentGatewayControllerTest {
     }
   }
 
+  @Nested
+  @DisplayName("CBOR content negotiation")
+  class CborContentNegotiation {
+
+    private final CBORMapper cborMapper = new CBORMapper();
+
+    @Test
+    @DisplayName("should accept and produce CBOR for POST /payments")
+    void shouldProcessCborPayment() throws Exception {
+      when(bankSimulatorClient.processPayment(any()))
+          .thenReturn(
+              BankPaymentResponse.builder().authorized(true).authorizationCode("abc123").build());
+
+      byte[] cborRequest =
+          cborMapper.writeValueAsBytes(
+              Map.of(
+                  "card_number", "2222405343248877",
+                  "expiry_month", 12,
+                  "expiry_year", FUTURE_YEAR,
+                  "currency", "GBP",
+                  "amount", 100,
+                  "cvv", "123"));
+
+      byte[] responseBody =
+          performOnLane(
+                  post("/payments")
+                      .contentType(MediaType.APPLICATION_CBOR)
+                      .accept(MediaType.APPLICATION_CBOR)
+                      .content(cborRequest))
+              .andExpect(status().isOk())
+              .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+              .andReturn()
+              .getResponse()
+              .getContentAsByteArray();
+
+      JsonNode response = cborMapper.readTree(responseBody);
+      assertThat(response.get("status").asText()).isEqualTo("Authorized");
+      assertThat(response.get("cardNumberLastFour").asText()).isEqualTo("8877");
+    }
+
+    @Test
+    @DisplayName("should produce CBOR for GET /payment/{id} when requested")
+    void shouldReturnCborPayment() throws Exception {
+      PaymentResponse payment =
+          PaymentResponse.builder()
+              .id(UUID.randomUUID())
+              .amount(10)
+              .currency("EUR")
+              .status(PaymentStatus.DECLINED)
+              .expiryMonth(1)
+              .expiryYear(FUTURE_YEAR)
+              .cardNumberLastFour("1234")
+              .build();
+      paymentsRepository.add(payment);
+
+      byte[] responseBody =
+          performOnLane(
+                  MockMvcRequestBuilders.get("/payment/" + payment.getId())
+                      .accept(MediaType.APPLICATION_CBOR))
+              .andExpect(status().isOk())
+              .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+              .andReturn()
+              .getResponse()
+              .getContentAsByteArray();
+
+      assertThat(cborMapper.readValue(responseBody, PaymentResponse.class)).isEqualTo(payment);
+    }
+
+    @Test
+    @DisplayName("should keep JSON as the default representation")
+    void shouldDefaultToJson() throws Exception {
+      performOnLane(MockMvcRequestBuilders.get("/payment/" + UUID.randomUUID()))
+          .andExpect(status().isNotFound())
+          .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+  }
+
+  /** Performs a request whose handler runs on an executor lane and completes asynchronously. */
+  private ResultActions performOnLane(RequestBuilder requestBuilder) throws Exception {
+    MvcResult started = mvc.perform(requestBuilder).andExpect(request().asyncStarted()).andReturn();
+    return mvc.perform(asyncDispatch(started));
+  }
+
   private static Stream<Arguments> invalidPaymentRequestProvider() {
     return Stream.of(
         Arguments.of(
@@ -189,10 +322,10 @@ class PaymentGatewayControllerTest {
         Arguments.of(
             "currency is not supported",
             """
-            { "card_number": "2222405343248877", "expiry_month": 12, "expiry_year": %d, "currency": "JPY", "amount": 100, "cvv": "123" }
+            { "card_number": "2222405343248877", "expiry_month": 12, "expiry_year": %d, "currency": "XYZ", "amount": 100, "cvv": "123" }
             """
                 .formatted(FUTURE_YEAR),
-            "Currency must be one of the supported types (GBP, EUR, USD)"),
+            "Currency must be a supported ISO 4217 currency code"),
         Arguments.of(
             "amount is zero",
             """
@@ -0,0 +1,56 @@
+package com.checkout.payment.gateway.cost;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.time.Duration;
+
+/**
+ * Fails a test when code costs more per call than its budget, read from the same per-thread heap
+ * allocation and CPU counters as {@link RequestCost}. The code first runs unmeasured so that the
+ * JIT compiles it, then the average over many calls, rounded down, is compared with the budget; a
+ * budget of 0 bytes therefore tolerates a stray one-off allocation but not one on every call.
+ * Allocation is close to deterministic and can be budgeted tightly; CPU budgets need headroom for
+ * slow machines.
+ *
+ * <pre>{@code
+ * new CostBudget("FX conversion", 0, Duration.ofNanos(2_000))
+ *     .assertWithin(() -> sink += fxRateService.toSettlement("USD", 1000));
+ * }</pre>
+ */
+public record CostBudget(String name, long maxAllocatedBytes, Duration maxCpuTime) {
+
+  static final int WARMUP_CALLS = 20_000;
+  static final int MEASURED_CALLS = 20_000;
+
+  public Measurement assertWithin(Runnable work) {
+    return assertWithin(WARMUP_CALLS, MEASURED_CALLS, work);
+  }
+
+  public Measurement assertWithin(int warmupCalls, int measuredCalls, Runnable work) {
+    assumeTrue(ThreadCosts.isSupported(), "Per-thread allocation and CPU counters unavailable");
+    for (int i = 0; i < warmupCalls; i++) {
+      work.run();
+    }
+
+    long allocatedBytes = ThreadCosts.allocatedBytes();
+    long cpuNanos = ThreadCosts.cpuNanos();
+    for (int i = 0; i < measuredCalls; i++) {
+      work.run();
+    }
+    Measurement measurement =
+        new Measurement(
+            (ThreadCosts.allocatedBytes() - allocatedBytes) / measuredCalls,
+            (ThreadCosts.cpuNanos() - cpuNanos) / measuredCalls);
+
+    assertThat(measurement.allocatedBytesPerCall())
+        .as("%s: heap bytes allocated per call", name)
+        .isLessThanOrEqualTo(maxAllocatedBytes);
+    assertThat(measurement.cpuNanosPerCall())
+        .as("%s: CPU nanoseconds per call", name)
+        .isLessThanOrEqualTo(maxCpuTime.toNanos());
+    return measurement;
+  }
+
+  public record Measurement(long allocatedBytesPerCall, long cpuNanosPerCall) {}
+}
@@ -0,0 +1,138 @@
+package com.checkout.payment.gateway.cost;
+
+import com.checkout.payment.gateway.acquirer.model.BankPaymentResponse;
+import com.checkout.payment.gateway.bin.BinTableService;
+import com.checkout.payment.gateway.currency.CurrencyRegistry;
+import com.checkout.payment.gateway.currency.FxRateService;
+import com.checkout.payment.gateway.duplicate.DuplicateDetectionProperties;
+import com.checkout.payment.gateway.duplicate.DuplicateDetectionProperties.Mode;
+import com.checkout.payment.gateway.duplicate.DuplicatePaymentDetector;
+import com.checkout.payment.gateway.id.TimeOrderedPaymentIdGenerator;
+import com.checkout.payment.gateway.model.PostPaymentRequest;
+import com.checkout.payment.gateway.repository.PaymentsRepository;
+import com.checkout.payment.gateway.service.PaymentGatewayService;
+import com.checkout.payment.gateway.statistics.PaymentStatistics;
+import com.checkout.payment.gateway.stream.PaymentStreamBroadcaster;
+import com.checkout.payment.gateway.stream.PaymentStreamProperties;
+import com.checkout.payment.gateway.stream.PaymentStreamProperties.OverflowPolicy;
+import com.checkout.payment.gateway.webhook.WebhookDeadLetterStore;
+import com.checkout.payment.gateway.webhook.WebhookDispatcher;
+import com.checkout.payment.gateway.webhook.WebhookProperties;
+import com.checkout.payment.gateway.webhook.WebhookRegistry;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Year;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.core.io.DefaultResourceLoader;
+
+/**
+ * Allocation and CPU budgets for the payment path. A change that makes a payment noticeably more
+ * expensive fails the build here; raise a budget only when the extra cost is intended.
+ */
+@DisplayName("Payment Cost Budgets")
+class PaymentCostBudgetTest {
+
+  private static final String GATEWAY_PACKAGE = "com.checkout.payment.gateway";
+
+  private final FxRateService fxRateService =
+      new FxRateService(new DefaultResourceLoader(), "classpath:fx-rates.csv", "GBP");
+  private final BinTableService binTableService =
+      new BinTableService(new DefaultResourceLoader(), "classpath:bin-ranges.csv");
+
+  private long sink;
+
+  @BeforeAll
+  static void quietLogging() {
+    // Outside Spring Boot, logback logs at DEBUG; budget the path as it runs in production
+    LoggingSystem.get(PaymentCostBudgetTest.class.getClassLoader())
+        .setLogLevel(GATEWAY_PACKAGE, LogLevel.INFO);
+  }
+
+  @AfterAll
+  static void restoreLogging() {
+    LoggingSystem.get(PaymentCostBudgetTest.class.getClassLoader())
+        .setLogLevel(GATEWAY_PACKAGE, null);
+  }
+
+  @Test
+  @DisplayName("FX conversion should not allocate")
+  void fxConversionShouldNotAllocate() {
+    new CostBudget("FX conversion", 0, Duration.ofNanos(2_000))
+        .assertWithin(() -> sink += fxRateService.toSettlement("JPY", 10_000));
+  }
+
+  @Test
+  @DisplayName("BIN lookup should not allocate")
+  void binLookupShouldNotAllocate() {
+    new CostBudget("BIN lookup", 0, Duration.ofNanos(2_000))
+        .assertWithin(
+            () -> sink += binTableService.lookup("4242424242424242").hashCode());
+  }
+
+  @Test
+  @DisplayName("processing a payment should stay within its budget")
+  void paymentShouldStayWithinBudget() {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    WebhookProperties webhookProperties =
+        new WebhookProperties(
+            false,
+            10,
+            10,
+            1,
+            10,
+            1,
+            Duration.ofSeconds(1),
+            Duration.ofSeconds(1),
+            Duration.ofSeconds(1),
+            Duration.ofSeconds(1),
+            10);
+    PaymentGatewayService service =
+        new PaymentGatewayService(
+            new PaymentsRepository(),
+            request -> BankPaymentResponse.builder().authorized(true).build(),
+            new TimeOrderedPaymentIdGenerator(),
+            binTableService,
+            new DuplicatePaymentDetector(
+                new DuplicateDetectionProperties(
+                    Mode.OFF, Duration.ofSeconds(10), 5, 1 << 16, 4),
+                meterRegistry),
+            new PaymentStatistics(CurrencyRegistry.standard()),
+            new WebhookDispatcher(
+                webhookProperties,
+                new WebhookRegistry(),
+                new WebhookDeadLetterStore(webhookProperties),
+                JsonMapper.builder().findAndAddModules().build(),
+                meterRegistry),
+            new PaymentStreamBroadcaster(
+                new PaymentStreamProperties(
+                    false,
+                    1,
+                    1,
+                    1,
+                    1,
+                    OverflowPolicy.DISCONNECT,
+                    1,
+                    Duration.ofSeconds(15),
+                    Duration.ofMinutes(1)),
+                meterRegistry),
+            fxRateService);
+    PostPaymentRequest request =
+        PostPaymentRequest.builder()
+            .cardNumber("2222405343248877")
+            .expiryMonth(12)
+            .expiryYear(Year.now().getValue() + 2)
+            .currency("EUR")
+            .amount(1050)
+            .cvv("123")
+            .build();
+
+    new CostBudget("Payment processing", 16_384, Duration.ofMillis(1))
+        .assertWithin(() -> sink += service.processPayment(request, "merchant").getAmount());
+  }
+}
@@ -0,0 +1,162 @@
+package com.checkout.payment.gateway.cost;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.checkout.payment.gateway.enums.PaymentStatus;
+import com.checkout.payment.gateway.lane.ExecutorLane;
+import com.checkout.payment.gateway.lane.LaneProperties;
+import com.checkout.payment.gateway.model.PaymentResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@DisplayName("Request Cost Accounting")
+class RequestCostTest {
+
+  private static final int LANE_ALLOCATION = 1 << 20;
+  private static final Pattern COST_HEADER_VALUE =
+      Pattern.compile("alloc-bytes=(\\d+), cpu-ns=(\\d+)");
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @BeforeEach
+  void requireThreadCounters() {
+    assumeTrue(ThreadCosts.isSupported(), "Per-thread allocation and CPU counters unavailable");
+  }
+
+  @Test
+  @DisplayName("should charge lane work to the request and publish it by endpoint and outcome")
+  void shouldChargeLaneWork() throws Exception {
+    MockMvc mvc = mvc(1.0);
+
+    String cost =
+        performOnLane(mvc, post("/payments"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(RequestCostAdvice.COST_HEADER);
+
+    Matcher reported = COST_HEADER_VALUE.matcher(cost);
+    assertThat(reported.matches()).as(cost).isTrue();
+    assertThat(Long.parseLong(reported.group(1))).isGreaterThanOrEqualTo(LANE_ALLOCATION);
+    DistributionSummary allocation =
+        meterRegistry
+            .get(RequestCostFilter.ALLOCATION_METRIC)
+            .tag("endpoint", "process")
+            .tag("outcome", "authorized")
+            .summary();
+    assertThat(allocation.count()).isEqualTo(1);
+    assertThat(allocation.totalAmount()).isGreaterThanOrEqualTo(LANE_ALLOCATION);
+    Timer cpu =
+        meterRegistry
+            .get(RequestCostFilter.CPU_METRIC)
+            .tag("endpoint", "process")
+            .tag("outcome", "authorized")
+            .timer();
+    assertThat(cpu.count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("should tag failed requests by status and leave unsampled responses alone")
+  void shouldTagFailuresWithoutHeader() throws Exception {
+    MockMvc mvc = mvc(0.0);
+
+    mvc.perform(get("/payment/" + UUID.randomUUID()))
+        .andExpect(status().isNotFound())
+        .andExpect(header().doesNotExist(RequestCostAdvice.COST_HEADER));
+
+    assertThat(
+            meterRegistry
+                .get(RequestCostFilter.ALLOCATION_METRIC)
+                .tag("endpoint", "lookup")
+                .tag("outcome", "client_error")
+                .summary()
+                .count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("should not account requests when disabled")
+  void shouldSkipWhenDisabled() throws Exception {
+    CostAccountingProperties disabled = new CostAccountingProperties(false, 1.0);
+    MockMvc mvc =
+        MockMvcBuilders.standaloneSetup(new LaneController())
+            .setControllerAdvice(new RequestCostAdvice(disabled))
+            .addFilters(new RequestCostFilter(disabled, meterRegistry))
+            .build();
+
+    performOnLane(mvc, post("/payments"))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(RequestCostAdvice.COST_HEADER));
+
+    assertThat(meterRegistry.find(RequestCostFilter.ALLOCATION_METRIC).meters()).isEmpty();
+  }
+
+  private MockMvc mvc(double headerSampleRate) {
+    CostAccountingProperties properties = new CostAccountingProperties(true, headerSampleRate);
+    return MockMvcBuilders.standaloneSetup(new LaneController())
+        .setControllerAdvice(new RequestCostAdvice(properties))
+        .addFilters(new RequestCostFilter(properties, meterRegistry))
+        .build();
+  }
+
+  private static ResultActions performOnLane(MockMvc mvc, RequestBuilder builder)
+      throws Exception {
+    MvcResult started = mvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+    return mvc.perform(asyncDispatch(started));
+  }
+
+  @RestController
+  static class LaneController {
+
+    // Keeps the lane's allocation from being optimised away
+    static volatile byte[] retained;
+
+    private final ExecutorLane lane =
+        new ExecutorLane("cost-test", new LaneProperties.Lane(1, 10), new SimpleMeterRegistry());
+
+    @PostMapping("/payments")
+    CompletableFuture<PaymentResponse> process() {
+      return lane.submit(
+          () -> {
+            retained = new byte[LANE_ALLOCATION];
+            return PaymentResponse.builder()
+                .id(UUID.randomUUID())
+                .status(PaymentStatus.AUTHORIZED)
+                .currency("GBP")
+                .amount(100)
+                .build();
+          });
+    }
+
+    @GetMapping("/payment/{id}")
+    PaymentResponse lookup(@PathVariable UUID id) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+    }
+  }
+}
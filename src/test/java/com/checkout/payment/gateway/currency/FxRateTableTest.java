@@ -0,0 +1,159 @@
+package com.checkout.payment.gateway.currency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.DefaultResourceLoader;
+
+@DisplayName("FX Rate Table")
+class FxRateTableTest {
+
+  private static final String RATES =
+      """
+      currency,rate
+      GBP,1
+      USD,0.79
+      JPY,0.0053
+      KWD,2.57
+      """;
+
+  private final CurrencyRegistry registry = CurrencyRegistry.standard();
+  private FxRateTable table;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    table = FxRateTable.load(new StringReader(RATES), registry, "GBP");
+  }
+
+  @ParameterizedTest(name = "should convert {1} {0} minor units to {2} GBP minor units")
+  @CsvSource({
+    "GBP, 1050, 1050",
+    "USD, 1000, 790",
+    "USD, 1, 1",
+    "JPY, 10000, 5300",
+    "JPY, 1, 1",
+    "KWD, 1000, 257",
+    "KWD, 1, 0"
+  })
+  void shouldConvertAcrossMinorUnits(String currency, int amount, long expected) {
+    assertThat(table.toSettlement(currency, amount)).isEqualTo(expected);
+  }
+
+  @Test
+  @DisplayName("should round half up")
+  void shouldRoundHalfUp() {
+    assertThat(table.toSettlement("USD", 50)).isEqualTo(40); // 39.5
+    assertThat(table.toSettlement("USD", 49)).isEqualTo(39); // 38.71
+  }
+
+  @Test
+  @DisplayName("should convert the largest amounts without overflowing")
+  void shouldConvertLargestAmounts() {
+    assertThat(table.toSettlement("KWD", Integer.MAX_VALUE)).isEqualTo(551_903_297L);
+    assertThat(table.toSettlement("USD", Integer.MAX_VALUE)).isEqualTo(1_696_512_081L);
+  }
+
+  @ParameterizedTest(name = "should have no rate for {0}")
+  @ValueSource(strings = {"EUR", "XYZ", "usd", "US"})
+  void shouldReturnNoRate(String currency) {
+    assertThat(table.toSettlement(currency, 100)).isEqualTo(FxRateTable.NO_RATE);
+    assertThat(table.hasRate(currency)).isFalse();
+  }
+
+  @Test
+  @DisplayName("should only convert the settlement currency in an identity table")
+  void shouldOnlyConvertSettlementCurrencyInIdentityTable() {
+    FxRateTable identity = FxRateTable.identity(registry, "EUR");
+
+    assertThat(identity.toSettlement("EUR", 1234)).isEqualTo(1234);
+    assertThat(identity.toSettlement("GBP", 1234)).isEqualTo(FxRateTable.NO_RATE);
+    assertThat(identity.size()).isEqualTo(1);
+  }
+
+  @ParameterizedTest(name = "should reject a table with line {0}")
+  @ValueSource(strings = {"XYZ,1.2", "USD,-0.79", "USD,abc", "GBP,1.01", "USD", "JPY,0.0053"})
+  void shouldRejectMalformedTable(String line) {
+    assertThatThrownBy(
+            () -> FxRateTable.load(new StringReader(RATES + line + "\n"), registry, "GBP"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("line 6");
+  }
+
+  @Test
+  @DisplayName("should index the shipped currencies with their minor units")
+  void shouldIndexStandardCurrencies() {
+    assertThat(registry.size()).isGreaterThan(40);
+    assertThat(registry.minorUnits(registry.indexOf("GBP"))).isEqualTo(2);
+    assertThat(registry.minorUnits(registry.indexOf("JPY"))).isZero();
+    assertThat(registry.minorUnits(registry.indexOf("KWD"))).isEqualTo(3);
+    assertThat(registry.code(registry.indexOf("CHF"))).isEqualTo("CHF");
+    assertThat(registry.indexOf("XYZ")).isEqualTo(CurrencyRegistry.UNKNOWN);
+  }
+
+  @Nested
+  @DisplayName("Service")
+  class Service {
+
+    @TempDir Path directory;
+
+    @Test
+    @DisplayName("should swap in the new rates when the file changes")
+    void shouldReloadWhenFileChanges() throws IOException {
+      Path file = directory.resolve("rates.csv");
+      Files.writeString(file, RATES);
+      FxRateService service =
+          new FxRateService(new DefaultResourceLoader(), file.toUri().toString(), "GBP");
+      assertThat(service.toSettlement("USD", 1000)).isEqualTo(790);
+
+      Files.writeString(file, "currency,rate\nUSD,0.8\nEUR,0.86\n");
+      Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+      service.reloadIfModified();
+
+      assertThat(service.toSettlement("USD", 1000)).isEqualTo(800);
+      assertThat(service.toSettlement("EUR", 1000)).isEqualTo(860);
+      assertThat(service.toSettlement("JPY", 1000)).isEqualTo(FxRateTable.NO_RATE);
+    }
+
+    @Test
+    @DisplayName("should keep the current rates when the new file is invalid")
+    void shouldKeepCurrentRatesOnInvalidFile() throws IOException {
+      Path file = directory.resolve("rates.csv");
+      Files.writeString(file, RATES);
+      FxRateService service =
+          new FxRateService(new DefaultResourceLoader(), file.toUri().toString(), "GBP");
+
+      Files.writeString(file, "currency,rate\nUSD,not-a-rate\n");
+      Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+      service.reloadIfModified();
+
+      assertThat(service.toSettlement("USD", 1000)).isEqualTo(790);
+    }
+
+    @Test
+    @DisplayName("should have a rate for every shipped currency")
+    void shouldShipRatesForEveryCurrency() {
+      FxRateService service =
+          new FxRateService(new DefaultResourceLoader(), "classpath:fx-rates.csv", "GBP");
+      CurrencyRegistry registry = CurrencyRegistry.standard();
+
+      for (int i = 0; i < registry.size(); i++) {
+        assertThat(service.toSettlement(registry.code(i), 1_000_000))
+            .as(registry.code(i))
+            .isPositive();
+      }
+    }
+  }
+}
@@ -0,0 +1,150 @@
+package com.checkout.payment.gateway.duplicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.checkout.payment.gateway.duplicate.DuplicateDetectionProperties.Mode;
+import com.checkout.payment.gateway.exception.DuplicatePaymentException;
+import com.checkout.payment.gateway.model.PostPaymentRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Duplicate Payment Detector")
+class DuplicatePaymentDetectorTest {
+
+  private static final String MERCHANT = "merchant-a";
+
+  private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  @DisplayName("should not flag the first submission")
+  void shouldNotFlagFirstSubmission() {
+    DuplicatePaymentDetector detector = newDetector(Mode.FLAG);
+
+    assertThat(detector.checkAndRecord(MERCHANT, payment())).isFalse();
+  }
+
+  @Test
+  @DisplayName("should flag the same payment within the window")
+  void shouldFlagRepeatWithinWindow() {
+    DuplicatePaymentDetector detector = newDetector(Mode.FLAG);
+    detector.checkAndRecord(MERCHANT, payment());
+
+    clock.addAndGet(9_000);
+
+    assertThat(detector.checkAndRecord(MERCHANT, payment())).isTrue();
+  }
+
+  @Test
+  @DisplayName("should forget payments once the window has passed")
+  void shouldForgetAfterWindow() {
+    DuplicatePaymentDetector detector = newDetector(Mode.FLAG);
+    detector.checkAndRecord(MERCHANT, payment());
+
+    clock.addAndGet(13_000);
+
+    assertThat(detector.checkAndRecord(MERCHANT, payment())).isFalse();
+  }
+
+  @Nested
+  @DisplayName("should treat payments as distinct when")
+  class DistinctPayments {
+
+    @Test
+    @DisplayName("the amount differs")
+    void whenAmountDiffers() {
+      DuplicatePaymentDetector detector = newDetector(Mode.FLAG);
+      detector.checkAndRecord(MERCHANT, payment());
+
+      assertThat(detector.checkAndRecord(MERCHANT, payment().toBuilder().amount(101).build()))
+          .isFalse();
+    }
+
+    @Test
+    @DisplayName("the currency differs")
+    void whenCurrencyDiffers() {
+      DuplicatePaymentDetector detector = newDetector(Mode.FLAG);
+      detector.checkAndRecord(MERCHANT, payment());
+
+      assertThat(detector.checkAndRecord(MERCHANT, payment().toBuilder().currency("EUR").build()))
+          .isFalse();
+    }
+
+    @Test
+    @DisplayName("the card differs")
+    void whenCardDiffers() {
+      DuplicatePaymentDetector detector = newDetector(Mode.FLAG);
+      detector.checkAndRecord(MERCHANT, payment());
+
+      assertThat(
+              detector.checkAndRecord(
+                  MERCHANT, payment().toBuilder().cardNumber("2222405343248879").build()))
+          .isFalse();
+    }
+
+    @Test
+    @DisplayName("the merchant differs")
+    void whenMerchantDiffers() {
+      DuplicatePaymentDetector detector = newDetector(Mode.FLAG);
+      detector.checkAndRecord(MERCHANT, payment());
+
+      assertThat(detector.checkAndRecord("merchant-b", payment())).isFalse();
+    }
+  }
+
+  @Test
+  @DisplayName("should reject suspected duplicates in reject mode")
+  void shouldRejectInRejectMode() {
+    DuplicatePaymentDetector detector = newDetector(Mode.REJECT);
+    detector.screen(MERCHANT, payment());
+
+    assertThatThrownBy(() -> detector.screen(MERCHANT, payment()))
+        .isInstanceOf(DuplicatePaymentException.class);
+    assertThat(meterRegistry.get(DuplicatePaymentDetector.SUSPECTED_METRIC).counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("should only count suspected duplicates in flag mode")
+  void shouldCountInFlagMode() {
+    DuplicatePaymentDetector detector = newDetector(Mode.FLAG);
+    detector.screen(MERCHANT, payment());
+    detector.screen(MERCHANT, payment());
+
+    assertThat(meterRegistry.get(DuplicatePaymentDetector.SUSPECTED_METRIC).counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("should do nothing when switched off")
+  void shouldIgnoreWhenOff() {
+    DuplicatePaymentDetector detector = newDetector(Mode.OFF);
+    detector.screen(MERCHANT, payment());
+    detector.screen(MERCHANT, payment());
+
+    assertThat(meterRegistry.get(DuplicatePaymentDetector.SUSPECTED_METRIC).counter().count())
+        .isZero();
+  }
+
+  private DuplicatePaymentDetector newDetector(Mode mode) {
+    DuplicateDetectionProperties properties =
+        new DuplicateDetectionProperties(mode, Duration.ofSeconds(10), 5, 1 << 16, 4);
+    return new DuplicatePaymentDetector(properties, meterRegistry, clock::get);
+  }
+
+  private static PostPaymentRequest payment() {
+    return PostPaymentRequest.builder()
+        .cardNumber("2222405343248877")
+        .expiryMonth(12)
+        .expiryYear(2030)
+        .currency("GBP")
+        .amount(100)
+        .cvv("123")
+        .build();
+  }
+}
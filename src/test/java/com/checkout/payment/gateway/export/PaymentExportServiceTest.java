@@ -0,0 +1,154 @@
+package com.checkout.payment.gateway.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.checkout.payment.gateway.enums.PaymentStatus;
+import com.checkout.payment.gateway.model.PaymentResponse;
+import com.checkout.payment.gateway.repository.PaymentsRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@DisplayName("Payment Export Service")
+class PaymentExportServiceTest {
+
+  private static final Instant DAY_START = Instant.parse("2026-10-17T00:00:00Z");
+
+  private PaymentsRepository paymentsRepository;
+  private PaymentExportService exportService;
+  private ObjectMapper objectMapper;
+
+  @BeforeEach
+  void setUp() {
+    paymentsRepository = new PaymentsRepository();
+    objectMapper =
+        Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    exportService = new PaymentExportService(paymentsRepository, objectMapper);
+  }
+
+  @Test
+  @DisplayName("should write a CSV header and one row per payment")
+  void shouldWriteCsv() throws IOException {
+    PaymentResponse payment = payment(PaymentStatus.AUTHORIZED, DAY_START.plusSeconds(60));
+    paymentsRepository.add(payment);
+
+    String csv = exportAsString(ExportFilter.ALL, ExportFormat.CSV);
+
+    assertThat(csv)
+        .isEqualTo(
+            PaymentExportService.CSV_HEADER
+                + payment.getId()
+                + ",2026-10-17T00:01:00Z,Authorized,8877,12,2030,GBP,1050,MASTERCARD,GB,DEBIT\n");
+  }
+
+  @Test
+  @DisplayName("should write one JSON document per line for NDJSON")
+  void shouldWriteNdjson() throws IOException {
+    paymentsRepository.add(payment(PaymentStatus.AUTHORIZED, DAY_START));
+    paymentsRepository.add(payment(PaymentStatus.DECLINED, DAY_START));
+
+    String[] lines = exportAsString(ExportFilter.ALL, ExportFormat.NDJSON).split("\n");
+
+    assertThat(lines).hasSize(2);
+    for (String line : lines) {
+      assertThat(objectMapper.readValue(line, PaymentResponse.class).getCurrency())
+          .isEqualTo("GBP");
+    }
+  }
+
+  @Test
+  @DisplayName("should only export payments matching the time range and status filter")
+  void shouldApplyFilter() throws IOException {
+    paymentsRepository.add(payment(PaymentStatus.AUTHORIZED, DAY_START.minusSeconds(1)));
+    PaymentResponse match = payment(PaymentStatus.AUTHORIZED, DAY_START.plusSeconds(10));
+    paymentsRepository.add(match);
+    paymentsRepository.add(payment(PaymentStatus.DECLINED, DAY_START.plusSeconds(20)));
+    paymentsRepository.add(payment(PaymentStatus.AUTHORIZED, DAY_START.plusSeconds(86_400)));
+
+    ExportFilter filter =
+        new ExportFilter(
+            null, DAY_START, DAY_START.plusSeconds(86_400), Set.of(PaymentStatus.AUTHORIZED));
+    String csv = exportAsString(filter, ExportFormat.CSV);
+
+    assertThat(csv.lines()).hasSize(2);
+    assertThat(csv).contains(match.getId().toString());
+  }
+
+  @Test
+  @DisplayName("should only export the given merchant's payments")
+  void shouldScopeToMerchant() throws IOException {
+    PaymentResponse own = payment(PaymentStatus.AUTHORIZED, DAY_START, "merchant-a");
+    paymentsRepository.add(own);
+    paymentsRepository.add(payment(PaymentStatus.AUTHORIZED, DAY_START, "merchant-b"));
+
+    String csv =
+        exportAsString(new ExportFilter("merchant-a", null, null, Set.of()), ExportFormat.CSV);
+
+    assertThat(csv.lines()).hasSize(2);
+    assertThat(csv).contains(own.getId().toString());
+  }
+
+  @Test
+  @DisplayName("should gzip the export when requested")
+  void shouldGzipExport() throws IOException {
+    for (int i = 0; i < 5_000; i++) {
+      paymentsRepository.add(payment(PaymentStatus.AUTHORIZED, DAY_START));
+    }
+
+    byte[] compressed = export(ExportFilter.ALL, ExportFormat.CSV, true);
+    String csv;
+    try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      csv = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    assertThat(csv.lines()).hasSize(5_001);
+    assertThat(compressed.length).isLessThan(csv.length());
+  }
+
+  private String exportAsString(ExportFilter filter, ExportFormat format) throws IOException {
+    return new String(export(filter, format, false), StandardCharsets.UTF_8);
+  }
+
+  private byte[] export(ExportFilter filter, ExportFormat format, boolean gzip)
+      throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    exportService.export(filter, format, gzip, Channels.newChannel(output));
+    return output.toByteArray();
+  }
+
+  private static PaymentResponse payment(PaymentStatus status, Instant createdAt) {
+    return payment(status, createdAt, "merchant-a");
+  }
+
+  private static PaymentResponse payment(
+      PaymentStatus status, Instant createdAt, String merchantId) {
+    return PaymentResponse.builder()
+        .id(UUID.randomUUID())
+        .status(status)
+        .cardNumberLastFour("8877")
+        .expiryMonth(12)
+        .expiryYear(2030)
+        .currency("GBP")
+        .amount(1050)
+        .cardScheme("MASTERCARD")
+        .issuingCountry("GB")
+        .cardType("DEBIT")
+        .createdAt(createdAt)
+        .merchantId(merchantId)
+        .build();
+  }
+}
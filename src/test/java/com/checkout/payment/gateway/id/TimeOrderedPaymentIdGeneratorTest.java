@@ -0,0 +1,77 @@
+package com.checkout.payment.gateway.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Time-ordered Payment ID Generator")
+class TimeOrderedPaymentIdGeneratorTest {
+
+  private final TimeOrderedPaymentIdGenerator generator = new TimeOrderedPaymentIdGenerator();
+
+  @Test
+  @DisplayName("should produce RFC 4122 variant, version 7 UUIDs")
+  void shouldProduceVersion7Uuids() {
+    UUID id = generator.nextId();
+
+    assertThat(id.version()).isEqualTo(7);
+    assertThat(id.variant()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("should encode the creation time in the ID")
+  void shouldEncodeCreationTime() {
+    long before = System.currentTimeMillis();
+    UUID id = generator.nextId();
+    long after = System.currentTimeMillis();
+
+    assertThat(TimeOrderedPaymentIdGenerator.timestampOf(id)).isBetween(before, after);
+  }
+
+  @Test
+  @DisplayName("should sort by creation time")
+  void shouldSortByCreationTime() throws InterruptedException {
+    UUID first = generator.nextId();
+    Thread.sleep(2);
+    UUID second = generator.nextId();
+
+    assertThat(first.toString()).isLessThan(second.toString());
+  }
+
+  @Test
+  @DisplayName("should not produce duplicates across threads")
+  void shouldBeUniqueAcrossThreads() throws Exception {
+    int threads = 8;
+    int idsPerThread = 10_000;
+    Set<UUID> ids = ConcurrentHashMap.newKeySet();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < idsPerThread; i++) {
+                    ids.add(generator.nextId());
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(ids).hasSize(threads * idsPerThread);
+  }
+}
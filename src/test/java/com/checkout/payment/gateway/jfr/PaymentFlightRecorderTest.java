@@ -0,0 +1,214 @@
+package com.checkout.payment.gateway.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.checkout.payment.gateway.enums.PaymentStatus;
+import com.checkout.payment.gateway.model.PaymentResponse;
+import com.checkout.payment.gateway.model.PostPaymentRequest;
+import com.checkout.payment.gateway.repository.PaymentsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+@DisplayName("Payment Flight Recorder")
+class PaymentFlightRecorderTest {
+
+  @TempDir Path tempDir;
+
+  private PaymentFlightRecorder recorder;
+
+  @AfterEach
+  void tearDown() {
+    if (recorder != null) {
+      recorder.stop();
+    }
+  }
+
+  @Nested
+  @DisplayName("latency watchdog")
+  class LatencyWatchdog {
+
+    @Test
+    @DisplayName("should dump the recording when p99 breaches the limit")
+    void shouldDumpOnP99Breach() {
+      recorder = startRecorder(10, 3);
+
+      recordRequests(20, Duration.ofMillis(5));
+      recorder.checkLatency();
+
+      assertThat(recorder.listDumps()).hasSize(1);
+      assertThat(recorder.findDump(recorder.listDumps().get(0).getFileName().toString()))
+          .isPresent();
+    }
+
+    @Test
+    @DisplayName("should not dump again within the cooldown")
+    void shouldRespectCooldown() {
+      recorder = startRecorder(10, 3);
+
+      recordRequests(20, Duration.ofMillis(5));
+      recorder.checkLatency();
+      recorder.checkLatency();
+
+      assertThat(recorder.listDumps()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("should wait for enough samples before judging p99")
+    void shouldIgnoreTooFewSamples() {
+      recorder = startRecorder(1000, 3);
+
+      recordRequests(20, Duration.ofMillis(5));
+      recorder.checkLatency();
+
+      assertThat(recorder.listDumps()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should keep only the newest dumps")
+    void shouldPruneOldDumps() throws Exception {
+      recorder = startRecorder(10, 2);
+
+      Path first = recorder.dump("test");
+      recorder.dump("test");
+      Path last = recorder.dump("test");
+
+      assertThat(recorder.listDumps()).hasSize(2).doesNotContain(first).endsWith(last);
+    }
+
+    @Test
+    @DisplayName("should only resolve dump file names")
+    void shouldRejectOtherNames() {
+      recorder = startRecorder(10, 2);
+
+      assertThat(recorder.findDump("../application.properties")).isEmpty();
+      assertThat(recorder.findDump("gateway-20260101T000000000Z-0001.jfr")).isEmpty();
+    }
+
+    private void recordRequests(int count, Duration latency) {
+      for (int i = 0; i < count; i++) {
+        PaymentRequestEvent event = recorder.requestStarted("process", "merchant-a");
+        recorder.requestCompleted(event, System.nanoTime() - latency.toNanos(), null, null);
+      }
+    }
+  }
+
+  @Nested
+  @DisplayName("stage events")
+  class StageEvents {
+
+    @Test
+    @DisplayName("should record persistence with the payment ID")
+    void shouldRecordPersistence() throws Exception {
+      PaymentResponse payment =
+          PaymentResponse.builder().id(UUID.randomUUID()).status(PaymentStatus.DECLINED).build();
+
+      List<RecordedEvent> events =
+          record(PaymentPersistenceEvent.NAME, () -> new PaymentsRepository().add(payment));
+
+      assertThat(events)
+          .anySatisfy(
+              event -> {
+                assertThat(event.getString("paymentId")).isEqualTo(payment.getId().toString());
+                assertThat(event.getString("status")).isEqualTo("Declined");
+              });
+    }
+
+    @Test
+    @DisplayName("should record validation with its violation count")
+    void shouldRecordValidation() throws Exception {
+      PostPaymentRequest invalid = PostPaymentRequest.builder().cardNumber("123").build();
+
+      List<RecordedEvent> events;
+      try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+        RecordingValidator validator =
+            new RecordingValidator(new SpringValidatorAdapter(factory.getValidator()));
+        Errors errors = new BeanPropertyBindingResult(invalid, "request");
+        events = record(PaymentValidationEvent.NAME, () -> validator.validate(invalid, errors));
+      }
+
+      assertThat(events)
+          .anySatisfy(
+              event -> {
+                assertThat(event.getString("targetType")).isEqualTo("PostPaymentRequest");
+                assertThat(event.getInt("violations")).isGreaterThan(1);
+              });
+    }
+
+    @Test
+    @DisplayName("should record the whole request with its outcome")
+    void shouldRecordRequest() throws Exception {
+      recorder = startRecorder(10, 2);
+      PaymentResponse payment =
+          PaymentResponse.builder().id(UUID.randomUUID()).status(PaymentStatus.AUTHORIZED).build();
+
+      List<RecordedEvent> events =
+          record(
+              PaymentRequestEvent.NAME,
+              () -> {
+                PaymentRequestEvent event = recorder.requestStarted("process", "merchant-a");
+                recorder.requestCompleted(event, System.nanoTime(), payment, null);
+              });
+
+      assertThat(events)
+          .anySatisfy(
+              event -> {
+                assertThat(event.getString("operation")).isEqualTo("process");
+                assertThat(event.getString("merchantId")).isEqualTo("merchant-a");
+                assertThat(event.getString("paymentId")).isEqualTo(payment.getId().toString());
+                assertThat(event.getString("outcome")).isEqualTo("Authorized");
+              });
+    }
+
+    private List<RecordedEvent> record(String eventName, Runnable action) throws Exception {
+      Path file = tempDir.resolve(eventName + ".jfr");
+      try (Recording recording = new Recording()) {
+        recording.enable(eventName).withThreshold(Duration.ZERO);
+        recording.start();
+        action.run();
+        recording.stop();
+        recording.dump(file);
+      }
+      return RecordingFile.readAllEvents(file).stream()
+          .filter(event -> event.getEventType().getName().equals(eventName))
+          .toList();
+    }
+  }
+
+  private PaymentFlightRecorder startRecorder(long minSamples, int maxDumps) {
+    FlightRecorderProperties properties =
+        new FlightRecorderProperties(
+            true,
+            "default",
+            Duration.ofMinutes(5),
+            64L * 1024 * 1024,
+            new FlightRecorderProperties.Thresholds(
+                Duration.ofMillis(10), Duration.ofMillis(1), Duration.ZERO, Duration.ofMillis(1)),
+            Duration.ofMillis(1),
+            Duration.ofMinutes(1),
+            minSamples,
+            Duration.ofSeconds(10),
+            Duration.ofMinutes(10),
+            tempDir.resolve("dumps"),
+            maxDumps);
+    PaymentFlightRecorder flightRecorder =
+        new PaymentFlightRecorder(properties, new SimpleMeterRegistry());
+    flightRecorder.start();
+    return flightRecorder;
+  }
+}
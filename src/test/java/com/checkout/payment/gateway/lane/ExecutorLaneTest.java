@@ -0,0 +1,90 @@
+package com.checkout.payment.gateway.lane;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.checkout.payment.gateway.exception.EventProcessingException;
+import com.checkout.payment.gateway.exception.LaneSaturatedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Executor Lane")
+class ExecutorLaneTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final ExecutorLane lane =
+      new ExecutorLane("test", new LaneProperties.Lane(1, 1), meterRegistry);
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    lane.shutdown();
+  }
+
+  @Test
+  @DisplayName("should run tasks off the calling thread and record their queue wait")
+  void shouldRunTasksAndRecordWait() throws Exception {
+    Thread caller = Thread.currentThread();
+
+    Thread runner = lane.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+    assertThat(runner).isNotSameAs(caller);
+    assertThat(runner.getName()).isEqualTo("test-lane-1");
+    assertThat(
+            meterRegistry.get(ExecutorLane.WAIT_METRIC).tag("lane", "test").timer().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("should refuse work once its threads and queue are full")
+  void shouldRejectWhenSaturated() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    lane.submit(
+        () -> {
+          started.countDown();
+          return await(release);
+        });
+    started.await(5, TimeUnit.SECONDS);
+    CompletableFuture<Boolean> queued = lane.submit(() -> true);
+
+    assertThat(meterRegistry.get(ExecutorLane.QUEUE_METRIC).tag("lane", "test").gauge().value())
+        .isEqualTo(1);
+    assertThatThrownBy(() -> lane.submit(() -> true)).isInstanceOf(LaneSaturatedException.class);
+    assertThat(
+            meterRegistry.get(ExecutorLane.REJECTED_METRIC).tag("lane", "test").counter().count())
+        .isEqualTo(1);
+
+    release.countDown();
+    assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  @DisplayName("should complete the future exceptionally when the task throws")
+  void shouldPropagateTaskFailures() {
+    CompletableFuture<Object> result =
+        lane.submit(
+            () -> {
+              throw new EventProcessingException("Invalid ID");
+            });
+
+    assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(EventProcessingException.class);
+  }
+
+  private static boolean await(CountDownLatch latch) {
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
@@ -125,14 +125,14 @@ class PostPaymentRequestValidationTest {
     }
 
     @ParameterizedTest(name = "should fail for unsupported currency: {0}")
-    @ValueSource(strings = {"ABC", "NGN", "KES", "RWF", "TZS"})
+    @ValueSource(strings = {"ABC", "NGN", "KES", "RWF", "TZS", "gbp"})
     void shouldFailForInvalidCurrency(String currency) {
       PostPaymentRequest request = createValidRequest().toBuilder().currency(currency).build();
-      assertHasViolation(request, "Currency must be one of the supported types (GBP, EUR, USD)");
+      assertHasViolation(request, "Currency must be a supported ISO 4217 currency code");
     }
 
     @ParameterizedTest(name = "should pass for supported currency: {0}")
-    @ValueSource(strings = {"GBP", "EUR", "USD"})
+    @ValueSource(strings = {"GBP", "EUR", "USD", "JPY", "CHF", "KWD"})
     void shouldPassForSupportedCurrencies(String currency) {
       PostPaymentRequest request = createValidRequest().toBuilder().currency(currency).build();
       Set<ConstraintViolation<PostPaymentRequest>> violations = validator.validate(request);
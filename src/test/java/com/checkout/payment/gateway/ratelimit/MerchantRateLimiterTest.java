@@ -0,0 +1,229 @@
+package com.checkout.payment.gateway.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.checkout.payment.gateway.merchant.MerchantResolver;
+import com.checkout.payment.gateway.ratelimit.RateLimitProperties.Limit;
+import com.checkout.payment.gateway.ratelimit.RateLimitProperties.Tier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Merchant Rate Limiter")
+class MerchantRateLimiterTest {
+
+  private static final long ONE_SECOND = 1_000_000_000L;
+
+  private final AtomicLong clock = new AtomicLong(42L);
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Nested
+  @DisplayName("Token Bucket")
+  class TokenBucketBehaviour {
+
+    @Test
+    @DisplayName("should allow a burst up to capacity and then reject")
+    void shouldAllowBurstUpToCapacity() {
+      TokenBucket bucket = new TokenBucket(3, 1, clock.get());
+
+      assertThat(bucket.tryAcquire(clock.get())).isZero();
+      assertThat(bucket.tryAcquire(clock.get())).isZero();
+      assertThat(bucket.tryAcquire(clock.get())).isZero();
+      assertThat(bucket.tryAcquire(clock.get())).isEqualTo(ONE_SECOND);
+    }
+
+    @Test
+    @DisplayName("should refill at the configured rate")
+    void shouldRefillAtConfiguredRate() {
+      TokenBucket bucket = new TokenBucket(1, 10, clock.get());
+      assertThat(bucket.tryAcquire(clock.get())).isZero();
+      assertThat(bucket.tryAcquire(clock.get())).isPositive();
+
+      clock.addAndGet(ONE_SECOND / 10);
+
+      assertThat(bucket.tryAcquire(clock.get())).isZero();
+    }
+
+    @Test
+    @DisplayName("should report full once all tokens are refilled")
+    void shouldReportFullOnceRefilled() {
+      TokenBucket bucket = new TokenBucket(2, 1, clock.get());
+      bucket.tryAcquire(clock.get());
+      assertThat(bucket.isFull(clock.get())).isFalse();
+
+      clock.addAndGet(ONE_SECOND);
+
+      assertThat(bucket.isFull(clock.get())).isTrue();
+    }
+  }
+
+  @Test
+  @DisplayName("should limit each merchant independently")
+  void shouldLimitMerchantsIndependently() {
+    MerchantRateLimiter rateLimiter = newRateLimiter(100);
+
+    assertThat(rateLimiter.tryAcquire("merchant-a", RateLimitedOperation.PROCESS_PAYMENT)).isZero();
+    assertThat(rateLimiter.tryAcquire("merchant-a", RateLimitedOperation.PROCESS_PAYMENT))
+        .isPositive();
+    assertThat(rateLimiter.tryAcquire("merchant-b", RateLimitedOperation.PROCESS_PAYMENT)).isZero();
+  }
+
+  @Test
+  @DisplayName("should apply separate limits to POST and GET")
+  void shouldApplySeparateLimitsPerOperation() {
+    MerchantRateLimiter rateLimiter = newRateLimiter(100);
+
+    assertThat(rateLimiter.tryAcquire("merchant-a", RateLimitedOperation.PROCESS_PAYMENT)).isZero();
+    assertThat(rateLimiter.tryAcquire("merchant-a", RateLimitedOperation.GET_PAYMENT)).isZero();
+    assertThat(rateLimiter.tryAcquire("merchant-a", RateLimitedOperation.GET_PAYMENT)).isZero();
+    assertThat(rateLimiter.tryAcquire("merchant-a", RateLimitedOperation.GET_PAYMENT))
+        .isPositive();
+  }
+
+  @Test
+  @DisplayName("should use the merchant's configured tier")
+  void shouldUseConfiguredTier() {
+    MerchantRateLimiter rateLimiter = newRateLimiter(100);
+
+    for (int i = 0; i < 5; i++) {
+      assertThat(rateLimiter.tryAcquire("premium-merchant", RateLimitedOperation.PROCESS_PAYMENT))
+          .isZero();
+    }
+  }
+
+  @Test
+  @DisplayName("should count rejections per merchant and operation")
+  void shouldCountRejections() {
+    MerchantRateLimiter rateLimiter = newRateLimiter(100);
+
+    rateLimiter.tryAcquire("merchant-a", RateLimitedOperation.PROCESS_PAYMENT);
+    rateLimiter.tryAcquire("merchant-a", RateLimitedOperation.PROCESS_PAYMENT);
+    rateLimiter.tryAcquire("merchant-a", RateLimitedOperation.PROCESS_PAYMENT);
+
+    assertThat(
+            meterRegistry
+                .get(MerchantRateLimiter.REJECTED_METRIC)
+                .tag("merchant", "merchant-a")
+                .tag("operation", "post")
+                .counter()
+                .count())
+        .isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("should limit anonymous callers per remote address under one metric")
+  void shouldLimitAnonymousCallersPerAddress() {
+    MerchantRateLimiter rateLimiter = newRateLimiter(100);
+
+    assertThat(rateLimiter.tryAcquireAnonymous("10.0.0.1", RateLimitedOperation.PROCESS_PAYMENT))
+        .isZero();
+    assertThat(rateLimiter.tryAcquireAnonymous("10.0.0.1", RateLimitedOperation.PROCESS_PAYMENT))
+        .isPositive();
+    assertThat(rateLimiter.tryAcquireAnonymous("10.0.0.2", RateLimitedOperation.PROCESS_PAYMENT))
+        .isZero();
+    assertThat(rateLimiter.tryAcquireAnonymous("10.0.0.2", RateLimitedOperation.PROCESS_PAYMENT))
+        .isPositive();
+
+    assertThat(
+            meterRegistry
+                .get(MerchantRateLimiter.REJECTED_METRIC)
+                .tag("merchant", MerchantResolver.ANONYMOUS_MERCHANT_ID)
+                .tag("operation", "post")
+                .counter()
+                .count())
+        .isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("should evict refilled merchants once the tracking limit is reached")
+  void shouldEvictRefilledMerchantsWhenFull() {
+    MerchantRateLimiter rateLimiter = newRateLimiter(2);
+    rateLimiter.tryAcquire("merchant-a", RateLimitedOperation.PROCESS_PAYMENT);
+    rateLimiter.tryAcquire("merchant-b", RateLimitedOperation.PROCESS_PAYMENT);
+
+    clock.addAndGet(10 * ONE_SECOND);
+    rateLimiter.tryAcquire("merchant-c", RateLimitedOperation.PROCESS_PAYMENT);
+
+    assertThat(rateLimiter.trackedMerchants()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("should fall back to the shared overflow bucket when no merchant can be evicted")
+  void shouldUseOverflowBucketWhenFull() {
+    MerchantRateLimiter rateLimiter = newRateLimiter(1);
+    rateLimiter.tryAcquire("merchant-a", RateLimitedOperation.PROCESS_PAYMENT);
+
+    assertThat(rateLimiter.tryAcquire("merchant-b", RateLimitedOperation.PROCESS_PAYMENT)).isZero();
+    assertThat(rateLimiter.tryAcquire("merchant-c", RateLimitedOperation.PROCESS_PAYMENT))
+        .isPositive();
+    assertThat(rateLimiter.trackedMerchants()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("should keep anonymous clients from taking merchants' slots")
+  void shouldTrackAnonymousClientsSeparately() {
+    MerchantRateLimiter rateLimiter = newRateLimiter(1, 2);
+    for (int i = 0; i < 10; i++) {
+      rateLimiter.tryAcquireAnonymous("10.0.0." + i, RateLimitedOperation.PROCESS_PAYMENT);
+    }
+
+    assertThat(rateLimiter.tryAcquire("merchant-a", RateLimitedOperation.PROCESS_PAYMENT)).isZero();
+    assertThat(rateLimiter.trackedMerchants()).isEqualTo(1);
+    assertThat(rateLimiter.trackedAnonymousClients()).isEqualTo(2);
+    assertThat(overflowed("anonymous")).isEqualTo(8);
+  }
+
+  @Test
+  @DisplayName("should scan for refilled buckets at most once a second while full")
+  void shouldThrottleEvictionScans() {
+    MerchantRateLimiter rateLimiter = newRateLimiter(1);
+    rateLimiter.tryAcquire("premium-merchant", RateLimitedOperation.PROCESS_PAYMENT);
+    rateLimiter.tryAcquire("merchant-b", RateLimitedOperation.PROCESS_PAYMENT);
+
+    // premium-merchant has refilled, but the last scan was under a second ago
+    clock.addAndGet(ONE_SECOND / 2);
+    assertThat(rateLimiter.tryAcquire("merchant-c", RateLimitedOperation.PROCESS_PAYMENT))
+        .isPositive();
+
+    clock.addAndGet(ONE_SECOND);
+    assertThat(rateLimiter.tryAcquire("merchant-d", RateLimitedOperation.PROCESS_PAYMENT)).isZero();
+    assertThat(rateLimiter.trackedMerchants()).isEqualTo(1);
+    assertThat(overflowed("merchants")).isEqualTo(2);
+  }
+
+  private double overflowed(String clients) {
+    return meterRegistry
+        .get(MerchantRateLimiter.OVERFLOWED_METRIC)
+        .tag("clients", clients)
+        .counter()
+        .count();
+  }
+
+  private MerchantRateLimiter newRateLimiter(int maxTrackedMerchants) {
+    return newRateLimiter(maxTrackedMerchants, 100);
+  }
+
+  private MerchantRateLimiter newRateLimiter(
+      int maxTrackedMerchants, int maxTrackedAnonymousClients) {
+    RateLimitProperties properties =
+        new RateLimitProperties(
+            true,
+            maxTrackedMerchants,
+            maxTrackedAnonymousClients,
+            "standard",
+            Map.of(
+                "standard", new Tier(new Limit(1, 1), new Limit(2, 1)),
+                "premium", new Tier(new Limit(5, 5), new Limit(10, 5))),
+            Map.of("premium-merchant", "premium"));
+    return new MerchantRateLimiter(properties, meterRegistry, clock::get);
+  }
+}
@@ -0,0 +1,133 @@
+package com.checkout.payment.gateway.statistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.checkout.payment.gateway.currency.CurrencyRegistry;
+import com.checkout.payment.gateway.enums.PaymentStatus;
+import com.checkout.payment.gateway.model.CurrencyStatistics;
+import com.checkout.payment.gateway.model.OutcomeTotals;
+import com.checkout.payment.gateway.model.PaymentStatisticsResponse;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Payment Statistics")
+class PaymentStatisticsTest {
+
+  private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+  private final PaymentStatistics statistics =
+      new PaymentStatistics(CurrencyRegistry.standard(), clock::get);
+
+  @Test
+  @DisplayName("should total counts and amounts per currency and outcome")
+  void shouldTotalPerCurrencyAndOutcome() {
+    statistics.record(PaymentStatus.AUTHORIZED, "GBP", 100);
+    statistics.record(PaymentStatus.AUTHORIZED, "GBP", 250);
+    statistics.record(PaymentStatus.DECLINED, "GBP", 40);
+    statistics.record(PaymentStatus.REJECTED, "USD", 5);
+
+    PaymentStatisticsResponse snapshot = statistics.snapshot();
+
+    CurrencyStatistics gbp = snapshot.windows().get("1m").get("GBP");
+    assertThat(gbp.authorized()).isEqualTo(new OutcomeTotals(2, 350));
+    assertThat(gbp.declined()).isEqualTo(new OutcomeTotals(1, 40));
+    assertThat(gbp.rejected()).isEqualTo(new OutcomeTotals(0, 0));
+    assertThat(snapshot.windows().get("1m").get("USD").rejected())
+        .isEqualTo(new OutcomeTotals(1, 5));
+  }
+
+  @Test
+  @DisplayName("should drop payments from windows they have aged out of")
+  void shouldAgeOutOfWindows() {
+    statistics.record(PaymentStatus.AUTHORIZED, "EUR", 100);
+
+    clock.addAndGet(TimeUnit.MINUTES.toMillis(2));
+    PaymentStatisticsResponse afterTwoMinutes = statistics.snapshot();
+    assertThat(afterTwoMinutes.windows().get("1m")).doesNotContainKey("EUR");
+    assertThat(afterTwoMinutes.windows().get("5m").get("EUR").authorized().count()).isEqualTo(1);
+    assertThat(afterTwoMinutes.windows().get("1h").get("EUR").authorized().count()).isEqualTo(1);
+
+    clock.addAndGet(TimeUnit.HOURS.toMillis(1));
+    assertThat(statistics.snapshot().windows().get("1h")).doesNotContainKey("EUR");
+  }
+
+  @Test
+  @DisplayName("should not count a reused bucket's old totals after the ring wraps")
+  void shouldResetBucketsWhenRingWraps() {
+    statistics.record(PaymentStatus.AUTHORIZED, "GBP", 100);
+
+    clock.addAndGet(TimeUnit.HOURS.toMillis(1) + PaymentStatistics.BUCKET_MILLIS);
+    statistics.record(PaymentStatus.AUTHORIZED, "GBP", 7);
+
+    assertThat(statistics.snapshot().windows().get("1h").get("GBP").authorized())
+        .isEqualTo(new OutcomeTotals(1, 7));
+  }
+
+  @Test
+  @DisplayName("should group malformed currencies under OTHER")
+  void shouldGroupMalformedCurrencies() {
+    statistics.record(PaymentStatus.REJECTED, null, 0);
+    statistics.record(PaymentStatus.REJECTED, "POUNDS", 10);
+
+    assertThat(statistics.snapshot().windows().get("1m").get(PaymentStatistics.OTHER_CURRENCY))
+        .extracting(CurrencyStatistics::rejected)
+        .isEqualTo(new OutcomeTotals(2, 10));
+  }
+
+  @Test
+  @DisplayName("should count unregistered codes under OTHER without crowding out real currencies")
+  void shouldCountUnregisteredCurrenciesUnderOther() {
+    for (int i = 0; i < 26 * 26; i++) {
+      statistics.record(
+          PaymentStatus.REJECTED, "W" + (char) ('A' + i / 26) + (char) ('A' + i % 26), 1);
+    }
+    statistics.record(PaymentStatus.AUTHORIZED, "JPY", 500);
+
+    Map<String, CurrencyStatistics> window = statistics.snapshot().windows().get("1m");
+    assertThat(window).containsOnlyKeys("JPY", PaymentStatistics.OTHER_CURRENCY);
+    assertThat(window.get(PaymentStatistics.OTHER_CURRENCY).rejected())
+        .isEqualTo(new OutcomeTotals(26 * 26, 26 * 26));
+    assertThat(window.get("JPY").authorized()).isEqualTo(new OutcomeTotals(1, 500));
+  }
+
+  @Test
+  @DisplayName("should keep slots only for the currencies of the registry it is given")
+  void shouldFollowGivenRegistry() throws IOException {
+    CurrencyRegistry sterlingOnly =
+        CurrencyRegistry.load(new StringReader("code,minor_units\nGBP,2\n"));
+    PaymentStatistics sterlingStatistics = new PaymentStatistics(sterlingOnly, clock::get);
+
+    sterlingStatistics.record(PaymentStatus.AUTHORIZED, "GBP", 100);
+    sterlingStatistics.record(PaymentStatus.AUTHORIZED, "EUR", 200);
+
+    Map<String, CurrencyStatistics> window = sterlingStatistics.snapshot().windows().get("1m");
+    assertThat(window).containsOnlyKeys("GBP", PaymentStatistics.OTHER_CURRENCY);
+    assertThat(window.get(PaymentStatistics.OTHER_CURRENCY).authorized())
+        .isEqualTo(new OutcomeTotals(1, 200));
+  }
+
+  @Test
+  @DisplayName("should not lose updates recorded concurrently")
+  void shouldCountConcurrentUpdates() throws InterruptedException {
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    for (int t = 0; t < 8; t++) {
+      executor.execute(
+          () -> {
+            for (int i = 0; i < 10_000; i++) {
+              statistics.record(PaymentStatus.AUTHORIZED, "GBP", 1);
+            }
+          });
+    }
+    executor.shutdown();
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(statistics.snapshot().windows().get("1m").get("GBP").authorized())
+        .isEqualTo(new OutcomeTotals(80_000, 80_000));
+  }
+}
@@ -0,0 +1,198 @@
+package com.checkout.payment.gateway.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.checkout.payment.gateway.controller.PaymentStreamController;
+import com.checkout.payment.gateway.enums.PaymentStatus;
+import com.checkout.payment.gateway.merchant.MerchantResolver;
+import com.checkout.payment.gateway.model.PaymentResponse;
+import com.checkout.payment.gateway.stream.PaymentStreamProperties.OverflowPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+@DisplayName("Payment Stream Broadcaster")
+class PaymentStreamBroadcasterTest {
+
+  private static final String MERCHANT = "merchant-a";
+
+  private PaymentStreamBroadcaster broadcaster;
+  private MockMvc mvc;
+
+  @AfterEach
+  void tearDown() {
+    broadcaster.stop();
+  }
+
+  @Test
+  @DisplayName("should push matching payments with the payment ID as event id")
+  void shouldStreamMatchingPayments() throws Exception {
+    start(10);
+    MvcResult stream = subscribe(get("/payments/stream").param("status", "AUTHORIZED"));
+    PaymentResponse declined = payment(PaymentStatus.DECLINED);
+    PaymentResponse authorized = payment(PaymentStatus.AUTHORIZED);
+
+    broadcaster.publish(declined);
+    broadcaster.publish(authorized);
+
+    String body = awaitContent(stream, authorized.getId().toString());
+    assertThat(body)
+        .contains("id:" + authorized.getId())
+        .contains("event:" + PaymentStreamBroadcaster.PAYMENT_EVENT)
+        .contains("\"status\":\"Authorized\"")
+        .doesNotContain(declined.getId().toString());
+  }
+
+  @Test
+  @DisplayName("should only push the subscribing merchant's payments")
+  void shouldScopeToMerchant() throws Exception {
+    start(10);
+    MvcResult stream = subscribe(get("/payments/stream"));
+    PaymentResponse otherMerchant = payment(PaymentStatus.AUTHORIZED, "merchant-b");
+    PaymentResponse own = payment(PaymentStatus.AUTHORIZED);
+
+    broadcaster.publish(otherMerchant);
+    broadcaster.publish(own);
+
+    assertThat(awaitContent(stream, own.getId().toString()))
+        .doesNotContain(otherMerchant.getId().toString());
+  }
+
+  @Test
+  @DisplayName("should replay what was missed after the Last-Event-ID")
+  void shouldResumeFromLastEventId() throws Exception {
+    start(10);
+    MvcResult first = subscribe(get("/payments/stream"));
+    PaymentResponse seen = payment(PaymentStatus.AUTHORIZED);
+    PaymentResponse missedOne = payment(PaymentStatus.DECLINED);
+    PaymentResponse missedTwo = payment(PaymentStatus.AUTHORIZED);
+    broadcaster.publish(seen);
+    broadcaster.publish(missedOne);
+    broadcaster.publish(missedTwo);
+    awaitContent(first, missedTwo.getId().toString());
+
+    MvcResult resumed =
+        subscribe(get("/payments/stream").header("Last-Event-ID", seen.getId().toString()));
+
+    String body = awaitContent(resumed, missedTwo.getId().toString());
+    assertThat(body)
+        .contains(missedOne.getId().toString())
+        .doesNotContain(seen.getId().toString())
+        .doesNotContain("event:" + PaymentStreamBroadcaster.GAP_EVENT);
+  }
+
+  @Test
+  @DisplayName("should signal a gap when the Last-Event-ID has left the replay window")
+  void shouldSignalGap() throws Exception {
+    start(10);
+    PaymentResponse payment = payment(PaymentStatus.AUTHORIZED);
+    broadcaster.publish(payment);
+    awaitContent(subscribe(get("/payments/stream")), payment.getId().toString());
+
+    MvcResult resumed =
+        subscribe(get("/payments/stream").param("lastEventId", UUID.randomUUID().toString()));
+
+    String body = awaitContent(resumed, payment.getId().toString());
+    assertThat(body.indexOf("event:" + PaymentStreamBroadcaster.GAP_EVENT))
+        .isNotNegative()
+        .isLessThan(body.indexOf(payment.getId().toString()));
+  }
+
+  @Test
+  @DisplayName("should turn subscribers away once the limit is reached")
+  void shouldLimitSubscribers() throws Exception {
+    start(1);
+    subscribe(get("/payments/stream"));
+
+    mvc.perform(
+            get("/payments/stream").requestAttr(MerchantResolver.MERCHANT_ID_ATTRIBUTE, MERCHANT))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().exists("Retry-After"));
+    assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("should cap each merchant's subscribers without shutting other merchants out")
+  void shouldLimitSubscribersPerMerchant() throws Exception {
+    start(10, 1);
+    subscribe(get("/payments/stream"));
+
+    mvc.perform(
+            get("/payments/stream").requestAttr(MerchantResolver.MERCHANT_ID_ATTRIBUTE, MERCHANT))
+        .andExpect(status().isServiceUnavailable());
+    mvc.perform(
+            get("/payments/stream")
+                .requestAttr(MerchantResolver.MERCHANT_ID_ATTRIBUTE, "merchant-b"))
+        .andExpect(request().asyncStarted());
+    assertThat(broadcaster.subscriberCount()).isEqualTo(2);
+  }
+
+  private void start(int maxSubscribers) {
+    start(maxSubscribers, maxSubscribers);
+  }
+
+  private void start(int maxSubscribers, int maxSubscribersPerMerchant) {
+    broadcaster =
+        new PaymentStreamBroadcaster(
+            new PaymentStreamProperties(
+                true,
+                maxSubscribers,
+                maxSubscribersPerMerchant,
+                100,
+                100,
+                OverflowPolicy.DISCONNECT,
+                100,
+                Duration.ofSeconds(15),
+                Duration.ofMinutes(1)),
+            new SimpleMeterRegistry());
+    broadcaster.start();
+    mvc = MockMvcBuilders.standaloneSetup(new PaymentStreamController(broadcaster)).build();
+  }
+
+  private MvcResult subscribe(MockHttpServletRequestBuilder builder) throws Exception {
+    return mvc.perform(builder.requestAttr(MerchantResolver.MERCHANT_ID_ATTRIBUTE, MERCHANT))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+  }
+
+  private static String awaitContent(MvcResult result, String expected) throws Exception {
+    long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    String body = result.getResponse().getContentAsString();
+    while (!body.contains(expected) && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+      body = result.getResponse().getContentAsString();
+    }
+    assertThat(body).contains(expected);
+    return body;
+  }
+
+  private static PaymentResponse payment(PaymentStatus status) {
+    return payment(status, MERCHANT);
+  }
+
+  private static PaymentResponse payment(PaymentStatus status, String merchantId) {
+    return PaymentResponse.builder()
+        .id(UUID.randomUUID())
+        .status(status)
+        .cardNumberLastFour("4242")
+        .expiryMonth(4)
+        .expiryYear(2030)
+        .currency("GBP")
+        .amount(100)
+        .createdAt(Instant.now())
+        .merchantId(merchantId)
+        .build();
+  }
+}
@@ -0,0 +1,184 @@
+package com.checkout.payment.gateway.warmup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.checkout.payment.gateway.acquirer.model.BankPaymentRequest;
+import com.checkout.payment.gateway.acquirer.model.BankPaymentResponse;
+import com.checkout.payment.gateway.acquirer.service.AcquiringBankClient;
+import com.checkout.payment.gateway.bin.BinTableService;
+import com.checkout.payment.gateway.currency.CurrencyRegistry;
+import com.checkout.payment.gateway.currency.FxRateService;
+import com.checkout.payment.gateway.duplicate.DuplicateDetectionProperties;
+import com.checkout.payment.gateway.duplicate.DuplicateDetectionProperties.Mode;
+import com.checkout.payment.gateway.id.RandomPaymentIdGenerator;
+import com.checkout.payment.gateway.stream.PaymentStreamProperties;
+import com.checkout.payment.gateway.stream.PaymentStreamProperties.OverflowPolicy;
+import com.checkout.payment.gateway.warmup.ApplicationWarmup.State;
+import com.checkout.payment.gateway.webhook.WebhookProperties;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.core.io.DefaultResourceLoader;
+
+@DisplayName("Application Warm-up")
+class ApplicationWarmupTest {
+
+  private static ValidatorFactory validatorFactory;
+  private static PaymentPathWarmer paymentPathWarmer;
+
+  private final AtomicInteger requestedConnections = new AtomicInteger();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @BeforeAll
+  static void setUp() {
+    validatorFactory = Validation.buildDefaultValidatorFactory();
+    paymentPathWarmer =
+        new PaymentPathWarmer(
+            JsonMapper.builder().findAndAddModules().build(),
+            validatorFactory.getValidator(),
+            new RandomPaymentIdGenerator(),
+            new BinTableService(new DefaultResourceLoader(), "classpath:bin-ranges.csv"),
+            new FxRateService(new DefaultResourceLoader(), "classpath:fx-rates.csv", "GBP"),
+            CurrencyRegistry.standard(),
+            new DuplicateDetectionProperties(Mode.REJECT, Duration.ofSeconds(10), 5, 1 << 16, 4),
+            new WebhookProperties(
+                true,
+                10,
+                10,
+                1,
+                10,
+                1,
+                Duration.ofSeconds(1),
+                Duration.ofSeconds(1),
+                Duration.ofSeconds(1),
+                Duration.ofSeconds(1),
+                10),
+            new PaymentStreamProperties(
+                true,
+                10,
+                10,
+                10,
+                10,
+                OverflowPolicy.DISCONNECT,
+                10,
+                Duration.ofSeconds(15),
+                Duration.ofMinutes(1)));
+  }
+
+  @AfterAll
+  static void tearDown() {
+    validatorFactory.close();
+  }
+
+  @Test
+  @DisplayName("should run synthetic payments through the payment path")
+  void shouldRunSyntheticPayments() {
+    PaymentPathWarmer.Result result = paymentPathWarmer.warmUp(properties(true, 3));
+
+    assertThat(result.rounds()).isGreaterThanOrEqualTo(3);
+    // One in ten synthetic payments is deliberately invalid
+    assertThat(result.payments()).isEqualTo(result.rounds() * 90L);
+  }
+
+  @Test
+  @DisplayName("should stop at the maximum duration even if compilation has not settled")
+  void shouldRespectMaxDuration() {
+    WarmupProperties properties =
+        new WarmupProperties(
+            true, 100, 1_000_000, 1, Duration.ZERO, Duration.ofMillis(200), 0, Duration.ZERO);
+
+    long started = System.nanoTime();
+    paymentPathWarmer.warmUp(properties);
+
+    assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(5));
+  }
+
+  @Test
+  @DisplayName("should hold readiness until warm-up completes and the bank connections are open")
+  void shouldReportReadyOnceWarm() {
+    ApplicationWarmup warmup =
+        new ApplicationWarmup(properties(true, 1), paymentPathWarmer, bank(), meterRegistry);
+    WarmupHealthIndicator indicator = new WarmupHealthIndicator(warmup);
+
+    assertThat(indicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+    warmup.warmUp();
+
+    assertThat(warmup.getState()).isEqualTo(State.COMPLETE);
+    assertThat(requestedConnections).hasValue(3);
+    assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+    assertThat(indicator.health().getDetails())
+        .containsEntry("bankConnections", 3)
+        .containsKey("durationMillis");
+    assertThat(meterRegistry.get(ApplicationWarmup.DURATION_METRIC).timeGauge()).isNotNull();
+  }
+
+  @Test
+  @DisplayName("should report ready straight away when disabled")
+  void shouldBeReadyWhenDisabled() {
+    ApplicationWarmup warmup =
+        new ApplicationWarmup(properties(false, 1), paymentPathWarmer, bank(), meterRegistry);
+
+    assertThat(warmup.getState()).isEqualTo(State.DISABLED);
+    assertThat(new WarmupHealthIndicator(warmup).health().getStatus()).isEqualTo(Status.UP);
+  }
+
+  @Test
+  @DisplayName("should not hold readiness back when warm-up fails")
+  void shouldBeReadyAfterFailure() {
+    AcquiringBankClient failingBank =
+        new AcquiringBankClient() {
+          @Override
+          public BankPaymentResponse processPayment(BankPaymentRequest request) {
+            throw new UnsupportedOperationException();
+          }
+
+          @Override
+          public int openConnections(int connections) {
+            throw new IllegalStateException("bank unreachable");
+          }
+        };
+    ApplicationWarmup warmup =
+        new ApplicationWarmup(properties(true, 1), paymentPathWarmer, failingBank, meterRegistry);
+
+    warmup.warmUp();
+
+    assertThat(warmup.getState()).isEqualTo(State.FAILED);
+    assertThat(new WarmupHealthIndicator(warmup).health().getStatus()).isEqualTo(Status.UP);
+  }
+
+  private AcquiringBankClient bank() {
+    return new AcquiringBankClient() {
+      @Override
+      public BankPaymentResponse processPayment(BankPaymentRequest request) {
+        throw new UnsupportedOperationException("warm-up must not call the real bank");
+      }
+
+      @Override
+      public int openConnections(int connections) {
+        requestedConnections.set(connections);
+        return connections;
+      }
+    };
+  }
+
+  private static WarmupProperties properties(boolean enabled, int minRounds) {
+    return new WarmupProperties(
+        enabled,
+        100,
+        minRounds,
+        1,
+        Duration.ofSeconds(10),
+        Duration.ofSeconds(30),
+        3,
+        Duration.ofSeconds(60));
+  }
+}
@@ -0,0 +1,263 @@
+package com.checkout.payment.gateway.webhook;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.checkout.payment.gateway.enums.PaymentStatus;
+import com.checkout.payment.gateway.model.PaymentResponse;
+import com.checkout.payment.gateway.model.WebhookDeadLetter;
+import com.checkout.payment.gateway.validation.WebhookUrlValidator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Webhook Dispatcher")
+class WebhookDispatcherTest {
+
+  private static final String MERCHANT = "merchant-a";
+  private static final ObjectMapper MAPPER = JsonMapper.builder().findAndAddModules().build();
+
+  private final BlockingQueue<JsonNode> received = new LinkedBlockingQueue<>();
+  private final AtomicInteger requests = new AtomicInteger();
+  private final ExecutorService receiverThreads = Executors.newCachedThreadPool();
+  private final WebhookRegistry registry = new WebhookRegistry();
+
+  private HttpServer receiver;
+  private WebhookDispatcher dispatcher;
+  private WebhookDeadLetterStore deadLetterStore;
+  private volatile int failuresBeforeSuccess;
+  private volatile CountDownLatch holdFirstRequest = new CountDownLatch(0);
+
+  @BeforeEach
+  void startReceiver() throws IOException {
+    receiver = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    receiver.createContext("/hook", this::receive);
+    receiver.setExecutor(receiverThreads);
+    receiver.start();
+    registry.register(
+        MERCHANT, URI.create("http://127.0.0.1:" + receiver.getAddress().getPort() + "/hook"));
+  }
+
+  @AfterEach
+  void stopAll() {
+    holdFirstRequest.countDown();
+    if (dispatcher != null) {
+      dispatcher.stop();
+    }
+    receiver.stop(0);
+    receiverThreads.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("should POST the payment outcome to the merchant's webhook")
+  void shouldDeliverOutcome() throws Exception {
+    start(4, 3);
+    PaymentResponse payment = payment();
+
+    dispatcher.publish(MERCHANT, payment);
+
+    JsonNode body = received.poll(5, TimeUnit.SECONDS);
+    assertThat(body).isNotNull();
+    assertThat(body.get("payments")).hasSize(1);
+    assertThat(body.get("payments").get(0).get("id").asText())
+        .isEqualTo(payment.getId().toString());
+    assertThat(body.get("payments").get(0).get("status").asText()).isEqualTo("Authorized");
+  }
+
+  @Test
+  @DisplayName("should ignore merchants without a registered webhook")
+  void shouldIgnoreUnregisteredMerchants() throws Exception {
+    start(4, 3);
+
+    dispatcher.publish("merchant-b", payment());
+
+    assertThat(received.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    assertThat(requests).hasValue(0);
+  }
+
+  @Test
+  @DisplayName("should forget an endpoint once it is unregistered and drained")
+  void shouldForgetUnregisteredEndpoint() throws Exception {
+    start(4, 3);
+
+    dispatcher.publish(MERCHANT, payment());
+    assertThat(received.poll(5, TimeUnit.SECONDS)).isNotNull();
+    assertThat(dispatcher.trackedEndpoints()).isEqualTo(1);
+    registry.unregister(MERCHANT);
+
+    awaitUntil(() -> dispatcher.trackedEndpoints() == 0);
+  }
+
+  @Test
+  @DisplayName("should batch notifications that build up while the endpoint is busy")
+  void shouldBatchWhileEndpointBusy() throws Exception {
+    start(1, 3);
+    holdFirstRequest = new CountDownLatch(1);
+
+    dispatcher.publish(MERCHANT, payment());
+    awaitUntil(() -> requests.get() == 1);
+    for (int i = 0; i < 5; i++) {
+      dispatcher.publish(MERCHANT, payment());
+    }
+    awaitUntil(() -> dispatcher.backlogSize() == 5);
+    holdFirstRequest.countDown();
+
+    assertThat(received.poll(5, TimeUnit.SECONDS).get("payments")).hasSize(1);
+    assertThat(received.poll(5, TimeUnit.SECONDS).get("payments")).hasSize(5);
+    assertThat(requests).hasValue(2);
+  }
+
+  @Test
+  @DisplayName("should retry failed deliveries until the endpoint accepts them")
+  void shouldRetryFailedDeliveries() throws Exception {
+    start(4, 5);
+    failuresBeforeSuccess = 2;
+    PaymentResponse payment = payment();
+
+    dispatcher.publish(MERCHANT, payment);
+
+    JsonNode body = received.poll(5, TimeUnit.SECONDS);
+    assertThat(body).isNotNull();
+    assertThat(body.get("payments").get(0).get("id").asText())
+        .isEqualTo(payment.getId().toString());
+    assertThat(requests).hasValue(3);
+    assertThat(deadLetterStore.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("should dead-letter notifications once attempts are exhausted")
+  void shouldDeadLetterAfterMaxAttempts() throws Exception {
+    start(4, 3);
+    failuresBeforeSuccess = Integer.MAX_VALUE;
+    PaymentResponse payment = payment();
+
+    dispatcher.publish(MERCHANT, payment);
+
+    awaitUntil(() -> deadLetterStore.size() == 1);
+    List<WebhookDeadLetter> deadLetters = deadLetterStore.forMerchant(MERCHANT);
+    assertThat(deadLetters).hasSize(1);
+    assertThat(deadLetters.get(0).paymentId()).isEqualTo(payment.getId());
+    assertThat(deadLetters.get(0).attempts()).isEqualTo(3);
+    assertThat(deadLetters.get(0).reason()).isEqualTo("HTTP 500");
+    assertThat(requests).hasValue(3);
+  }
+
+  @Test
+  @DisplayName("should dead-letter rather than send once the host is no longer public")
+  void shouldDeadLetterNonPublicHost() throws Exception {
+    start(4, 3, WebhookUrlValidator::isDeliverable);
+    PaymentResponse payment = payment();
+
+    dispatcher.publish(MERCHANT, payment);
+
+    awaitUntil(() -> deadLetterStore.size() == 1);
+    WebhookDeadLetter deadLetter = deadLetterStore.forMerchant(MERCHANT).get(0);
+    assertThat(deadLetter.paymentId()).isEqualTo(payment.getId());
+    assertThat(deadLetter.reason()).isEqualTo("Webhook host is not a public address");
+    assertThat(requests).hasValue(0);
+  }
+
+  @Test
+  @DisplayName("should not block the caller while the endpoint is slow")
+  void shouldNotBlockPublisher() {
+    start(1, 3);
+    holdFirstRequest = new CountDownLatch(1);
+
+    long started = System.nanoTime();
+    for (int i = 0; i < 100; i++) {
+      dispatcher.publish(MERCHANT, payment());
+    }
+
+    assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(1));
+  }
+
+  private void start(int maxConnections, int maxAttempts) {
+    // The test receiver listens on loopback, which real deliveries refuse
+    start(maxConnections, maxAttempts, uri -> true);
+  }
+
+  private void start(int maxConnections, int maxAttempts, Predicate<URI> deliverable) {
+    WebhookProperties properties =
+        new WebhookProperties(
+            true,
+            1000,
+            50,
+            maxConnections,
+            1000,
+            maxAttempts,
+            Duration.ofMillis(10),
+            Duration.ofMillis(50),
+            Duration.ofSeconds(1),
+            Duration.ofSeconds(5),
+            100);
+    deadLetterStore = new WebhookDeadLetterStore(properties);
+    dispatcher =
+        new WebhookDispatcher(
+            properties,
+            registry,
+            deadLetterStore,
+            MAPPER,
+            new SimpleMeterRegistry(),
+            deliverable);
+    dispatcher.start();
+  }
+
+  private void receive(HttpExchange exchange) throws IOException {
+    int request = requests.incrementAndGet();
+    try {
+      if (request == 1) {
+        holdFirstRequest.await(5, TimeUnit.SECONDS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    JsonNode body = MAPPER.readTree(exchange.getRequestBody());
+    int status = request <= failuresBeforeSuccess ? 500 : 204;
+    if (status == 204) {
+      received.add(body);
+    }
+    exchange.sendResponseHeaders(status, -1);
+    exchange.close();
+  }
+
+  private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.getAsBoolean()) {
+      assertThat(System.nanoTime()).as("condition within 5s").isLessThan(deadline);
+      Thread.sleep(10);
+    }
+  }
+
+  private static PaymentResponse payment() {
+    return PaymentResponse.builder()
+        .id(UUID.randomUUID())
+        .status(PaymentStatus.AUTHORIZED)
+        .cardNumberLastFour("8877")
+        .expiryMonth(4)
+        .expiryYear(2030)
+        .currency("GBP")
+        .amount(100)
+        .build();
+  }
+}